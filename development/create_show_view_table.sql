@@ -0,0 +1,7 @@
+CREATE TABLE IF NOT EXISTS show_view
+(
+    show_id         UUID PRIMARY KEY,
+    available_seats INTEGER NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS show_view_available_idx ON show_view (show_id) WHERE available_seats > 0;
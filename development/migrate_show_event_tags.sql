@@ -0,0 +1,43 @@
+-- Moves show events to the sliced tags ShowEvent-0 .. ShowEvent-(tag_slices - 1), either from the single ShowEvent tag
+-- or from a different number of slices. Run with the application stopped and the same value as
+-- reservation.show-entity.tag-slices:
+--
+--   psql -h localhost -U admin -d postgres -v tag_slices=4 -f migrate_show_event_tags.sql
+
+BEGIN;
+
+-- same slice as ShowEntity.showEventTag: Math.floorMod(UUID.hashCode(), tag_slices)
+CREATE TEMPORARY TABLE show_event_slice ON COMMIT DROP AS
+SELECT ordering,
+       (((CASE WHEN hash >= 2147483648 THEN hash - 4294967296 ELSE hash END) % :tag_slices) + :tag_slices) % :tag_slices AS slice
+FROM (SELECT ordering, ((hilo >> 32) # hilo) & 4294967295 AS hash
+      FROM (SELECT ordering,
+                   ('x' || substr(replace(substring(persistence_id FROM 6), '-', ''), 1, 16))::bit(64)::bigint #
+                   ('x' || substr(replace(substring(persistence_id FROM 6), '-', ''), 17, 16))::bit(64)::bigint AS hilo
+            FROM event_journal
+            WHERE persistence_id LIKE 'Show|%') AS ids) AS hashes;
+
+DELETE FROM event_tag WHERE tag = 'ShowEvent' OR tag LIKE 'ShowEvent-%';
+
+INSERT INTO event_tag (event_id, tag)
+SELECT ordering, 'ShowEvent-' || slice
+FROM show_event_slice;
+
+-- every slice continues from the oldest offset of the previous layout, so no event is skipped (at-least-once)
+CREATE TEMPORARY TABLE show_view_offset ON COMMIT DROP AS
+SELECT min(current_offset::bigint) AS current_offset, min(manifest) AS manifest
+FROM akka_projection_offset_store
+WHERE (projection_name = 'show-events' AND projection_key = 'show-view')
+   OR projection_name = 'show-view';
+
+DELETE FROM akka_projection_offset_store
+WHERE (projection_name = 'show-events' AND projection_key = 'show-view')
+   OR projection_name = 'show-view';
+
+INSERT INTO akka_projection_offset_store (projection_name, projection_key, current_offset, manifest, mergeable, last_updated)
+SELECT 'show-view', 'ShowEvent-' || slice, current_offset::varchar, manifest, FALSE,
+       (extract(EPOCH FROM now()) * 1000)::bigint
+FROM show_view_offset, generate_series(0, :tag_slices - 1) AS slice
+WHERE current_offset IS NOT NULL;
+
+COMMIT;
@@ -0,0 +1,103 @@
+package workshop.cinema.reservation.application;
+
+import akka.actor.testkit.typed.javadsl.ActorTestKit;
+import akka.actor.testkit.typed.javadsl.TestProbe;
+import akka.actor.typed.ActorRef;
+import akka.persistence.testkit.javadsl.EventSourcedBehaviorTestKit;
+import com.typesafe.config.ConfigFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import workshop.cinema.base.domain.Clock;
+import workshop.cinema.reservation.application.ShowEntityCommand.ShowCommandEnvelope;
+import workshop.cinema.reservation.domain.SeatNumber;
+import workshop.cinema.reservation.domain.Show;
+import workshop.cinema.reservation.domain.ShowCommand.CancelSeatReservation;
+import workshop.cinema.reservation.domain.ShowCommand.CreateShow;
+import workshop.cinema.reservation.domain.ShowCommand.ReserveSeat;
+import workshop.cinema.reservation.domain.ShowEvent;
+import workshop.cinema.reservation.domain.ShowId;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Command round trips through ShowEntity: directly with the EventSourcedBehaviorTestKit (command handler, journal
+ * write, event handler) and as messages to a spawned entity backed by the persistence testkit journal (plus mailbox
+ * and reply). Every invocation reserves and cancels a seat, so the state does not drift.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class ShowEntityBenchmark {
+
+    private static final int SEATS = 1000;
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final Clock clock = new Clock.UtcClock();
+    private final ShowId showId = ShowId.of();
+    private final ShowId spawnedShowId = ShowId.of();
+    private ActorTestKit testKit;
+    private EventSourcedBehaviorTestKit<ShowEntityCommand, ShowEvent, Show> showEntityKit;
+    private ActorRef<ShowEntityCommand> showEntity;
+    private TestProbe<ShowEntityResponse> probe;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        testKit = ActorTestKit.create(EventSourcedBehaviorTestKit.config()
+                .withFallback(ConfigFactory.parseString("""
+                        akka.actor.allow-java-serialization = on
+                        akka.actor.warn-about-java-serializer-usage = off
+                        akka.loglevel = WARNING
+                        """)));
+        CreateShow createShow = new CreateShow(showId, "title", SEATS);
+
+        showEntityKit = EventSourcedBehaviorTestKit.create(testKit.system(), ShowEntity.create(showId, clock),
+                EventSourcedBehaviorTestKit.disabledSerializationSettings());
+        showEntityKit.<ShowEntityResponse>runCommand(replyTo -> new ShowCommandEnvelope(createShow, replyTo));
+
+        showEntity = testKit.spawn(ShowEntity.create(spawnedShowId, clock));
+        probe = testKit.createTestProbe();
+        showEntity.tell(new ShowCommandEnvelope(new CreateShow(spawnedShowId, "title", SEATS), probe.ref()));
+        probe.receiveMessage(TIMEOUT);
+    }
+
+    @TearDown
+    public void tearDown() {
+        testKit.shutdownTestKit();
+    }
+
+    private SeatNumber nextSeat() {
+        next = next + 1 == SEATS ? 0 : next + 1;
+        return SeatNumber.of(next);
+    }
+
+    @Benchmark
+    public ShowEntityResponse behaviorTestKitRoundTrip() {
+        SeatNumber seatNumber = nextSeat();
+        showEntityKit.<ShowEntityResponse>runCommand(replyTo -> new ShowCommandEnvelope(new ReserveSeat(showId, seatNumber), replyTo));
+        return showEntityKit.<ShowEntityResponse>runCommand(replyTo -> new ShowCommandEnvelope(new CancelSeatReservation(showId, seatNumber), replyTo))
+                .reply();
+    }
+
+    @Benchmark
+    public ShowEntityResponse spawnedEntityRoundTrip() {
+        SeatNumber seatNumber = nextSeat();
+        showEntity.tell(new ShowCommandEnvelope(new ReserveSeat(spawnedShowId, seatNumber), probe.ref()));
+        probe.receiveMessage(TIMEOUT);
+        showEntity.tell(new ShowCommandEnvelope(new CancelSeatReservation(spawnedShowId, seatNumber), probe.ref()));
+        return probe.receiveMessage(TIMEOUT);
+    }
+}
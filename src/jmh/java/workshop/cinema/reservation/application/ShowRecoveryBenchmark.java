@@ -0,0 +1,110 @@
+package workshop.cinema.reservation.application;
+
+import akka.actor.testkit.typed.javadsl.ActorTestKit;
+import akka.actor.typed.ActorRef;
+import akka.japi.Pair;
+import akka.persistence.testkit.PersistenceTestKitPlugin;
+import akka.persistence.testkit.PersistenceTestKitSnapshotPlugin;
+import akka.persistence.testkit.SnapshotMeta;
+import akka.persistence.testkit.javadsl.PersistenceTestKit;
+import akka.persistence.testkit.javadsl.SnapshotTestKit;
+import com.typesafe.config.ConfigFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import workshop.cinema.base.domain.Clock;
+import workshop.cinema.reservation.domain.SeatNumber;
+import workshop.cinema.reservation.domain.Show;
+import workshop.cinema.reservation.domain.ShowCommand.CreateShow;
+import workshop.cinema.reservation.domain.ShowCreator;
+import workshop.cinema.reservation.domain.ShowEvent;
+import workshop.cinema.reservation.domain.ShowEvent.SeatReservationCancelled;
+import workshop.cinema.reservation.domain.ShowEvent.SeatReserved;
+import workshop.cinema.reservation.domain.ShowEvent.ShowCreated;
+import workshop.cinema.reservation.domain.ShowId;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to recover a show with a long reserve/cancel history from the persistence testkit journal, replaying all events
+ * or starting from a snapshot taken at the last event.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class ShowRecoveryBenchmark {
+
+    private static final int SEATS = 1000;
+
+    @Param({"100000"})
+    private int events;
+
+    @Param({"false", "true"})
+    private boolean snapshot;
+
+    private final Clock clock = new Clock.UtcClock();
+    private final ShowId showId = ShowId.of();
+    private ActorTestKit testKit;
+    private ShowEntitySettings settings;
+
+    @Setup
+    public void setUp() {
+        testKit = ActorTestKit.create(PersistenceTestKitPlugin.getInstance().config()
+                .withFallback(PersistenceTestKitSnapshotPlugin.config())
+                .withFallback(ConfigFactory.parseString("""
+                        akka.actor.allow-java-serialization = on
+                        akka.actor.warn-about-java-serializer-usage = off
+                        akka.loglevel = WARNING
+                        """)));
+        settings = snapshot ? ShowEntitySettings.defaults().withSnapshotEvery(events) : ShowEntitySettings.defaults();
+
+        ShowCreated showCreated = ShowCreator.create(new CreateShow(showId, "title", SEATS), clock).get();
+        List<Object> history = new ArrayList<>(events + 1);
+        history.add(showCreated);
+        Show show = Show.create(showCreated);
+        for (int i = 0; i < events; i++) {
+            SeatNumber seatNumber = SeatNumber.of(i / 2 % SEATS);
+            ShowEvent event = i % 2 == 0
+                    ? new SeatReserved(showId, clock.now(), seatNumber)
+                    : new SeatReservationCancelled(showId, clock.now(), seatNumber);
+            history.add(event);
+            show = show.apply(event);
+        }
+        String persistenceId = ShowEntity.persistenceId(showId).id();
+        PersistenceTestKit.create(testKit.system()).persistForRecovery(persistenceId, history);
+        if (snapshot) {
+            SnapshotTestKit.create(testKit.system()).persistForRecovery(persistenceId,
+                    List.of(Pair.create(new SnapshotMeta(history.size(), System.currentTimeMillis()), show.toSnapshot())));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        testKit.shutdownTestKit();
+    }
+
+    @Benchmark
+    public GetShowResponse recover() {
+        ActorRef<ShowEntityCommand> showEntity = testKit.spawn(ShowEntity.create(showId, clock, settings));
+        var probe = testKit.<GetShowResponse>createTestProbe();
+        showEntity.tell(new ShowEntityCommand.GetShow(probe.ref()));
+        GetShowResponse show = probe.receiveMessage(Duration.ofMinutes(1));
+        testKit.stop(showEntity);
+        return show;
+    }
+}
@@ -0,0 +1,94 @@
+package workshop.cinema.reservation.application.projection;
+
+import akka.persistence.query.Sequence;
+import akka.projection.eventsourced.EventEnvelope;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import workshop.cinema.reservation.domain.SeatNumber;
+import workshop.cinema.reservation.domain.ShowEvent;
+import workshop.cinema.reservation.domain.ShowEvent.SeatReservationCancelled;
+import workshop.cinema.reservation.domain.ShowEvent.SeatReserved;
+import workshop.cinema.reservation.domain.ShowId;
+import workshop.cinema.reservation.infrastructure.InMemoryShowViewRepository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Projection handler throughput against the in-memory read model: every invocation processes a reservation and its
+ * cancellation for one of many shows, waiting for both updates. The grouped variant processes a burst of
+ * {@value #GROUP} reservations for a few hot shows, and then their cancellations, with the grouped handler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class ShowViewEventHandlerBenchmark {
+
+    private static final int SHOWS = 1000;
+    private static final int HOT_SHOWS = 10;
+    private static final int GROUP = 500;
+
+    private ShowViewEventHandler handler;
+    private ShowViewGroupedEventHandler groupedHandler;
+    private EventEnvelope<ShowEvent>[] reserved;
+    private EventEnvelope<ShowEvent>[] cancelled;
+    private List<EventEnvelope<ShowEvent>> reservedGroup;
+    private List<EventEnvelope<ShowEvent>> cancelledGroup;
+    private int next;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        ShowViewRepository repository = new InMemoryShowViewRepository();
+        handler = new ShowViewEventHandler(repository);
+        groupedHandler = new ShowViewGroupedEventHandler(repository);
+        reserved = new EventEnvelope[SHOWS];
+        cancelled = new EventEnvelope[SHOWS];
+        Instant now = Instant.now();
+        for (int show = 0; show < SHOWS; show++) {
+            ShowId showId = ShowId.of();
+            repository.save(showId, 100).toCompletableFuture().get();
+            reserved[show] = envelope(new SeatReserved(showId, now, SeatNumber.of(1)), 2L * show);
+            cancelled[show] = envelope(new SeatReservationCancelled(showId, now, SeatNumber.of(1)), 2L * show + 1);
+        }
+        reservedGroup = new ArrayList<>(GROUP);
+        cancelledGroup = new ArrayList<>(GROUP);
+        for (int event = 0; event < GROUP; event++) {
+            ShowId showId = reserved[event % HOT_SHOWS].event().showId();
+            SeatNumber seatNumber = SeatNumber.of(event / HOT_SHOWS);
+            reservedGroup.add(envelope(new SeatReserved(showId, now, seatNumber), event));
+            cancelledGroup.add(envelope(new SeatReservationCancelled(showId, now, seatNumber), GROUP + event));
+        }
+    }
+
+    private static EventEnvelope<ShowEvent> envelope(ShowEvent event, long offset) {
+        return EventEnvelope.create(Sequence.apply(offset), "Show|" + event.showId().id(), offset, event, 0L);
+    }
+
+    @Benchmark
+    public Object processReserveAndCancel() throws Exception {
+        int show = next;
+        next = next + 1 == SHOWS ? 0 : next + 1;
+        handler.process(reserved[show]).toCompletableFuture().get();
+        return handler.process(cancelled[show]).toCompletableFuture().get();
+    }
+
+    @Benchmark
+    public Object processGroupedReserveAndCancel() throws Exception {
+        groupedHandler.process(reservedGroup).toCompletableFuture().get();
+        return groupedHandler.process(cancelledGroup).toCompletableFuture().get();
+    }
+}
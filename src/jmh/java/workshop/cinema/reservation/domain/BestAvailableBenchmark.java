@@ -0,0 +1,77 @@
+package workshop.cinema.reservation.domain;
+
+import io.vavr.collection.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static workshop.cinema.reservation.domain.ShowCreator.INITIAL_PRICE;
+
+/**
+ * Best-available allocation in a heavily fragmented venue: every third seat is reserved, so only the last row has
+ * {@code count} seats together. Compares the free-run index with a linear scan of all seats.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class BestAvailableBenchmark {
+
+    private static final int SEATS_PER_ROW = 60;
+
+    @Param({"100", "1000"})
+    private int rows;
+
+    @Param({"4"})
+    private int count;
+
+    private Seats seats;
+    private int nextRow;
+
+    @Setup
+    public void setUp() {
+        seats = Seats.create(new SeatingLayout(List.of(INITIAL_PRICE), List.of(new SeatingLayout.Section("MAIN", rows, SEATS_PER_ROW, 0))));
+        int fragmented = (rows - 1) * SEATS_PER_ROW;
+        int[] reserved = new int[fragmented / 3];
+        for (int i = 0; i < reserved.length; i++) {
+            reserved[i] = i * 3 + 2;
+        }
+        seats = seats.withStatus(SeatNumbers.of(reserved), SeatStatus.RESERVED);
+    }
+
+    @Benchmark
+    public SeatNumbers bestAvailableIndexed() {
+        return seats.bestAvailable(count, SeatPreferences.none());
+    }
+
+    @Benchmark
+    public SeatNumbers bestAvailableLinearScan() {
+        int run = 0;
+        for (int seat = 0; seat < seats.size(); seat++) {
+            boolean available = seats.status(seat) == SeatStatus.AVAILABLE;
+            run = !available ? 0 : seat % SEATS_PER_ROW == 0 ? 1 : run + 1;
+            if (run == count) {
+                return SeatNumbers.range(seat - count + 1, seat + 1);
+            }
+        }
+        return SeatNumbers.empty();
+    }
+
+    @Benchmark
+    public Seats reserveWithIndexUpdate() {
+        nextRow = nextRow + 1 == rows ? 0 : nextRow + 1;
+        return seats.withStatus(SeatNumber.of(nextRow * SEATS_PER_ROW), SeatStatus.RESERVED);
+    }
+}
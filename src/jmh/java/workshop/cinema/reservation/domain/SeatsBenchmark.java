@@ -0,0 +1,79 @@
+package workshop.cinema.reservation.domain;
+
+import io.vavr.collection.Map;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static workshop.cinema.reservation.domain.ShowCreator.INITIAL_PRICE;
+
+/**
+ * Compares the packed {@link Seats} layout with the previous vavr map of {@link Seat}s.
+ * Run with {@code -prof gc} to see allocation per operation ({@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class SeatsBenchmark {
+
+    @Param({"100", "2000", "20000", "60000"})
+    private int seats;
+
+    private Seats compactSeats;
+    private Map<SeatNumber, Seat> vavrSeats;
+    private int nextSeat;
+
+    @Setup
+    public void setUp() {
+        compactSeats = Seats.create(seats, INITIAL_PRICE);
+        vavrSeats = VavrSeatMap.create(INITIAL_PRICE, seats);
+    }
+
+    private SeatNumber nextSeatNumber() {
+        nextSeat = nextSeat + 1 == seats ? 0 : nextSeat + 1;
+        return SeatNumber.of(nextSeat);
+    }
+
+    @Benchmark
+    public Seats createCompact() {
+        return Seats.create(seats, INITIAL_PRICE);
+    }
+
+    @Benchmark
+    public Map<SeatNumber, Seat> createVavr() {
+        return VavrSeatMap.create(INITIAL_PRICE, seats);
+    }
+
+    @Benchmark
+    public Seats reserveCompact() {
+        return compactSeats.withStatus(nextSeatNumber(), SeatStatus.RESERVED);
+    }
+
+    @Benchmark
+    public Map<SeatNumber, Seat> reserveVavr() {
+        return VavrSeatMap.reserve(vavrSeats, nextSeatNumber());
+    }
+
+    @Benchmark
+    public boolean isAvailableCompact() {
+        return compactSeats.isAvailable(nextSeatNumber());
+    }
+
+    @Benchmark
+    public boolean isAvailableVavr() {
+        return vavrSeats.get(nextSeatNumber()).get().isAvailable();
+    }
+}
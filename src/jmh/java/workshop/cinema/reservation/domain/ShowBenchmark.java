@@ -0,0 +1,83 @@
+package workshop.cinema.reservation.domain;
+
+import io.vavr.collection.List;
+import io.vavr.control.Either;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import workshop.cinema.base.domain.Clock;
+import workshop.cinema.reservation.domain.ShowCommand.CreateShow;
+import workshop.cinema.reservation.domain.ShowCommand.ReserveSeat;
+import workshop.cinema.reservation.domain.ShowEvent.SeatReservationCancelled;
+import workshop.cinema.reservation.domain.ShowEvent.SeatReserved;
+
+import java.util.concurrent.TimeUnit;
+
+import static workshop.cinema.reservation.domain.ShowCreator.INITIAL_PRICE;
+
+/**
+ * Throughput of the domain model: processing a reservation, applying reserve/cancel events and creating the seats
+ * of a new show, for small and stadium-sized venues.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class ShowBenchmark {
+
+    @Param({"100", "10000", "60000"})
+    private int seats;
+
+    private final Clock clock = new Clock.UtcClock();
+    private Show show;
+    private ShowId showId;
+    private ReserveSeat[] reservations;
+    private SeatReserved[] reserved;
+    private SeatReservationCancelled[] cancelled;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        showId = ShowId.of();
+        show = Show.create(ShowCreator.create(new CreateShow(showId, "title", seats), clock).get());
+        reservations = new ReserveSeat[seats];
+        reserved = new SeatReserved[seats];
+        cancelled = new SeatReservationCancelled[seats];
+        for (int seat = 0; seat < seats; seat++) {
+            reservations[seat] = new ReserveSeat(showId, SeatNumber.of(seat));
+            reserved[seat] = new SeatReserved(showId, clock.now(), SeatNumber.of(seat));
+            cancelled[seat] = new SeatReservationCancelled(showId, clock.now(), SeatNumber.of(seat));
+        }
+    }
+
+    private int nextSeat() {
+        next = next + 1 == seats ? 0 : next + 1;
+        return next;
+    }
+
+    @Benchmark
+    public Either<ShowCommandError, List<ShowEvent>> process() {
+        return show.process(reservations[nextSeat()], clock);
+    }
+
+    @Benchmark
+    public Show applyReserveAndCancel() {
+        int seat = nextSeat();
+        return show.apply(reserved[seat]).apply(cancelled[seat]);
+    }
+
+    @Benchmark
+    public Seats createSeats() {
+        return ShowCreator.createSeats(INITIAL_PRICE, seats);
+    }
+}
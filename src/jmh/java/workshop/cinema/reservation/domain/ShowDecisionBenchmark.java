@@ -0,0 +1,72 @@
+package workshop.cinema.reservation.domain;
+
+import io.vavr.collection.List;
+import io.vavr.control.Either;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import workshop.cinema.base.domain.Clock;
+import workshop.cinema.reservation.domain.ShowCommand.CreateShow;
+import workshop.cinema.reservation.domain.ShowCommand.ReserveSeat;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deciding a single-seat reservation, accepted and rejected. Meant to be run with {@code -prof gc}: the accepted
+ * decision should allocate the event only, the rejected one nothing ({@code gc.alloc.rate.norm}). The {@code process}
+ * variants show the cost of the Either/List wrapping on top.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class ShowDecisionBenchmark {
+
+    private static final int SEATS = 1000;
+
+    // fixed instant, so the clock does not allocate
+    private final Instant now = Instant.now();
+    private final Clock clock = () -> now;
+    private Show show;
+    private ReserveSeat reserveAvailable;
+    private ReserveSeat reserveReserved;
+
+    @Setup
+    public void setUp() {
+        ShowId showId = ShowId.of();
+        show = Show.create(ShowCreator.create(new CreateShow(showId, "title", SEATS), clock).get());
+        show = show.apply(new ShowEvent.SeatReserved(showId, now, SeatNumber.of(1)));
+        reserveAvailable = new ReserveSeat(showId, SeatNumber.of(0));
+        reserveReserved = new ReserveSeat(showId, SeatNumber.of(1));
+    }
+
+    @Benchmark
+    public ShowDecision decideAccepted() {
+        return show.decide(reserveAvailable, clock);
+    }
+
+    @Benchmark
+    public ShowDecision decideRejected() {
+        return show.decide(reserveReserved, clock);
+    }
+
+    @Benchmark
+    public Either<ShowCommandError, List<ShowEvent>> processAccepted() {
+        return show.process(reserveAvailable, clock);
+    }
+
+    @Benchmark
+    public Either<ShowCommandError, List<ShowEvent>> processRejected() {
+        return show.process(reserveReserved, clock);
+    }
+}
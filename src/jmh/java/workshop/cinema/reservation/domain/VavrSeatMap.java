@@ -0,0 +1,32 @@
+package workshop.cinema.reservation.domain;
+
+import io.vavr.Tuple2;
+import io.vavr.collection.HashMap;
+import io.vavr.collection.Map;
+import io.vavr.collection.Vector;
+
+import java.math.BigDecimal;
+
+/**
+ * Previous seat layout (persistent hash map with a {@link Seat} per entry), kept as a baseline for benchmarks.
+ */
+public class VavrSeatMap {
+
+    public static Map<SeatNumber, Seat> create(BigDecimal seatPrice, int maxSeats) {
+        var seats = Vector.range(0, maxSeats).map(seatNum -> {
+            var seatNumber = new SeatNumber(seatNum);
+            return new Tuple2<>(seatNumber, new Seat(seatNumber, SeatStatus.AVAILABLE, seatPrice));
+        });
+        return HashMap.ofEntries(seats);
+    }
+
+    public static Map<SeatNumber, Seat> reserve(Map<SeatNumber, Seat> seats, SeatNumber seatNumber) {
+        Seat seat = seats.get(seatNumber).getOrElseThrow(() -> new IllegalStateException("Seat not exists %s".formatted(seatNumber)));
+        return seats.put(seat.number(), seat.reserved());
+    }
+
+    public static Map<SeatNumber, Seat> cancel(Map<SeatNumber, Seat> seats, SeatNumber seatNumber) {
+        Seat seat = seats.get(seatNumber).getOrElseThrow(() -> new IllegalStateException("Seat not exists %s".formatted(seatNumber)));
+        return seats.put(seat.number(), seat.available());
+    }
+}
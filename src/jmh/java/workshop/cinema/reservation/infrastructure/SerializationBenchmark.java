@@ -0,0 +1,110 @@
+package workshop.cinema.reservation.infrastructure;
+
+import akka.actor.ActorSystem;
+import akka.actor.ExtendedActorSystem;
+import com.typesafe.config.ConfigFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import workshop.cinema.base.domain.Clock;
+import workshop.cinema.reservation.domain.SeatNumber;
+import workshop.cinema.reservation.domain.SeatNumbers;
+import workshop.cinema.reservation.domain.Show;
+import workshop.cinema.reservation.domain.ShowCommand.CreateShow;
+import workshop.cinema.reservation.domain.ShowCreator;
+import workshop.cinema.reservation.domain.ShowEvent.SeatReserved;
+import workshop.cinema.reservation.domain.ShowEvent.SeatsReserved;
+import workshop.cinema.reservation.domain.ShowId;
+import workshop.cinema.reservation.domain.ShowSnapshot;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round trip of a single-seat event and of a snapshot of a half reserved venue, binary serializer against Java
+ * serialization. Payload sizes are printed during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class SerializationBenchmark {
+
+    @Param({"1000", "60000"})
+    private int seats;
+
+    private final Clock clock = new Clock.UtcClock();
+    private ActorSystem system;
+    private ShowSerializer serializer;
+    private SeatReserved event;
+    private ShowSnapshot snapshot;
+
+    @Setup
+    public void setUp() throws IOException {
+        system = ActorSystem.create("serialization-benchmark", ConfigFactory.parseString("akka.loglevel = WARNING"));
+        serializer = new ShowSerializer((ExtendedActorSystem) system);
+
+        ShowId showId = ShowId.of();
+        Show show = Show.create(ShowCreator.create(new CreateShow(showId, "title", seats), clock).get());
+        snapshot = show.apply(new SeatsReserved(showId, clock.now(), SeatNumbers.range(0, seats / 2))).toSnapshot();
+        event = new SeatReserved(showId, clock.now(), SeatNumber.of(seats - 1));
+
+        System.out.printf("%nevent: binary %d B, java %d B; snapshot: binary %d B, java %d B%n",
+                serializer.toBinary(event).length, javaSerialize(event).length,
+                serializer.toBinary(snapshot).length, javaSerialize(snapshot).length);
+    }
+
+    @TearDown
+    public void tearDown() {
+        system.terminate();
+    }
+
+    @Benchmark
+    public Object eventBinary() throws IOException {
+        return serializer.fromBinary(serializer.toBinary(event), serializer.manifest(event));
+    }
+
+    @Benchmark
+    public Object eventJava() throws IOException, ClassNotFoundException {
+        return javaDeserialize(javaSerialize(event));
+    }
+
+    @Benchmark
+    public Object snapshotBinary() throws IOException {
+        return serializer.fromBinary(serializer.toBinary(snapshot), serializer.manifest(snapshot));
+    }
+
+    @Benchmark
+    public Object snapshotJava() throws IOException, ClassNotFoundException {
+        return javaDeserialize(javaSerialize(snapshot));
+    }
+
+    private static byte[] javaSerialize(Object object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object javaDeserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package workshop.cinema.reservation.infrastructure;
+
+import io.vavr.control.Option;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import workshop.cinema.reservation.application.projection.ShowView;
+import workshop.cinema.reservation.domain.ShowId;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Available shows queries of the in-memory read model: the whole list against a page of 20 shows, for a growing
+ * catalogue where every other show is sold out.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class ShowViewRepositoryBenchmark {
+
+    private static final int PAGE = 20;
+
+    @Param({"1000", "100000"})
+    private int shows;
+
+    private InMemoryShowViewRepository repository;
+    private ShowId[] showIds;
+    private int next;
+
+    @Setup
+    public void setUp() throws Exception {
+        repository = new InMemoryShowViewRepository();
+        showIds = new ShowId[shows];
+        for (int show = 0; show < shows; show++) {
+            showIds[show] = ShowId.of();
+            repository.save(showIds[show], show % 2).toCompletableFuture().get();
+        }
+    }
+
+    @Benchmark
+    public List<ShowView> findAvailable() throws Exception {
+        return repository.findAvailable().toCompletableFuture().get();
+    }
+
+    @Benchmark
+    public List<ShowView> findAvailablePage() throws Exception {
+        next = next + 1 == shows ? 0 : next + 1;
+        return repository.findAvailable(PAGE, Option.of(showIds[next])).toCompletableFuture().get();
+    }
+}
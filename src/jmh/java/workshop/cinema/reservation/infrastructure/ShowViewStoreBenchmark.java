@@ -0,0 +1,79 @@
+package workshop.cinema.reservation.infrastructure;
+
+import akka.Done;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import workshop.cinema.reservation.application.projection.ShowViewRepository;
+import workshop.cinema.reservation.domain.ShowId;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link InMemoryShowViewRepository} against {@link OffHeapShowViewRepository}: throughput of availability updates
+ * for many shows, and the memory taken by the read model, printed after setup as heap used after GC and direct
+ * buffer memory. Run with {@code -prof gc} to compare allocations and GC time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "-Xmx4g", "-XX:MaxDirectMemorySize=1g"})
+public class ShowViewStoreBenchmark {
+
+    @Param({"map", "off-heap"})
+    private String store;
+
+    @Param({"100000", "1000000"})
+    private int shows;
+
+    private ShowViewRepository repository;
+    private ShowId[] showIds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        long heapBefore = usedHeapAfterGc();
+        long directBefore = directMemory();
+        repository = store.equals("map") ? new InMemoryShowViewRepository() : new OffHeapShowViewRepository(shows * 2);
+        showIds = new ShowId[shows];
+        for (int show = 0; show < shows; show++) {
+            showIds[show] = ShowId.of();
+            repository.save(showIds[show], 100).toCompletableFuture().get();
+        }
+        // the ids are kept by the benchmark itself, so they are counted for both stores
+        System.out.printf("%n%s with %d shows: heap %d MB, direct memory %d MB%n", store, shows,
+                (usedHeapAfterGc() - heapBefore) >> 20, (directMemory() - directBefore) >> 20);
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long directMemory() {
+        return ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> pool.getName().equals("direct"))
+                .mapToLong(BufferPoolMXBean::getMemoryUsed)
+                .sum();
+    }
+
+    @Benchmark
+    public Done reserveAndCancel() throws Exception {
+        next = next + 1 == shows ? 0 : next + 1;
+        repository.decrementAvailability(showIds[next]).toCompletableFuture().get();
+        return repository.incrementAvailability(showIds[next]).toCompletableFuture().get();
+    }
+}
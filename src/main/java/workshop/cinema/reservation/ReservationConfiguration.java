@@ -1,27 +1,48 @@
 package workshop.cinema.reservation;
 
 import akka.actor.typed.ActorSystem;
+import akka.actor.typed.DispatcherSelector;
 import akka.actor.typed.SpawnProtocol;
+import akka.actor.typed.javadsl.Adapter;
 import akka.cluster.sharding.typed.javadsl.ClusterSharding;
 import akka.persistence.jdbc.query.javadsl.JdbcReadJournal;
 import akka.persistence.query.Offset;
+import akka.persistence.query.PersistenceQuery;
 import akka.projection.eventsourced.EventEnvelope;
 import akka.projection.eventsourced.javadsl.EventSourcedProvider;
 import akka.projection.javadsl.SourceProvider;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import workshop.cinema.base.domain.Clock;
+import workshop.cinema.reservation.api.ProjectionsHealthIndicator;
+import workshop.cinema.reservation.api.ShowAvailabilityStreams;
+import workshop.cinema.reservation.api.ShowResponseCache;
 import workshop.cinema.reservation.application.ShowEntity;
+import workshop.cinema.reservation.application.ShowEntitySettings;
 import workshop.cinema.reservation.application.ShowService;
+import workshop.cinema.reservation.application.projection.ProjectionBacklog;
 import workshop.cinema.reservation.application.projection.ProjectionLauncher;
-import workshop.cinema.reservation.application.projection.ShowViewEventHandler;
+import workshop.cinema.reservation.application.projection.ProjectionLauncherSettings;
+import workshop.cinema.reservation.application.projection.ProjectionMetrics;
+import workshop.cinema.reservation.application.projection.ShowViewChanges;
+import workshop.cinema.reservation.application.projection.ShowViewListener;
 import workshop.cinema.reservation.application.projection.ShowViewProjection;
+import workshop.cinema.reservation.application.projection.ShowViewProjectionSettings;
+import workshop.cinema.reservation.application.projection.ShowViewRebuild;
 import workshop.cinema.reservation.application.projection.ShowViewRepository;
 import workshop.cinema.reservation.domain.ShowEvent;
+import workshop.cinema.reservation.infrastructure.CheckpointedShowViewRepository;
 import workshop.cinema.reservation.infrastructure.InMemoryShowViewRepository;
+import workshop.cinema.reservation.infrastructure.JdbcShowViewRepository;
+import workshop.cinema.reservation.infrastructure.OffHeapShowViewRepository;
 
 import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 
 @Configuration
 public class ReservationConfiguration {
@@ -36,29 +57,104 @@ public class ReservationConfiguration {
     }
 
     private final Clock clock;
-
+    private HikariDataSource dataSource;
 
     @Bean
     public ShowService showService() {
-        return new ShowService(sharding, clock);
+        return new ShowService(sharding, clock, showEntitySettings());
+    }
+
+    private ShowEntitySettings showEntitySettings() {
+        return ShowEntitySettings.create(system.settings().config());
+    }
+
+    private ProjectionLauncherSettings projectionLauncherSettings() {
+        return ProjectionLauncherSettings.create(system.settings().config());
+    }
+
+    private ShowViewProjectionSettings showViewProjectionSettings() {
+        return ShowViewProjectionSettings.create(system.settings().config());
     }
 
     @Bean
     public ShowViewRepository showViewRepository() {
-        return new InMemoryShowViewRepository();
+        ShowViewProjectionSettings settings = showViewProjectionSettings();
+        return switch (settings.repository()) {
+            case "jdbc" -> new JdbcShowViewRepository(dataSource(),
+                    system.dispatchers().lookup(DispatcherSelector.fromConfig("akka.projection.jdbc.blocking-jdbc-dispatcher")));
+            case "in-memory" -> settings.checkpointFile().isEmpty() ? new InMemoryShowViewRepository() : checkpointedShowViewRepository(settings);
+            case "off-heap" -> new OffHeapShowViewRepository();
+            default -> throw new IllegalArgumentException("Unknown show view repository " + settings.repository());
+        };
+    }
+
+    private ShowViewRepository checkpointedShowViewRepository(ShowViewProjectionSettings settings) {
+        try {
+            var repository = CheckpointedShowViewRepository.load(Path.of(settings.checkpointFile()));
+            repository.scheduleCheckpoints(system, settings.checkpointInterval());
+            return repository;
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Show view checkpoint " + settings.checkpointFile() + " cannot be loaded", exception);
+        }
+    }
+
+    @Bean
+    public ShowResponseCache showResponseCache(ObjectMapper objectMapper) {
+        return new ShowResponseCache(system.settings().config().getBytes("reservation.show-response-cache.max-size"), objectMapper);
+    }
+
+    @Bean
+    public ShowViewChanges showViewChanges(ShowViewRepository showViewRepository) {
+        return new ShowViewChanges(system, showViewRepository,
+                system.settings().config().getDuration("reservation.show-availability-stream.window"));
+    }
+
+    @Bean
+    public ShowAvailabilityStreams showAvailabilityStreams(ShowViewRepository showViewRepository, ShowViewChanges showViewChanges) {
+        ShowAvailabilityStreams showAvailabilityStreams = new ShowAvailabilityStreams(showViewRepository);
+        showViewChanges.subscribe("show-availability-streams", showAvailabilityStreams::showViewsChanged);
+        return showAvailabilityStreams;
+    }
+
+    @Bean
+    public ProjectionMetrics projectionMetrics(MeterRegistry meterRegistry) {
+        return new ProjectionMetrics(meterRegistry);
     }
 
     @Bean(initMethod = "runProjections")
-    public ProjectionLauncher projectionLauncher(ShowViewRepository showViewRepository) {
-        ShowViewEventHandler showViewEventHandler = new ShowViewEventHandler(showViewRepository);
-        SourceProvider<Offset, EventEnvelope<ShowEvent>> sourceProvider = EventSourcedProvider.eventsByTag(system, JdbcReadJournal.Identifier(), ShowEntity.SHOW_EVENT_TAG);
-        ShowViewProjection showViewProjection = new ShowViewProjection(system, dataSource(), showViewEventHandler);
-        ProjectionLauncher projectionLauncher = new ProjectionLauncher(system);
-        projectionLauncher.withLocalProjections(showViewProjection.create(sourceProvider));
+    public ProjectionLauncher projectionLauncher(ShowViewRepository showViewRepository, ProjectionMetrics projectionMetrics,
+                                                 ShowViewListener showViewListener) {
+        ShowViewProjection showViewProjection = new ShowViewProjection(system, dataSource(), showViewRepository,
+                showViewProjectionSettings(), projectionMetrics, showViewListener);
+        ProjectionLauncher projectionLauncher = new ProjectionLauncher(system, projectionLauncherSettings());
+        projectionLauncher.withShardedProjections(ShowViewProjection.PROJECTION_NAME, showEntitySettings().tagSlices(), slice -> {
+            String tag = ShowEntity.showEventTag(slice);
+            SourceProvider<Offset, EventEnvelope<ShowEvent>> sourceProvider = EventSourcedProvider.eventsByTag(system, JdbcReadJournal.Identifier(), tag);
+            return showViewProjection.create(tag, sourceProvider);
+        });
         return projectionLauncher;
     }
 
-    public DataSource dataSource() {
+    @Bean
+    public ProjectionsHealthIndicator projectionsHealthIndicator(ProjectionLauncher projectionLauncher,
+                                                                 ProjectionMetrics projectionMetrics) {
+        JdbcReadJournal readJournal = PersistenceQuery.get(Adapter.toClassic(system))
+                .getReadJournalFor(JdbcReadJournal.class, JdbcReadJournal.Identifier());
+        return new ProjectionsHealthIndicator(system, projectionLauncher, projectionMetrics,
+                new ProjectionBacklog(system, readJournal, clock), projectionLauncherSettings().readyMaxLag());
+    }
+
+    @Bean
+    public ShowViewRebuild showViewRebuild(ShowViewRepository showViewRepository) {
+        JdbcReadJournal readJournal = PersistenceQuery.get(Adapter.toClassic(system))
+                .getReadJournalFor(JdbcReadJournal.class, "show-view-rebuild-read-journal");
+        return new ShowViewRebuild(system, readJournal, showViewRepository, ShowEntity.showEventTags(showEntitySettings().tagSlices()));
+    }
+
+    public synchronized DataSource dataSource() {
+        if (dataSource != null) {
+            return dataSource;
+        }
         var hikariDataSource = new HikariDataSource();
         hikariDataSource.setPoolName("projection-data-source");
         hikariDataSource.setJdbcUrl("jdbc:postgresql://localhost:5432/postgres");
@@ -67,6 +163,7 @@ public class ReservationConfiguration {
         // https://github.com/brettwooldridge/HikariCP/wiki/About-Pool-Sizing
         hikariDataSource.setMaximumPoolSize(5);
         hikariDataSource.setRegisterMbeans(true);
+        dataSource = hikariDataSource;
         return hikariDataSource;
     }
 }
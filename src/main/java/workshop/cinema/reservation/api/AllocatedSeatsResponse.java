@@ -0,0 +1,13 @@
+package workshop.cinema.reservation.api;
+
+import workshop.cinema.reservation.domain.SeatNumbers;
+
+import java.util.Arrays;
+import java.util.List;
+
+public record AllocatedSeatsResponse(List<Integer> seats) {
+
+    public static AllocatedSeatsResponse from(SeatNumbers seatNumbers) {
+        return new AllocatedSeatsResponse(Arrays.stream(seatNumbers.toArray()).boxed().toList());
+    }
+}
@@ -0,0 +1,12 @@
+package workshop.cinema.reservation.api;
+
+import workshop.cinema.reservation.application.projection.ShowView;
+
+import java.util.UUID;
+
+public record AvailableShowResponse(UUID showId, int availableSeats) {
+
+    public static AvailableShowResponse from(ShowView showView) {
+        return new AvailableShowResponse(showView.showId().id(), showView.availableSeats());
+    }
+}
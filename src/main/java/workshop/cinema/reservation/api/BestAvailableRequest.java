@@ -0,0 +1,12 @@
+package workshop.cinema.reservation.api;
+
+import workshop.cinema.reservation.domain.SeatPreferences;
+
+import java.util.List;
+
+public record BestAvailableRequest(int count, List<String> sections) {
+
+    public SeatPreferences preferences() {
+        return sections == null ? SeatPreferences.none() : new SeatPreferences(io.vavr.collection.List.ofAll(sections));
+    }
+}
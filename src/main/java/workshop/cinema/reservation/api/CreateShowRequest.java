@@ -1,6 +1,29 @@
 package workshop.cinema.reservation.api;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import workshop.cinema.reservation.domain.SeatingLayout;
+import workshop.cinema.reservation.domain.ShowCreator;
+
+import java.util.List;
 import java.util.UUID;
 
-public record CreateShowRequest(UUID showId, String title, int maxSeats) {
+public record CreateShowRequest(UUID showId, String title, int maxSeats, List<SectionRequest> sections) {
+
+    @JsonCreator
+    public CreateShowRequest {
+    }
+
+    public CreateShowRequest(UUID showId, String title, int maxSeats) {
+        this(showId, title, maxSeats, null);
+    }
+
+    public SeatingLayout toSeatingLayout() {
+        if (sections == null || sections.isEmpty()) {
+            return SeatingLayout.singleRow(maxSeats, ShowCreator.INITIAL_PRICE);
+        } else {
+            var sectionRequests = io.vavr.collection.List.ofAll(sections);
+            var priceTiers = sectionRequests.map(SectionRequest::price).distinct();
+            return new SeatingLayout(priceTiers, sectionRequests.map(section -> section.toSection(priceTiers.indexOf(section.price()))));
+        }
+    }
 }
@@ -0,0 +1,23 @@
+package workshop.cinema.reservation.api;
+
+final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Weak comparison of If-None-Match (a list of tags or *) with the current strong tag, see RFC 7232.
+     */
+    static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(eTag) || (tag.startsWith("W/") && tag.substring(2).equals(eTag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,6 @@
+package workshop.cinema.reservation.api;
+
+import java.math.BigDecimal;
+
+public record PriceTierRequest(BigDecimal price) {
+}
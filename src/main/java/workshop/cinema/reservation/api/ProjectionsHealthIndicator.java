@@ -0,0 +1,82 @@
+package workshop.cinema.reservation.api;
+
+import akka.actor.typed.ActorSystem;
+import akka.cluster.typed.Cluster;
+import akka.projection.ProjectionId;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.ReactiveHealthIndicator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import workshop.cinema.reservation.application.projection.ProjectionBacklog;
+import workshop.cinema.reservation.application.projection.ProjectionLauncher;
+import workshop.cinema.reservation.application.projection.ProjectionMetrics;
+import workshop.cinema.reservation.application.projection.ProjectionMetrics.ProjectionStatus;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Up when all projections are launched, and every projection running on this node has caught up. A projection not
+ * running on this node counts only on a single node cluster, otherwise it may run on another node. A projection
+ * without recent progress is caught up when the journal has no older unprocessed event than the maximum lag, so an
+ * idle projection is ready, but not one stuck reading the journal.
+ */
+public class ProjectionsHealthIndicator implements ReactiveHealthIndicator {
+
+    private final ActorSystem<?> system;
+    private final ProjectionLauncher projectionLauncher;
+    private final ProjectionMetrics projectionMetrics;
+    private final ProjectionBacklog projectionBacklog;
+    private final Duration readyMaxLag;
+
+    public ProjectionsHealthIndicator(ActorSystem<?> system, ProjectionLauncher projectionLauncher,
+                                      ProjectionMetrics projectionMetrics, ProjectionBacklog projectionBacklog,
+                                      Duration readyMaxLag) {
+        this.system = system;
+        this.projectionLauncher = projectionLauncher;
+        this.projectionMetrics = projectionMetrics;
+        this.projectionBacklog = projectionBacklog;
+        this.readyMaxLag = readyMaxLag;
+    }
+
+    @Override
+    public Mono<Health> health() {
+        var launched = projectionLauncher.launched().toCompletableFuture();
+        if (!launched.isDone()) {
+            return Mono.just(Health.outOfService().withDetail("projections", "launching").build());
+        }
+        if (launched.isCompletedExceptionally()) {
+            return Mono.just(Health.down().withDetail("projections", "launch failed").build());
+        }
+        boolean singleNode = Cluster.get(system).state().members().size() <= 1;
+        return Flux.fromIterable(projectionLauncher.projectionIds())
+                .concatMap(projectionId -> readiness(projectionId, singleNode))
+                .collectList()
+                .map(projections -> {
+                    Map<String, String> details = new LinkedHashMap<>();
+                    projections.forEach(projection -> details.put(projection.projectionId().id(), projection.detail()));
+                    boolean ready = projections.stream().allMatch(ProjectionReadiness::ready);
+                    return (ready ? Health.up() : Health.outOfService()).withDetails(details).build();
+                });
+    }
+
+    private Mono<ProjectionReadiness> readiness(ProjectionId projectionId, boolean singleNode) {
+        ProjectionStatus status = projectionMetrics.status(projectionId, readyMaxLag);
+        if (!status.running()) {
+            return Mono.just(new ProjectionReadiness(projectionId, !singleNode, "not running on this node"));
+        }
+        if (status.caughtUp()) {
+            return Mono.just(new ProjectionReadiness(projectionId, true, "caught up, lag " + status.lag().toMillis() + "ms"));
+        }
+        return Mono.fromCompletionStage(() -> projectionBacklog.oldestUnprocessedEventAge(projectionId, status.storedOffset()))
+                .map(age -> age.compareTo(readyMaxLag) <= 0
+                        ? new ProjectionReadiness(projectionId, true, "caught up, oldest unprocessed event " + age.toMillis() + "ms")
+                        : new ProjectionReadiness(projectionId, false, "catching up, oldest unprocessed event " + age.toMillis() + "ms"))
+                .onErrorResume(failure -> Mono.just(new ProjectionReadiness(projectionId, false,
+                        "progress unknown: " + failure.getMessage())));
+    }
+
+    private record ProjectionReadiness(ProjectionId projectionId, boolean ready, String detail) {
+    }
+}
@@ -1,7 +1,7 @@
 package workshop.cinema.reservation.api;
 
 enum Action {
-    RESERVE, CANCEL_RESERVATION
+    RESERVE, CANCEL_RESERVATION, HOLD, CONFIRM_HOLD
 }
 
 public record SeatActionRequest(Action action) {
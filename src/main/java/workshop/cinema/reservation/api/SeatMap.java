@@ -0,0 +1,93 @@
+package workshop.cinema.reservation.api;
+
+import org.springframework.http.MediaType;
+import workshop.cinema.reservation.domain.Seats;
+import workshop.cinema.reservation.domain.Show;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Binary {@code application/x-seatmap} representation of a show, a few bytes per seat instead of a JSON object:
+ * <pre>
+ * byte        format version (1)
+ * 16 bytes    show id, most and least significant bits, big-endian
+ * varint      title length, UTF-8 title
+ * varint      number of seats
+ * bytes       seat statuses, 2 bits per seat, seat n in bits 2 * (n % 4) of byte n / 4,
+ *             {@code SeatStatus} ordinal as value (0 available, 1 reserved, 2 held)
+ * varint      number of price tiers, for every tier: varint length, ASCII decimal price
+ * varint      number of tier runs, for every run: varint number of seats, byte tier
+ * </pre>
+ * Varints are unsigned LEB128. The statuses are the little-endian bytes of the packed status words of {@link Seats}.
+ */
+final class SeatMap {
+
+    static final String MEDIA_TYPE_VALUE = "application/x-seatmap";
+    static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+    static final int VERSION = 1;
+
+    private SeatMap() {
+    }
+
+    static byte[] encode(Show show) {
+        Seats seats = show.seats();
+        byte[] title = show.title().getBytes(StandardCharsets.UTF_8);
+        int statusBytes = (seats.size() + 3) / 4;
+        ByteArrayOutputStream out = new ByteArrayOutputStream(32 + title.length + statusBytes + seats.tierCount() * 8);
+        out.write(VERSION);
+        UUID id = show.id().id();
+        writeLong(out, id.getMostSignificantBits());
+        writeLong(out, id.getLeastSignificantBits());
+        writeVarInt(out, title.length);
+        out.writeBytes(title);
+        writeVarInt(out, seats.size());
+        int[] remaining = {statusBytes};
+        seats.forEachStatusWord(word -> {
+            int bytes = Math.min(Long.BYTES, remaining[0]);
+            for (int i = 0; i < bytes; i++) {
+                out.write((int) (word >>> (i * Byte.SIZE)));
+            }
+            remaining[0] -= bytes;
+        });
+        writeVarInt(out, seats.tierCount());
+        for (int tier = 0; tier < seats.tierCount(); tier++) {
+            byte[] price = seats.tierPrice(tier).toPlainString().getBytes(StandardCharsets.US_ASCII);
+            writeVarInt(out, price.length);
+            out.writeBytes(price);
+        }
+        writeTierRuns(out, seats);
+        return out.toByteArray();
+    }
+
+    private static void writeTierRuns(ByteArrayOutputStream out, Seats seats) {
+        ByteArrayOutputStream runs = new ByteArrayOutputStream();
+        int count = 0;
+        int start = 0;
+        for (int seat = 1; seat <= seats.size(); seat++) {
+            if (seat == seats.size() || seats.tier(seat) != seats.tier(start)) {
+                writeVarInt(runs, seat - start);
+                runs.write(seats.tier(start));
+                count++;
+                start = seat;
+            }
+        }
+        writeVarInt(out, count);
+        out.writeBytes(runs.toByteArray());
+    }
+
+    private static void writeLong(ByteArrayOutputStream out, long value) {
+        for (int shift = Long.SIZE - Byte.SIZE; shift >= 0; shift -= Byte.SIZE) {
+            out.write((int) (value >>> shift));
+        }
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+}
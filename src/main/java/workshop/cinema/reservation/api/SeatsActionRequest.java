@@ -0,0 +1,27 @@
+package workshop.cinema.reservation.api;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import workshop.cinema.reservation.domain.SeatHolds;
+import workshop.cinema.reservation.domain.SeatNumbers;
+
+import java.time.Duration;
+import java.util.List;
+
+public record SeatsActionRequest(Action action, List<Integer> seats, Duration holdDuration) {
+
+    @JsonCreator
+    public SeatsActionRequest {
+    }
+
+    public SeatsActionRequest(Action action, List<Integer> seats) {
+        this(action, seats, null);
+    }
+
+    public Duration holdDurationOrDefault() {
+        return holdDuration == null ? SeatHolds.DEFAULT_DURATION : holdDuration;
+    }
+
+    public SeatNumbers seatNumbers() {
+        return seats == null ? SeatNumbers.empty() : SeatNumbers.of(seats.stream().mapToInt(Integer::intValue).toArray());
+    }
+}
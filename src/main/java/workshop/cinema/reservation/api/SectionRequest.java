@@ -0,0 +1,12 @@
+package workshop.cinema.reservation.api;
+
+import workshop.cinema.reservation.domain.SeatingLayout.Section;
+
+import java.math.BigDecimal;
+
+public record SectionRequest(String name, int rows, int seatsPerRow, BigDecimal price) {
+
+    public Section toSection(int tier) {
+        return new Section(name, rows, seatsPerRow, tier);
+    }
+}
@@ -0,0 +1,10 @@
+package workshop.cinema.reservation.api;
+
+import workshop.cinema.reservation.application.projection.ShowView;
+
+public record ShowAvailabilityResponse(String showId, int availableSeats) {
+
+    public static ShowAvailabilityResponse from(ShowView showView) {
+        return new ShowAvailabilityResponse(showView.showId().id().toString(), showView.availableSeats());
+    }
+}
@@ -0,0 +1,80 @@
+package workshop.cinema.reservation.api;
+
+import io.vavr.collection.List;
+import io.vavr.control.Option;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import workshop.cinema.reservation.application.projection.ShowView;
+import workshop.cinema.reservation.application.projection.ShowViewChanges;
+import workshop.cinema.reservation.application.projection.ShowViewRepository;
+import workshop.cinema.reservation.domain.ShowId;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Availability of a show, as the show view projection writes it. All subscribers of a show share one stream: the
+ * stream starts from the local show view and continues with the changes published by the node running the projection
+ * of the show, see {@link ShowViewChanges}. A slow subscriber gets the latest availability only. The stream of a show
+ * exists while it has subscribers.
+ */
+public class ShowAvailabilityStreams {
+
+    private final ShowViewRepository showViewRepository;
+    private final Map<ShowId, ShowStream> streams = new ConcurrentHashMap<>();
+
+    public ShowAvailabilityStreams(ShowViewRepository showViewRepository) {
+        this.showViewRepository = showViewRepository;
+    }
+
+    public Flux<ShowAvailabilityResponse> availability(ShowId showId) {
+        return Flux.defer(() -> {
+            ShowStream stream = streams.compute(showId, (id, current) -> {
+                ShowStream subscribed = current == null ? new ShowStream(id) : current;
+                subscribed.subscribers++;
+                return subscribed;
+            });
+            return stream.availability
+                    .onBackpressureLatest()
+                    .doFinally(signal -> streams.computeIfPresent(showId, (id, current) -> --current.subscribers == 0 ? null : current));
+        });
+    }
+
+    public void showViewsChanged(List<ShowView> showViews) {
+        for (ShowView showView : showViews) {
+            ShowStream stream = streams.get(showView.showId());
+            if (stream != null) {
+                // called from the subscriber actor only, so emissions never overlap
+                stream.changes.tryEmitNext(showView);
+            }
+        }
+    }
+
+    private Mono<ShowView> localView(ShowId showId) {
+        return Mono.fromCompletionStage(() -> showViewRepository.findBy(showId))
+                .flatMap(showView -> Mono.justOrEmpty(showView.toJavaOptional()));
+    }
+
+    int streams() {
+        return streams.size();
+    }
+
+    private final class ShowStream {
+
+        private final Sinks.Many<ShowView> changes = Sinks.many().multicast().directBestEffort();
+        private final Flux<ShowAvailabilityResponse> availability;
+        // guarded by the compute of the streams entry
+        private int subscribers;
+
+        private ShowStream(ShowId showId) {
+            // none reads the local view, which may not hold the show of a node local view before its first change
+            availability = Flux.concat(Mono.just(Option.<ShowView>none()), changes.asFlux().map(Option::some).onBackpressureLatest())
+                    .concatMap(change -> change.fold(() -> localView(showId), Mono::just), 1)
+                    .map(showView -> ShowAvailabilityResponse.from(showView))
+                    .distinctUntilChanged()
+                    .replay(1)
+                    .refCount();
+        }
+    }
+}
@@ -1,46 +1,81 @@
 package workshop.cinema.reservation.api;
 
+import io.vavr.control.Option;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import workshop.cinema.reservation.application.ShowEntityResponse;
 import workshop.cinema.reservation.application.ShowEntityResponse.CommandProcessed;
 import workshop.cinema.reservation.application.ShowEntityResponse.CommandRejected;
+import workshop.cinema.reservation.application.ShowEntityResponse.SeatsAllocated;
 import workshop.cinema.reservation.application.ShowService;
+import workshop.cinema.reservation.application.projection.ShowViewRepository;
 import workshop.cinema.reservation.domain.SeatNumber;
+import workshop.cinema.reservation.domain.SeatHolds;
+import workshop.cinema.reservation.domain.SeatNumbers;
+import workshop.cinema.reservation.domain.Show;
 import workshop.cinema.reservation.domain.ShowId;
 
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletionStage;
+import java.util.function.BiFunction;
 
+import static org.springframework.http.HttpHeaders.ACCEPT;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.HttpStatus.NOT_MODIFIED;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM_VALUE;
 import static org.springframework.http.ResponseEntity.accepted;
 import static org.springframework.http.ResponseEntity.badRequest;
 import static org.springframework.http.ResponseEntity.notFound;
 import static org.springframework.http.ResponseEntity.ok;
+import static org.springframework.http.ResponseEntity.status;
 
 @RestController
 @RequestMapping(value = "/shows")
 public class ShowController {
 
+    static final int AVAILABLE_SHOWS_PAGE = 500;
+    private static final CacheControl SHOW_CACHE_CONTROL = CacheControl.noCache().cachePublic();
+
     private final ShowService showService;
+    private final ShowAvailabilityStreams showAvailabilityStreams;
+    private final ShowViewRepository showViewRepository;
+    private final ShowResponseCache showResponseCache;
 
-    public ShowController(ShowService showService) {
+    public ShowController(ShowService showService, ShowAvailabilityStreams showAvailabilityStreams,
+                          ShowViewRepository showViewRepository, ShowResponseCache showResponseCache) {
         this.showService = showService;
+        this.showAvailabilityStreams = showAvailabilityStreams;
+        this.showViewRepository = showViewRepository;
+        this.showResponseCache = showResponseCache;
     }
 
     @PostMapping
     public Mono<ResponseEntity<String>> create(@RequestBody CreateShowRequest request) {
-        CompletionStage<ResponseEntity<String>> showResponse = showService.createShow(ShowId.of(request.showId()), request.title(), request.maxSeats())
+        CompletionStage<ResponseEntity<String>> showResponse = showService.createShow(ShowId.of(request.showId()), request.title(), request.toSeatingLayout())
                 .thenApply(result -> switch (result) {
                     case CommandProcessed ignored -> new ResponseEntity<>("Show created", CREATED);
+                    case SeatsAllocated ignored -> new ResponseEntity<>("Show created", CREATED);
                     case CommandRejected rejected -> transformRejection(rejected);
                 });
 
@@ -54,14 +89,72 @@ public class ShowController {
         };
     }
 
+    /**
+     * Shows with available seats ordered by id, starting after the {@code after} show id, at most {@code limit} (all
+     * when missing). Read page by page on demand, so a slow client holds one page at most. The id of the last show is
+     * the cursor of the next request.
+     */
+    @GetMapping(params = "available=true", produces = {APPLICATION_NDJSON_VALUE, APPLICATION_JSON_VALUE})
+    public Flux<AvailableShowResponse> findAvailable(@RequestParam(required = false) UUID after,
+                                                     @RequestParam(required = false) Integer limit) {
+        if (limit != null && limit < 1) {
+            return Flux.error(new ResponseStatusException(BAD_REQUEST, "limit must be positive"));
+        }
+        int pageSize = limit == null ? AVAILABLE_SHOWS_PAGE : Math.min(limit, AVAILABLE_SHOWS_PAGE);
+        Flux<AvailableShowResponse> shows = availablePage(pageSize, Option.of(after).map(ShowId::of))
+                .expand(page -> page.size() < pageSize ? Mono.empty()
+                        : availablePage(pageSize, Option.of(ShowId.of(page.get(page.size() - 1).showId()))))
+                .concatMapIterable(page -> page, 1);
+        return limit == null ? shows : shows.take(limit);
+    }
+
+    private Mono<List<AvailableShowResponse>> availablePage(int pageSize, Option<ShowId> afterShowId) {
+        return Mono.fromCompletionStage(() -> showViewRepository.findAvailable(pageSize, afterShowId))
+                .map(page -> page.stream().map(AvailableShowResponse::from).toList());
+    }
+
+    /**
+     * The ETag is the sequence number of the show, so an unchanged show is answered with 304 Not Modified without
+     * building the response. Caches may store it, but have to revalidate it on every request. The body is the
+     * {@link ShowResponse} JSON from the {@link ShowResponseCache}.
+     */
     @GetMapping(value = "{showId}", produces = "application/json")
-    public Mono<ResponseEntity<ShowResponse>> findById(@PathVariable UUID showId) {
-        CompletionStage<ResponseEntity<ShowResponse>> showResponse = showService.findShowBy(ShowId.of(showId)).thenApply(result ->
-                result.map(ShowResponse::from).map(ok()::body)
-                        .getOrElse(notFound().build()));
+    public Mono<ResponseEntity<byte[]>> findById(@PathVariable UUID showId,
+                                                 @RequestHeader(value = IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return findById(showId, ifNoneMatch, "", APPLICATION_JSON, showResponseCache::render);
+    }
+
+    /**
+     * The same show as {@link SeatMap}, for clients asking for it with {@code Accept: application/x-seatmap}. Its ETag
+     * is the sequence number with a {@code -seatmap} suffix, as the representations differ.
+     */
+    @GetMapping(value = "{showId}", produces = SeatMap.MEDIA_TYPE_VALUE)
+    public Mono<ResponseEntity<byte[]>> findSeatMapById(@PathVariable UUID showId,
+                                                        @RequestHeader(value = IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return findById(showId, ifNoneMatch, "-seatmap", SeatMap.MEDIA_TYPE, (show, sequenceNr) -> SeatMap.encode(show));
+    }
+
+    private Mono<ResponseEntity<byte[]>> findById(UUID showId, String ifNoneMatch, String eTagSuffix, MediaType contentType,
+                                                  BiFunction<Show, Long, byte[]> render) {
+        CompletionStage<ResponseEntity<byte[]>> showResponse = showService.getShow(ShowId.of(showId)).thenApply(result -> {
+            if (result.show().isEmpty()) {
+                return notFound().build();
+            }
+            String eTag = "\"" + result.sequenceNr() + eTagSuffix + "\"";
+            if (ETags.matches(ifNoneMatch, eTag)) {
+                return status(NOT_MODIFIED).eTag(eTag).cacheControl(SHOW_CACHE_CONTROL).varyBy(ACCEPT).build();
+            }
+            return ok().eTag(eTag).cacheControl(SHOW_CACHE_CONTROL).varyBy(ACCEPT).contentType(contentType)
+                    .body(render.apply(result.show().get(), result.sequenceNr()));
+        });
         return Mono.fromCompletionStage(showResponse);
     }
 
+    @GetMapping(value = "{showId}/availability", produces = TEXT_EVENT_STREAM_VALUE)
+    public Flux<ShowAvailabilityResponse> availability(@PathVariable UUID showId) {
+        return showAvailabilityStreams.availability(ShowId.of(showId));
+    }
+
     @PatchMapping(value = "{showId}/seats/{seatNum}", consumes = "application/json")
     public Mono<ResponseEntity<String>> reserve(@PathVariable("showId") UUID showIdValue,
                                                 @PathVariable("seatNum") int seatNumValue,
@@ -72,11 +165,61 @@ public class ShowController {
         CompletionStage<ShowEntityResponse> actionResult = switch (request.action()) {
             case RESERVE -> showService.reserveSeat(showId, seatNumber);
             case CANCEL_RESERVATION -> showService.cancelReservation(showId, seatNumber);
+            case HOLD -> showService.holdSeats(showId, SeatNumbers.of(seatNumber.value()), SeatHolds.DEFAULT_DURATION);
+            case CONFIRM_HOLD -> showService.confirmHolds(showId, SeatNumbers.of(seatNumber.value()));
+        };
+
+        return Mono.fromCompletionStage(actionResult.thenApply(response -> switch (response) {
+            case CommandProcessed ignored -> accepted().body(request.action() + " successful");
+            case SeatsAllocated ignored -> accepted().body(request.action() + " successful");
+            case CommandRejected rejected -> badRequest().body(request.action() + " failed with: " + rejected.error().name());
+        }));
+    }
+
+    @PatchMapping(value = "{showId}/seats", consumes = "application/json")
+    public Mono<ResponseEntity<String>> reserveAll(@PathVariable("showId") UUID showIdValue,
+                                                   @RequestBody SeatsActionRequest request) {
+
+        ShowId showId = ShowId.of(showIdValue);
+        SeatNumbers seatNumbers = request.seatNumbers();
+        CompletionStage<ShowEntityResponse> actionResult = switch (request.action()) {
+            case RESERVE -> showService.reserveSeats(showId, seatNumbers);
+            case CANCEL_RESERVATION -> showService.cancelReservations(showId, seatNumbers);
+            case HOLD -> showService.holdSeats(showId, seatNumbers, request.holdDurationOrDefault());
+            case CONFIRM_HOLD -> showService.confirmHolds(showId, seatNumbers);
         };
 
         return Mono.fromCompletionStage(actionResult.thenApply(response -> switch (response) {
             case CommandProcessed ignored -> accepted().body(request.action() + " successful");
+            case SeatsAllocated ignored -> accepted().body(request.action() + " successful");
             case CommandRejected rejected -> badRequest().body(request.action() + " failed with: " + rejected.error().name());
         }));
     }
+
+    @PostMapping(value = "{showId}/seats/best-available", consumes = "application/json", produces = "application/json")
+    public Mono<ResponseEntity<?>> reserveBestAvailable(@PathVariable("showId") UUID showIdValue,
+                                                        @RequestBody BestAvailableRequest request) {
+
+        CompletionStage<ShowEntityResponse> actionResult = showService.reserveBestAvailable(ShowId.of(showIdValue), request.count(), request.preferences());
+
+        return Mono.fromCompletionStage(actionResult.thenApply(response -> switch (response) {
+            case SeatsAllocated allocated -> ok().body(AllocatedSeatsResponse.from(allocated.seatNumbers()));
+            case CommandProcessed ignored -> accepted().build();
+            case CommandRejected rejected -> badRequest().body("Reservation failed with: " + rejected.error().name());
+        }));
+    }
+
+    @PutMapping(value = "{showId}/price-tiers/{tier}", consumes = "application/json")
+    public Mono<ResponseEntity<String>> repriceTier(@PathVariable("showId") UUID showIdValue,
+                                                    @PathVariable("tier") int tier,
+                                                    @RequestBody PriceTierRequest request) {
+
+        CompletionStage<ShowEntityResponse> actionResult = showService.repriceTier(ShowId.of(showIdValue), tier, request.price());
+
+        return Mono.fromCompletionStage(actionResult.thenApply(response -> switch (response) {
+            case CommandProcessed ignored -> accepted().body("Price tier changed");
+            case SeatsAllocated ignored -> accepted().body("Price tier changed");
+            case CommandRejected rejected -> badRequest().body("Repricing failed with: " + rejected.error().name());
+        }));
+    }
 }
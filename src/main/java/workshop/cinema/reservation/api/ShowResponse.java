@@ -1,12 +1,20 @@
 package workshop.cinema.reservation.api;
 
+import workshop.cinema.reservation.domain.Seats;
 import workshop.cinema.reservation.domain.Show;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public record ShowResponse(String id, String title, List<SeatResponse> seats) {
 
     public static ShowResponse from(Show show) {
-        return new ShowResponse(show.id().id().toString(), show.title(), show.seats().values().map(SeatResponse::from).toJavaList());
+        // straight from the seat table, prices are shared tier instances
+        Seats seats = show.seats();
+        List<SeatResponse> seatResponses = new ArrayList<>(seats.size());
+        for (int seat = 0; seat < seats.size(); seat++) {
+            seatResponses.add(new SeatResponse(seat, seats.status(seat).name(), seats.price(seat)));
+        }
+        return new ShowResponse(show.id().id().toString(), show.title(), seatResponses);
     }
 }
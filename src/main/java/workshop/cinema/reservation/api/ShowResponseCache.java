@@ -0,0 +1,168 @@
+package workshop.cinema.reservation.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import workshop.cinema.reservation.domain.Seats;
+import workshop.cinema.reservation.domain.SeatStatus;
+import workshop.cinema.reservation.domain.Show;
+import workshop.cinema.reservation.domain.ShowId;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@link ShowResponse} JSON of the most recently requested shows, up to a total size, rendered once and then patched:
+ * every seat status is written with the same width (padded with whitespace), so a changed status is overwritten in
+ * place in a copy of the bytes instead of encoding the whole show again. The changed seats are found from the status
+ * chunks copied by the events since the cached state, see {@link Seats#forEachChangedStatus}. A show with changed
+ * prices is rendered again. The title and the prices are written with the application {@link ObjectMapper}, so the
+ * JSON equals the uncached response but for the padding.
+ */
+public class ShowResponseCache {
+
+    private static final byte[][] STATUSES = new byte[SeatStatus.values().length][];
+    private static final int STATUS_WIDTH;
+
+    static {
+        int width = 0;
+        for (SeatStatus status : SeatStatus.values()) {
+            width = Math.max(width, status.name().length() + 2);
+        }
+        STATUS_WIDTH = width;
+        for (SeatStatus status : SeatStatus.values()) {
+            byte[] quoted = Arrays.copyOf(("\"" + status.name() + "\"").getBytes(StandardCharsets.US_ASCII), STATUS_WIDTH);
+            Arrays.fill(quoted, status.name().length() + 2, STATUS_WIDTH, (byte) ' ');
+            STATUSES[status.ordinal()] = quoted;
+        }
+    }
+
+    // least recently used first, guarded by itself
+    private final Map<ShowId, RenderedShow> shows = new LinkedHashMap<>(16, 0.75f, true);
+    private final long maxBytes;
+    private final ObjectMapper objectMapper;
+    // guarded by shows
+    private long bytes;
+
+    public ShowResponseCache(long maxBytes, ObjectMapper objectMapper) {
+        this.maxBytes = maxBytes;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @return JSON of the show in the state of {@code sequenceNr}, not to be modified
+     */
+    public byte[] render(Show show, long sequenceNr) {
+        RenderedShow cached;
+        synchronized (shows) {
+            cached = shows.get(show.id());
+        }
+        if (cached != null && cached.sequenceNr() == sequenceNr) {
+            return cached.json();
+        }
+        RenderedShow rendered = cached == null ? null : cached.patch(show.seats(), sequenceNr);
+        if (rendered == null) {
+            rendered = renderShow(show, sequenceNr);
+        }
+        synchronized (shows) {
+            RenderedShow current = shows.get(show.id());
+            if (current == null || current.sequenceNr() <= rendered.sequenceNr()) {
+                shows.put(show.id(), rendered);
+                bytes += rendered.bytes() - (current == null ? 0 : current.bytes());
+                evictOverflow();
+            }
+        }
+        return rendered.json();
+    }
+
+    private void evictOverflow() {
+        Iterator<RenderedShow> leastRecentlyUsed = shows.values().iterator();
+        while (bytes > maxBytes && leastRecentlyUsed.hasNext()) {
+            bytes -= leastRecentlyUsed.next().bytes();
+            leastRecentlyUsed.remove();
+        }
+    }
+
+    private RenderedShow renderShow(Show show, long sequenceNr) {
+        Seats seats = show.seats();
+        byte[][] prices = new byte[seats.tierCount()][];
+        for (int tier = 0; tier < prices.length; tier++) {
+            prices[tier] = toJson(seats.tierPrice(tier));
+        }
+        int[] statusOffsets = new int[seats.size()];
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 + seats.size() * (40 + STATUS_WIDTH));
+        write(out, "{\"id\":\"" + show.id().id() + "\",\"title\":");
+        out.writeBytes(toJson(show.title()));
+        write(out, ",\"seats\":[");
+        for (int seat = 0; seat < seats.size(); seat++) {
+            if (seat > 0) {
+                out.write(',');
+            }
+            write(out, "{\"number\":" + seat + ",\"status\":");
+            statusOffsets[seat] = out.size();
+            out.writeBytes(STATUSES[seats.status(seat).ordinal()]);
+            write(out, ",\"price\":");
+            out.writeBytes(prices[seats.tier(seat)]);
+            out.write('}');
+        }
+        write(out, "]}");
+        return new RenderedShow(sequenceNr, seats, out.toByteArray(), statusOffsets);
+    }
+
+    private byte[] toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot write " + value, e);
+        }
+    }
+
+    private static void write(ByteArrayOutputStream out, String value) {
+        out.writeBytes(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    int size() {
+        synchronized (shows) {
+            return shows.size();
+        }
+    }
+
+    long bytes() {
+        synchronized (shows) {
+            return bytes;
+        }
+    }
+
+    /**
+     * @param statusOffsets position of the status of every seat in the json
+     */
+    private record RenderedShow(long sequenceNr, Seats seats, byte[] json, int[] statusOffsets) {
+
+        /**
+         * @return null when the seats cannot be patched in
+         */
+        RenderedShow patch(Seats changed, long changedSequenceNr) {
+            if (!changed.samePrices(seats)) {
+                return null;
+            }
+            byte[][] patched = new byte[1][];
+            changed.forEachChangedStatus(seats, seat -> {
+                if (patched[0] == null) {
+                    patched[0] = json.clone();
+                }
+                System.arraycopy(STATUSES[changed.status(seat).ordinal()], 0, patched[0], statusOffsets[seat], STATUS_WIDTH);
+            });
+            return new RenderedShow(changedSequenceNr, changed, patched[0] == null ? json : patched[0], statusOffsets);
+        }
+
+        /**
+         * Estimated heap taken by the show, the packed statuses of the seats included.
+         */
+        long bytes() {
+            return json.length + 4L * statusOffsets.length + seats.size() / 4;
+        }
+    }
+}
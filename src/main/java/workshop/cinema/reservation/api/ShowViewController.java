@@ -0,0 +1,26 @@
+package workshop.cinema.reservation.api;
+
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import workshop.cinema.reservation.application.projection.ProjectionLauncher;
+import workshop.cinema.reservation.application.projection.ShowViewRebuild;
+
+@RestController
+@RequestMapping(value = "/show-views")
+public class ShowViewController {
+
+    private final ShowViewRebuild showViewRebuild;
+    private final ProjectionLauncher projectionLauncher;
+
+    public ShowViewController(ShowViewRebuild showViewRebuild, ProjectionLauncher projectionLauncher) {
+        this.showViewRebuild = showViewRebuild;
+        this.projectionLauncher = projectionLauncher;
+    }
+
+    @PostMapping("rebuild")
+    public Mono<ShowViewRebuildResponse> rebuild() {
+        return Mono.fromCompletionStage(showViewRebuild.run(projectionLauncher)).map(ShowViewRebuildResponse::from);
+    }
+}
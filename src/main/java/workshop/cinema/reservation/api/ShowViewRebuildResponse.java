@@ -0,0 +1,11 @@
+package workshop.cinema.reservation.api;
+
+import workshop.cinema.reservation.application.projection.ShowViewRebuildReport;
+
+public record ShowViewRebuildResponse(long events, int shows, int skippedShows, long durationMillis, long eventsPerSecond) {
+
+    public static ShowViewRebuildResponse from(ShowViewRebuildReport report) {
+        return new ShowViewRebuildResponse(report.events(), report.shows(), report.skippedShows(),
+                report.duration().toMillis(), report.eventsPerSecond());
+    }
+}
@@ -0,0 +1,12 @@
+package workshop.cinema.reservation.application;
+
+import io.vavr.control.Option;
+import workshop.cinema.reservation.domain.Show;
+
+import java.io.Serializable;
+
+/**
+ * @param sequenceNr sequence number of the last event applied to the show, changes with every change of the show
+ */
+public record GetShowResponse(Option<Show> show, long sequenceNr) implements Serializable {
+}
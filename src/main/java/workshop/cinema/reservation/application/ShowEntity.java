@@ -3,28 +3,40 @@ package workshop.cinema.reservation.application;
 import akka.actor.typed.Behavior;
 import akka.actor.typed.javadsl.ActorContext;
 import akka.actor.typed.javadsl.Behaviors;
+import akka.actor.typed.javadsl.TimerScheduler;
 import akka.cluster.sharding.typed.javadsl.EntityTypeKey;
 import akka.persistence.typed.PersistenceId;
+import akka.persistence.typed.RecoveryCompleted;
+import akka.persistence.typed.SnapshotAdapter;
 import akka.persistence.typed.javadsl.CommandHandlerWithReply;
 import akka.persistence.typed.javadsl.EventHandler;
 import akka.persistence.typed.javadsl.EventHandlerBuilder;
 import akka.persistence.typed.javadsl.EventSourcedBehaviorWithEnforcedReplies;
 import akka.persistence.typed.javadsl.ReplyEffect;
+import akka.persistence.typed.javadsl.RetentionCriteria;
+import akka.persistence.typed.javadsl.SignalHandler;
 import io.vavr.collection.List;
 import io.vavr.control.Either;
 import io.vavr.control.Option;
 import workshop.cinema.base.domain.Clock;
 import workshop.cinema.reservation.application.ShowEntityResponse.CommandProcessed;
 import workshop.cinema.reservation.application.ShowEntityResponse.CommandRejected;
+import workshop.cinema.reservation.application.ShowEntityResponse.SeatsAllocated;
+import workshop.cinema.reservation.domain.SeatHolds;
 import workshop.cinema.reservation.domain.Show;
 import workshop.cinema.reservation.domain.ShowCommand;
 import workshop.cinema.reservation.domain.ShowCommand.CreateShow;
+import workshop.cinema.reservation.domain.ShowCommand.ReserveBestAvailable;
 import workshop.cinema.reservation.domain.ShowCommandError;
 import workshop.cinema.reservation.domain.ShowCreator;
+import workshop.cinema.reservation.domain.ShowDecision.Rejected;
 import workshop.cinema.reservation.domain.ShowEvent;
+import workshop.cinema.reservation.domain.ShowEvent.SeatsHeld;
+import workshop.cinema.reservation.domain.ShowEvent.SeatsReserved;
 import workshop.cinema.reservation.domain.ShowEvent.ShowCreated;
 import workshop.cinema.reservation.domain.ShowId;
 
+import java.time.Duration;
 import java.util.Set;
 
 import static workshop.cinema.reservation.domain.ShowCommandError.SHOW_NOT_EXISTS;
@@ -34,16 +46,41 @@ public class ShowEntity extends EventSourcedBehaviorWithEnforcedReplies<ShowEnti
     public static final EntityTypeKey<ShowEntityCommand> SHOW_ENTITY_TYPE_KEY =
             EntityTypeKey.create(ShowEntityCommand.class, "Show");
     public static final String SHOW_EVENT_TAG = "ShowEvent";
+    private static final String HOLD_EXPIRY_TIMER = "hold-expiry";
+    private static final CommandProcessed COMMAND_PROCESSED = new CommandProcessed();
 
     private final ShowId showId;
     private final Clock clock;
+    private final ShowEntitySettings settings;
+    private final Set<String> tags;
     private final ActorContext<ShowEntityCommand> context;
+    private final TimerScheduler<ShowEntityCommand> timers;
 
-    private ShowEntity(PersistenceId persistenceId, ShowId showId, Clock clock, ActorContext<ShowEntityCommand> context) {
+    private ShowEntity(PersistenceId persistenceId, ShowId showId, Clock clock, ShowEntitySettings settings,
+                       ActorContext<ShowEntityCommand> context, TimerScheduler<ShowEntityCommand> timers) {
         super(persistenceId);
         this.showId = showId;
         this.clock = clock;
+        this.settings = settings;
+        this.tags = Set.of(showEventTag(showId, settings.tagSlices()));
         this.context = context;
+        this.timers = timers;
+    }
+
+    /**
+     * The slice depends on the show id and the number of slices only, so all events of a show always end up under the
+     * same tag and the same projection instance.
+     */
+    public static String showEventTag(ShowId showId, int tagSlices) {
+        return showEventTag(Math.floorMod(showId.id().hashCode(), tagSlices));
+    }
+
+    public static String showEventTag(int slice) {
+        return SHOW_EVENT_TAG + "-" + slice;
+    }
+
+    public static List<String> showEventTags(int tagSlices) {
+        return List.range(0, tagSlices).map(ShowEntity::showEventTag);
     }
 
     public static PersistenceId persistenceId(ShowId showId) {
@@ -52,11 +89,17 @@ public class ShowEntity extends EventSourcedBehaviorWithEnforcedReplies<ShowEnti
 
     public static Behavior<ShowEntityCommand> create(ShowId showId,
                                                      Clock clock) {
-        return Behaviors.setup(context -> {
+        return create(showId, clock, ShowEntitySettings.defaults());
+    }
+
+    public static Behavior<ShowEntityCommand> create(ShowId showId,
+                                                     Clock clock,
+                                                     ShowEntitySettings settings) {
+        return Behaviors.setup(context -> Behaviors.withTimers(timers -> {
             PersistenceId persistenceId = ShowEntity.persistenceId(showId);
             context.getLog().info("ShowEntity {} initialization started", showId);
-            return new ShowEntity(persistenceId, showId, clock, context);
-        });
+            return new ShowEntity(persistenceId, showId, clock, settings, context, timers);
+        }));
     }
 
     @Override
@@ -70,11 +113,13 @@ public class ShowEntity extends EventSourcedBehaviorWithEnforcedReplies<ShowEnti
 
         builder.forNullState()
                 .onCommand(ShowEntityCommand.GetShow.class, this::returnEmptyState)
-                .onCommand(ShowEntityCommand.ShowCommandEnvelope.class, this::handleShowCreation);
+                .onCommand(ShowEntityCommand.ShowCommandEnvelope.class, this::handleShowCreation)
+                .onCommand(ShowEntityCommand.ExpireSeatHolds.class, expireSeatHolds -> Effect().noReply());
 
         builder.forStateType(Show.class)
                 .onCommand(ShowEntityCommand.GetShow.class, this::returnState)
-                .onCommand(ShowEntityCommand.ShowCommandEnvelope.class, this::handleShowCommand);
+                .onCommand(ShowEntityCommand.ShowCommandEnvelope.class, this::handleShowCommand)
+                .onCommand(ShowEntityCommand.ExpireSeatHolds.class, this::expireHolds);
 
         return builder.build();
     }
@@ -82,40 +127,119 @@ public class ShowEntity extends EventSourcedBehaviorWithEnforcedReplies<ShowEnti
     private ReplyEffect<ShowEvent, Show> handleShowCreation(ShowEntityCommand.ShowCommandEnvelope envelope) {
         ShowCommand command = envelope.command();
         if (command instanceof CreateShow createShow) {
-            Either<ShowCommandError, List<ShowEvent>> processingResult = ShowCreator.create(createShow, clock).map(List::of);
-            return handleResult(envelope, processingResult);
+            Either<ShowCommandError, List<ShowEvent>> processingResult = ShowCreator.create(createShow, settings.maxSeats(), clock).map(List::of);
+            return handleResult(envelope, SeatHolds.empty(), List.empty(), processingResult);
         } else {
             context.getLog().warn("Show {} not created", command.showId());
-            return Effect().reply(envelope.replyTo(), new CommandRejected(SHOW_NOT_EXISTS));
+            return Effect().reply(envelope.replyTo(), CommandRejected.of(SHOW_NOT_EXISTS));
         }
     }
 
     private ReplyEffect<ShowEvent, Show> handleShowCommand(Show show, ShowEntityCommand.ShowCommandEnvelope envelope) {
-        Either<ShowCommandError, List<ShowEvent>> processingResult = show.process(envelope.command(), clock);
-        return handleResult(envelope, processingResult);
+        if (!show.holds().isEmpty()) {
+            return handleShowCommandWithHolds(show, envelope);
+        }
+        // hot path: no holds to release or reschedule, allocates the event and the effect only
+        ShowCommand command = envelope.command();
+        return switch (show.decide(command, clock)) {
+            case Rejected rejected -> reject(envelope, rejected.error());
+            case SeatsHeld seatsHeld -> Effect().persist(seatsHeld)
+                    .thenRun(this::scheduleHoldExpiry)
+                    .thenReply(envelope.replyTo(), updated -> COMMAND_PROCESSED);
+            case ShowEvent event -> {
+                if (command instanceof ReserveBestAvailable && event instanceof SeatsReserved seatsReserved) {
+                    yield Effect().persist(event)
+                            .thenReply(envelope.replyTo(), updated -> new SeatsAllocated(seatsReserved.seatNumbers()));
+                }
+                yield Effect().persist(event)
+                        .thenReply(envelope.replyTo(), updated -> COMMAND_PROCESSED);
+            }
+        };
+    }
+
+    private ReplyEffect<ShowEvent, Show> handleShowCommandWithHolds(Show show, ShowEntityCommand.ShowCommandEnvelope envelope) {
+        // holds that are already due but not released yet (e.g. the entity was passivated) are released first
+        List<ShowEvent> expired = show.expireHolds(clock);
+        Show current = expired.foldLeft(show, Show::apply);
+        Either<ShowCommandError, List<ShowEvent>> processingResult = current.process(envelope.command(), clock);
+        return handleResult(envelope, show.holds(), expired, processingResult);
     }
 
-    private ReplyEffect<ShowEvent, Show> handleResult(ShowEntityCommand.ShowCommandEnvelope envelope, Either<ShowCommandError, List<ShowEvent>> processingResult) {
+    private ReplyEffect<ShowEvent, Show> handleResult(ShowEntityCommand.ShowCommandEnvelope envelope, SeatHolds holds,
+                                                      List<ShowEvent> expired, Either<ShowCommandError, List<ShowEvent>> processingResult) {
         ShowCommand command = envelope.command();
         return processingResult.fold(
                 error -> {
-                    context.getLog().info("Command rejected: {} with {}", command, error);
-                    return Effect().reply(envelope.replyTo(), new CommandRejected(error));
+                    if (expired.isEmpty()) {
+                        return reject(envelope, error);
+                    }
+                    logRejection(command, error);
+                    return Effect().persist(expired.toJavaList())
+                            .thenRun(this::scheduleHoldExpiry)
+                            .thenReply(envelope.replyTo(), s -> CommandRejected.of(error));
                 },
                 events -> {
                     context.getLog().debug("Command handled: {}", command);
-                    return Effect().persist(events.toJavaList())
-                            .thenReply(envelope.replyTo(), s -> new CommandProcessed());
+                    return Effect().persist(expired.appendAll(events).toJavaList())
+                            .thenRun(updated -> rescheduleHoldExpiry(holds, updated))
+                            .thenReply(envelope.replyTo(), s -> processed(command, events));
                 }
         );
     }
 
+    private ReplyEffect<ShowEvent, Show> reject(ShowEntityCommand.ShowCommandEnvelope envelope, ShowCommandError error) {
+        logRejection(envelope.command(), error);
+        return Effect().reply(envelope.replyTo(), CommandRejected.of(error));
+    }
+
+    // rejections are routine (e.g. a seat taken a moment earlier), not worth formatting a message on every one
+    private void logRejection(ShowCommand command, ShowCommandError error) {
+        if (context.getLog().isDebugEnabled()) {
+            context.getLog().debug("Command rejected: {} with {}", command, error);
+        }
+    }
+
+    private ReplyEffect<ShowEvent, Show> expireHolds(Show show, ShowEntityCommand.ExpireSeatHolds expireSeatHolds) {
+        List<ShowEvent> expired = show.expireHolds(clock);
+        if (expired.isEmpty()) {
+            scheduleHoldExpiry(show);
+            return Effect().noReply();
+        }
+        context.getLog().debug("Releasing expired holds: {}", expired);
+        return Effect().persist(expired.toJavaList())
+                .thenRun(this::scheduleHoldExpiry)
+                .thenNoReply();
+    }
+
+    private void rescheduleHoldExpiry(SeatHolds holds, Show updated) {
+        if (updated.holds() != holds) {
+            scheduleHoldExpiry(updated);
+        }
+    }
+
+    // one timer per show, always set to the earliest hold bucket
+    private void scheduleHoldExpiry(Show show) {
+        if (show == null || show.holds().isEmpty()) {
+            timers.cancel(HOLD_EXPIRY_TIMER);
+        } else {
+            Duration delay = Duration.between(clock.now(), show.holds().nextDeadline().get());
+            timers.startSingleTimer(HOLD_EXPIRY_TIMER, new ShowEntityCommand.ExpireSeatHolds(), delay.isNegative() ? Duration.ZERO : delay);
+        }
+    }
+
+    private ShowEntityResponse processed(ShowCommand command, List<ShowEvent> events) {
+        if (command instanceof ReserveBestAvailable && events.head() instanceof SeatsReserved seatsReserved) {
+            return new SeatsAllocated(seatsReserved.seatNumbers());
+        }
+        return COMMAND_PROCESSED;
+    }
+
     private ReplyEffect<ShowEvent, Show> returnEmptyState(ShowEntityCommand.GetShow getShow) {
-        return Effect().reply(getShow.replyTo(), Option.none());
+        return Effect().reply(getShow.replyTo(), new GetShowResponse(Option.none(), 0));
     }
 
     private ReplyEffect<ShowEvent, Show> returnState(Show show, ShowEntityCommand.GetShow getShow) {
-        return Effect().reply(getShow.replyTo(), Option.of(show));
+        return Effect().reply(getShow.replyTo(), new GetShowResponse(Option.of(show), lastSequenceNumber(context)));
     }
 
     @Override
@@ -131,8 +255,29 @@ public class ShowEntity extends EventSourcedBehaviorWithEnforcedReplies<ShowEnti
         return builder.build();
     }
 
+    @Override
+    public RetentionCriteria retentionCriteria() {
+        if (settings.snapshotEvery() <= 0) {
+            return RetentionCriteria.disabled();
+        }
+        var criteria = RetentionCriteria.snapshotEvery(settings.snapshotEvery(), settings.keepSnapshots());
+        return settings.deleteEventsOnSnapshot() ? criteria.withDeleteEventsOnSnapshot() : criteria;
+    }
+
+    @Override
+    public SnapshotAdapter<Show> snapshotAdapter() {
+        return new ShowSnapshotAdapter();
+    }
+
+    @Override
+    public SignalHandler<Show> signalHandler() {
+        return newSignalHandlerBuilder()
+                .onSignal(RecoveryCompleted.instance(), this::scheduleHoldExpiry)
+                .build();
+    }
+
     @Override
     public Set<String> tagsFor(ShowEvent showEvent) {
-        return Set.of(SHOW_EVENT_TAG);
+        return tags;
     }
 }
@@ -1,8 +1,6 @@
 package workshop.cinema.reservation.application;
 
 import akka.actor.typed.ActorRef;
-import io.vavr.control.Option;
-import workshop.cinema.reservation.domain.Show;
 import workshop.cinema.reservation.domain.ShowCommand;
 
 import java.io.Serializable;
@@ -12,6 +10,10 @@ public sealed interface ShowEntityCommand extends Serializable {
     record ShowCommandEnvelope(ShowCommand command, ActorRef<ShowEntityResponse> replyTo) implements ShowEntityCommand {
     }
 
-    record GetShow(ActorRef<Option<Show>> replyTo) implements ShowEntityCommand {
+    record GetShow(ActorRef<GetShowResponse> replyTo) implements ShowEntityCommand {
+    }
+
+    // sent by the entity to itself when the earliest seat hold bucket is due
+    record ExpireSeatHolds() implements ShowEntityCommand {
     }
 }
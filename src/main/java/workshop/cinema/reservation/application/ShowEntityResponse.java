@@ -1,5 +1,6 @@
 package workshop.cinema.reservation.application;
 
+import workshop.cinema.reservation.domain.SeatNumbers;
 import workshop.cinema.reservation.domain.ShowCommandError;
 
 import java.io.Serializable;
@@ -9,6 +10,21 @@ public sealed interface ShowEntityResponse extends Serializable {
     final class CommandProcessed implements ShowEntityResponse {
     }
 
+    record SeatsAllocated(SeatNumbers seatNumbers) implements ShowEntityResponse {
+    }
+
     record CommandRejected(ShowCommandError error) implements ShowEntityResponse {
+
+        private static final CommandRejected[] REJECTIONS = new CommandRejected[ShowCommandError.values().length];
+
+        static {
+            for (ShowCommandError error : ShowCommandError.values()) {
+                REJECTIONS[error.ordinal()] = new CommandRejected(error);
+            }
+        }
+
+        public static CommandRejected of(ShowCommandError error) {
+            return REJECTIONS[error.ordinal()];
+        }
     }
 }
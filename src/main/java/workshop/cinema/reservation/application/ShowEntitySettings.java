@@ -0,0 +1,46 @@
+package workshop.cinema.reservation.application;
+
+import com.typesafe.config.Config;
+import workshop.cinema.reservation.domain.ShowCreator;
+
+/**
+ * @param snapshotEvery number of events between snapshots, 0 disables snapshots
+ * @param keepSnapshots number of snapshots kept, at least 1 when snapshots are enabled
+ * @param tagSlices     number of event tags the shows are spread across, changing it requires a tag migration
+ */
+public record ShowEntitySettings(int maxSeats, int snapshotEvery, int keepSnapshots, boolean deleteEventsOnSnapshot,
+                                 int tagSlices) {
+
+    public static final int DEFAULT_TAG_SLICES = 4;
+
+    public ShowEntitySettings {
+        if (tagSlices < 1) {
+            throw new IllegalArgumentException("tagSlices must be positive, was " + tagSlices);
+        }
+        if (snapshotEvery > 0 && keepSnapshots < 1) {
+            throw new IllegalArgumentException("keepSnapshots must be positive when snapshots are enabled, was "
+                    + keepSnapshots);
+        }
+    }
+
+    public ShowEntitySettings(int maxSeats) {
+        this(maxSeats, 0, 0, false, DEFAULT_TAG_SLICES);
+    }
+
+    public static ShowEntitySettings defaults() {
+        return new ShowEntitySettings(ShowCreator.DEFAULT_MAX_SEATS);
+    }
+
+    public static ShowEntitySettings create(Config config) {
+        Config showEntityConfig = config.getConfig("reservation.show-entity");
+        return new ShowEntitySettings(showEntityConfig.getInt("max-seats"),
+                showEntityConfig.getInt("snapshot-every"),
+                showEntityConfig.getInt("keep-snapshots"),
+                showEntityConfig.getBoolean("delete-events-on-snapshot"),
+                showEntityConfig.getInt("tag-slices"));
+    }
+
+    public ShowEntitySettings withSnapshotEvery(int snapshotEvery) {
+        return new ShowEntitySettings(maxSeats, snapshotEvery, Math.max(keepSnapshots, 1), deleteEventsOnSnapshot, tagSlices);
+    }
+}
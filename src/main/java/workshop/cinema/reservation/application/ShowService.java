@@ -6,13 +6,23 @@ import akka.cluster.sharding.typed.javadsl.EntityRef;
 import io.vavr.control.Option;
 import workshop.cinema.base.domain.Clock;
 import workshop.cinema.reservation.domain.SeatNumber;
+import workshop.cinema.reservation.domain.SeatNumbers;
+import workshop.cinema.reservation.domain.SeatPreferences;
+import workshop.cinema.reservation.domain.SeatingLayout;
 import workshop.cinema.reservation.domain.Show;
 import workshop.cinema.reservation.domain.ShowCommand;
 import workshop.cinema.reservation.domain.ShowCommand.CancelSeatReservation;
+import workshop.cinema.reservation.domain.ShowCommand.CancelSeatReservations;
+import workshop.cinema.reservation.domain.ShowCommand.ConfirmSeatHolds;
 import workshop.cinema.reservation.domain.ShowCommand.CreateShow;
+import workshop.cinema.reservation.domain.ShowCommand.HoldSeats;
+import workshop.cinema.reservation.domain.ShowCommand.RepriceTier;
+import workshop.cinema.reservation.domain.ShowCommand.ReserveBestAvailable;
 import workshop.cinema.reservation.domain.ShowCommand.ReserveSeat;
+import workshop.cinema.reservation.domain.ShowCommand.ReserveSeats;
 import workshop.cinema.reservation.domain.ShowId;
 
+import java.math.BigDecimal;
 import java.time.Duration;
 import java.util.UUID;
 import java.util.concurrent.CompletionStage;
@@ -25,10 +35,14 @@ public class ShowService {
     private Duration askTimeout = Duration.ofSeconds(5); //TODO should be configurable
 
     public ShowService(ClusterSharding sharding, Clock clock) {
+        this(sharding, clock, ShowEntitySettings.defaults());
+    }
+
+    public ShowService(ClusterSharding sharding, Clock clock, ShowEntitySettings settings) {
         this.sharding = sharding;
         sharding.init(Entity.of(SHOW_ENTITY_TYPE_KEY, entityContext -> {
             ShowId showId = new ShowId(UUID.fromString(entityContext.getEntityId()));
-            return ShowEntity.create(showId, clock);
+            return ShowEntity.create(showId, clock, settings);
         }));
     }
 
@@ -36,8 +50,19 @@ public class ShowService {
         return processCommand(new CreateShow(showId, title, maxSeats));
     }
 
+    public CompletionStage<ShowEntityResponse> createShow(ShowId showId, String title, SeatingLayout layout) {
+        return processCommand(new CreateShow(showId, title, layout));
+    }
+
     public CompletionStage<Option<Show>> findShowBy(ShowId showId) {
-        return getShowEntityRef(showId).ask(replyTo -> new ShowEntityCommand.GetShow(replyTo), askTimeout);
+        return getShow(showId).thenApply(GetShowResponse::show);
+    }
+
+    /**
+     * The show with the sequence number of its state.
+     */
+    public CompletionStage<GetShowResponse> getShow(ShowId showId) {
+        return getShowEntityRef(showId).ask(ShowEntityCommand.GetShow::new, askTimeout);
     }
 
     public CompletionStage<ShowEntityResponse> reserveSeat(ShowId showId, SeatNumber seatNumber) {
@@ -48,6 +73,30 @@ public class ShowService {
         return processCommand(new CancelSeatReservation(showId, seatNumber));
     }
 
+    public CompletionStage<ShowEntityResponse> reserveSeats(ShowId showId, SeatNumbers seatNumbers) {
+        return processCommand(new ReserveSeats(showId, seatNumbers));
+    }
+
+    public CompletionStage<ShowEntityResponse> cancelReservations(ShowId showId, SeatNumbers seatNumbers) {
+        return processCommand(new CancelSeatReservations(showId, seatNumbers));
+    }
+
+    public CompletionStage<ShowEntityResponse> holdSeats(ShowId showId, SeatNumbers seatNumbers, Duration duration) {
+        return processCommand(new HoldSeats(showId, seatNumbers, duration));
+    }
+
+    public CompletionStage<ShowEntityResponse> confirmHolds(ShowId showId, SeatNumbers seatNumbers) {
+        return processCommand(new ConfirmSeatHolds(showId, seatNumbers));
+    }
+
+    public CompletionStage<ShowEntityResponse> reserveBestAvailable(ShowId showId, int count, SeatPreferences preferences) {
+        return processCommand(new ReserveBestAvailable(showId, count, preferences));
+    }
+
+    public CompletionStage<ShowEntityResponse> repriceTier(ShowId showId, int tier, BigDecimal price) {
+        return processCommand(new RepriceTier(showId, tier, price));
+    }
+
     private CompletionStage<ShowEntityResponse> processCommand(ShowCommand showCommand) {
         return getShowEntityRef(showCommand.showId())
                 .ask(replyTo -> new ShowEntityCommand.ShowCommandEnvelope(showCommand, replyTo), askTimeout);
@@ -0,0 +1,22 @@
+package workshop.cinema.reservation.application;
+
+import akka.persistence.typed.SnapshotAdapter;
+import workshop.cinema.reservation.domain.Show;
+import workshop.cinema.reservation.domain.ShowSnapshot;
+
+class ShowSnapshotAdapter implements SnapshotAdapter<Show> {
+
+    @Override
+    public Object toJournal(Show show) {
+        return show.toSnapshot();
+    }
+
+    @Override
+    public Show fromJournal(Object snapshot) {
+        if (snapshot instanceof ShowSnapshot showSnapshot) {
+            return Show.fromSnapshot(showSnapshot);
+        } else {
+            throw new IllegalStateException("Unrecognized snapshot type: " + snapshot.getClass());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package workshop.cinema.reservation.application.projection;
+
+import workshop.cinema.reservation.domain.ShowId;
+
+/**
+ * Net change of the show availability within a group of events.
+ *
+ * @param created true when the show was created within the group, then {@code seats} is the number of available seats,
+ *                otherwise the number of seats to add (negative when seats were taken)
+ */
+public record AvailabilityChange(ShowId showId, boolean created, int seats) {
+
+    public static AvailabilityChange created(ShowId showId, int availableSeats) {
+        return new AvailabilityChange(showId, true, availableSeats);
+    }
+
+    public static AvailabilityChange delta(ShowId showId, int seats) {
+        return new AvailabilityChange(showId, false, seats);
+    }
+
+    public AvailabilityChange plus(int seats) {
+        return new AvailabilityChange(showId, created, this.seats + seats);
+    }
+
+    public boolean isEmpty() {
+        return !created && seats == 0;
+    }
+}
@@ -0,0 +1,54 @@
+package workshop.cinema.reservation.application.projection;
+
+import akka.projection.eventsourced.EventEnvelope;
+import workshop.cinema.reservation.domain.ShowEvent;
+import workshop.cinema.reservation.domain.ShowId;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Accumulates events into one change per show, in order of the first event of the show.
+ */
+final class AvailabilityChanges {
+
+    private final Map<ShowId, AvailabilityChange> changes = new LinkedHashMap<>();
+
+    static List<AvailabilityChange> fold(List<EventEnvelope<ShowEvent>> showEventEnvelopes) {
+        AvailabilityChanges changes = new AvailabilityChanges();
+        for (EventEnvelope<ShowEvent> showEventEnvelope : showEventEnvelopes) {
+            changes.add(showEventEnvelope.event());
+        }
+        return changes.toList();
+    }
+
+    void add(ShowEvent showEvent) {
+        switch (showEvent) {
+            case ShowEvent.ShowCreated showCreated -> changes.put(showCreated.showId(),
+                    AvailabilityChange.created(showCreated.showId(), showCreated.initialShow().layout().seatCount()));
+            case ShowEvent.SeatReserved seatReserved -> add(seatReserved.showId(), -1);
+            case ShowEvent.SeatReservationCancelled seatReservationCancelled -> add(seatReservationCancelled.showId(), 1);
+            case ShowEvent.SeatsReserved seatsReserved -> add(seatsReserved.showId(), -seatsReserved.seatNumbers().size());
+            case ShowEvent.SeatsReservationCancelled seatsReservationCancelled ->
+                    add(seatsReservationCancelled.showId(), seatsReservationCancelled.seatNumbers().size());
+            case ShowEvent.SeatsHeld seatsHeld -> add(seatsHeld.showId(), -seatsHeld.seatNumbers().size());
+            case ShowEvent.SeatHoldsConfirmed ignored -> {
+            }
+            case ShowEvent.SeatHoldsExpired seatHoldsExpired -> add(seatHoldsExpired.showId(), seatHoldsExpired.seatNumbers().size());
+            case ShowEvent.PriceTierChanged ignored -> {
+            }
+        }
+    }
+
+    private void add(ShowId showId, int seats) {
+        changes.compute(showId, (id, change) -> change == null ? AvailabilityChange.delta(id, seats) : change.plus(seats));
+    }
+
+    /**
+     * Without changes that cancel out.
+     */
+    List<AvailabilityChange> toList() {
+        return changes.values().stream().filter(change -> !change.isEmpty()).toList();
+    }
+}
@@ -0,0 +1,54 @@
+package workshop.cinema.reservation.application.projection;
+
+import akka.projection.HandlerRecoveryStrategy;
+import akka.projection.ProjectionId;
+import akka.projection.StatusObserver;
+import io.vavr.collection.List;
+
+/**
+ * A projection takes a single status observer, this one passes the callbacks to all of its observers.
+ */
+final class CompositeStatusObserver<Envelope> extends StatusObserver<Envelope> {
+
+    private final List<StatusObserver<Envelope>> observers;
+
+    @SafeVarargs
+    CompositeStatusObserver(StatusObserver<Envelope>... observers) {
+        this.observers = List.of(observers);
+    }
+
+    @Override
+    public void started(ProjectionId projectionId) {
+        observers.forEach(observer -> observer.started(projectionId));
+    }
+
+    @Override
+    public void failed(ProjectionId projectionId, Throwable cause) {
+        observers.forEach(observer -> observer.failed(projectionId, cause));
+    }
+
+    @Override
+    public void stopped(ProjectionId projectionId) {
+        observers.forEach(observer -> observer.stopped(projectionId));
+    }
+
+    @Override
+    public void beforeProcess(ProjectionId projectionId, Envelope envelope) {
+        observers.forEach(observer -> observer.beforeProcess(projectionId, envelope));
+    }
+
+    @Override
+    public void afterProcess(ProjectionId projectionId, Envelope envelope) {
+        observers.forEach(observer -> observer.afterProcess(projectionId, envelope));
+    }
+
+    @Override
+    public void offsetProgress(ProjectionId projectionId, Envelope envelope) {
+        observers.forEach(observer -> observer.offsetProgress(projectionId, envelope));
+    }
+
+    @Override
+    public void error(ProjectionId projectionId, Envelope envelope, Throwable cause, HandlerRecoveryStrategy recoveryStrategy) {
+        observers.forEach(observer -> observer.error(projectionId, envelope, cause, recoveryStrategy));
+    }
+}
@@ -0,0 +1,13 @@
+package workshop.cinema.reservation.application.projection;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Read model that can be written within the projection transaction, so the changes and the offset are stored together.
+ */
+public interface JdbcShowViewWriter {
+
+    void applyAvailabilityChanges(Connection connection, List<AvailabilityChange> changes) throws SQLException;
+}
@@ -0,0 +1,19 @@
+package workshop.cinema.reservation.application.projection;
+
+import akka.Done;
+import akka.persistence.query.Offset;
+import io.vavr.control.Option;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Read model that keeps the offsets of the events applied to it, so the projections continue from the state of the
+ * read model instead of the offset store.
+ */
+public interface OffsetTrackingShowViewRepository extends ShowViewRepository {
+
+    CompletionStage<Done> applyAvailabilityChanges(String projectionKey, Offset offset, List<AvailabilityChange> changes);
+
+    Option<Offset> offset(String projectionKey);
+}
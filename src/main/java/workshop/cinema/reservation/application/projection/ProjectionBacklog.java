@@ -0,0 +1,53 @@
+package workshop.cinema.reservation.application.projection;
+
+import akka.actor.typed.ActorSystem;
+import akka.persistence.query.Offset;
+import akka.persistence.query.javadsl.CurrentEventsByTagQuery;
+import akka.projection.ProjectionId;
+import akka.projection.javadsl.ProjectionManagement;
+import akka.stream.javadsl.Sink;
+import io.vavr.control.Option;
+import workshop.cinema.base.domain.Clock;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Age of the oldest event a projection has not stored the offset of, read from the journal: the first event of the tag
+ * (the key of the projection) after the stored offset. Tells an idle projection from one stuck reading the journal,
+ * which the {@link ProjectionMetrics} cannot see.
+ */
+public class ProjectionBacklog {
+
+    private final ActorSystem<?> system;
+    private final CurrentEventsByTagQuery readJournal;
+    private final Clock clock;
+
+    public ProjectionBacklog(ActorSystem<?> system, CurrentEventsByTagQuery readJournal, Clock clock) {
+        this.system = system;
+        this.readJournal = readJournal;
+        this.clock = clock;
+    }
+
+    /**
+     * @param storedOffset last offset stored by the projection, asked from the running projection when unknown
+     * @return zero when there is no event after the stored offset
+     */
+    public CompletionStage<Duration> oldestUnprocessedEventAge(ProjectionId projectionId, Option<Offset> storedOffset) {
+        CompletionStage<Offset> after = storedOffset.isDefined()
+                ? CompletableFuture.completedFuture(storedOffset.get())
+                : ProjectionManagement.get(system).<Offset>getOffset(projectionId)
+                .thenApply(offset -> offset.orElse(Offset.noOffset()));
+        return after.thenCompose(offset -> oldestEventAge(projectionId.key(), offset));
+    }
+
+    private CompletionStage<Duration> oldestEventAge(String tag, Offset after) {
+        return readJournal.currentEventsByTag(tag, after)
+                .take(1)
+                .runWith(Sink.headOption(), system)
+                .thenApply(oldest -> oldest
+                        .map(envelope -> Duration.ofMillis(Math.max(0, clock.now().toEpochMilli() - envelope.timestamp())))
+                        .orElse(Duration.ZERO));
+    }
+}
@@ -6,13 +6,19 @@ import akka.actor.typed.ActorRef;
 import akka.actor.typed.ActorSystem;
 import akka.actor.typed.Props;
 import akka.actor.typed.SpawnProtocol;
+import akka.actor.typed.javadsl.Adapter;
 import akka.actor.typed.javadsl.AskPattern;
+import akka.cluster.sharding.typed.ShardedDaemonProcessSettings;
+import akka.cluster.sharding.typed.javadsl.ShardedDaemonProcess;
 import akka.cluster.typed.ClusterSingleton;
 import akka.cluster.typed.SingletonActor;
+import akka.pattern.Patterns;
+import akka.persistence.query.Offset;
 import akka.projection.Projection;
 import akka.projection.ProjectionBehavior;
 import akka.projection.ProjectionId;
 import akka.projection.eventsourced.EventEnvelope;
+import akka.projection.javadsl.ProjectionManagement;
 import io.vavr.Tuple2;
 import io.vavr.collection.List;
 import org.slf4j.Logger;
@@ -20,9 +26,13 @@ import org.slf4j.LoggerFactory;
 import workshop.cinema.reservation.domain.ShowEvent;
 
 import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
-import java.util.concurrent.ExecutionException;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
 
 public class ProjectionLauncher {
 
@@ -32,10 +42,19 @@ public class ProjectionLauncher {
     private final Duration timeout = Duration.ofSeconds(3);
     private List<Projection<EventEnvelope<ShowEvent>>> singletonProjections = List.empty();
     private List<Projection<EventEnvelope<ShowEvent>>> localProjections = List.empty();
-    private List<Tuple2<ProjectionId, ActorRef<ProjectionBehavior.Command>>> localProjectionRefs = List.empty();
+    private List<ShardedProjection> shardedProjections = List.empty();
+    private volatile List<Tuple2<ProjectionId, ActorRef<ProjectionBehavior.Command>>> localProjectionRefs = List.empty();
+    private volatile List<ProjectionId> projectionIds = List.empty();
+    private final CompletableFuture<Done> launched = new CompletableFuture<>();
+    private final ProjectionLauncherSettings settings;
 
     public ProjectionLauncher(ActorSystem<SpawnProtocol.Command> system) {
+        this(system, ProjectionLauncherSettings.create(system.settings().config()));
+    }
+
+    public ProjectionLauncher(ActorSystem<SpawnProtocol.Command> system, ProjectionLauncherSettings settings) {
         this.system = system;
+        this.settings = settings;
     }
 
     public ProjectionLauncher withSingletonProjections(Projection<EventEnvelope<ShowEvent>>... singletonProjections) {
@@ -48,36 +67,75 @@ public class ProjectionLauncher {
         return this;
     }
 
+    /**
+     * Runs {@code instances} projections spread over the cluster nodes, rebalanced when nodes join or leave.
+     * The factory gets the instance number, which must always map to the same projection id.
+     */
+    public ProjectionLauncher withShardedProjections(String name, int instances,
+                                                     IntFunction<Projection<EventEnvelope<ShowEvent>>> projectionFactory) {
+        this.shardedProjections = shardedProjections.append(new ShardedProjection(name, instances, projectionFactory));
+        return this;
+    }
+
+    /**
+     * Starts the projections without waiting for them, see {@link #launched()}.
+     */
     public void runProjections() {
+        // sharded projections are only created to read their id, once
+        projectionIds = singletonProjections.map(Projection::projectionId)
+                .appendAll(shardedProjections.flatMap(sharded -> List.range(0, sharded.instances())
+                        .map(instance -> sharded.projectionFactory().apply(instance).projectionId())))
+                .appendAll(localProjections.map(Projection::projectionId));
         runSingletonProjections();
+        runShardedProjections();
         runLocalProjections();
         CoordinatedShutdown.get(system).addTask(CoordinatedShutdown.PhaseBeforeActorSystemTerminate(),
                 "shutdown projections", () -> {
                     log.info("projection shutting down started");
-                    shutdownProjections();
-                    log.info("projection shutting down finished");
-                    return CompletableFuture.completedFuture(Done.getInstance());
+                    return shutdownProjections().thenApply(done -> {
+                        log.info("projection shutting down finished");
+                        return done;
+                    });
                 });
     }
 
+    /**
+     * Completed when all local projections are spawned, and singleton and sharded projections are initialized (they
+     * are then started by the cluster).
+     */
+    public CompletionStage<Done> launched() {
+        return launched;
+    }
+
+    /**
+     * Ids of all projections, including the ones that run on other cluster nodes, collected when launched.
+     */
+    public List<ProjectionId> projectionIds() {
+        return projectionIds;
+    }
+
     private void runLocalProjections() {
-        localProjectionRefs = localProjections.map(projection -> {
+        List<CompletableFuture<Tuple2<ProjectionId, ActorRef<ProjectionBehavior.Command>>>> spawned = localProjections.map(projection -> {
             ProjectionId projectionId = projection.projectionId();
             log.info("Starting local projection {}", projectionId);
             CompletionStage<ActorRef<ProjectionBehavior.Command>> result = AskPattern.ask(system,
                     r -> new SpawnProtocol.Spawn<>(ProjectionBehavior.create(projection),
                             projectionId.id(), Props.empty(), r), timeout, system.scheduler());
-
-            try {
-                return result.thenApply(ref -> {
-                    log.debug("Projection: {} launched", projectionId);
-                    return new Tuple2<>(projectionId, ref);
-                }).toCompletableFuture().get();
-            } catch (ExecutionException e) {
-                throw new IllegalStateException("Error while creating projection " + projectionId, e);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new IllegalStateException("Error while creating projection " + projectionId, e);
+            return result.handle((ref, failure) -> {
+                if (failure != null) {
+                    throw new IllegalStateException("Error while creating projection " + projectionId, failure);
+                }
+                log.debug("Projection: {} launched", projectionId);
+                return new Tuple2<>(projectionId, ref);
+            }).toCompletableFuture();
+        });
+        CompletableFuture.allOf(spawned.toJavaStream().toArray(CompletableFuture<?>[]::new)).whenComplete((ignored, failure) -> {
+            if (failure != null) {
+                log.error("Local projections not launched", failure);
+                launched.completeExceptionally(failure);
+            } else {
+                localProjectionRefs = spawned.map(CompletableFuture::join);
+                launched.complete(Done.getInstance());
             }
         });
     }
@@ -90,11 +148,63 @@ public class ProjectionLauncher {
         });
     }
 
-    public void shutdownProjections() {
-        log.info("Shutting down {} local projections", localProjections.size());
-        localProjectionRefs.forEach(tuple -> {
-            log.info("Shutting down projection {}", tuple._1);
-            tuple._2.tell(ProjectionBehavior.stopMessage());
+    private void runShardedProjections() {
+        shardedProjections.forEach(sharded -> {
+            log.info("Starting {} sharded projections {}", sharded.instances(), sharded.name());
+            ShardedDaemonProcess.get(system).init(ProjectionBehavior.Command.class, sharded.name(), sharded.instances(),
+                    instance -> ProjectionBehavior.create(sharded.projectionFactory().apply(instance)),
+                    ShardedDaemonProcessSettings.create(system),
+                    Optional.of(ProjectionBehavior.stopMessage()));
         });
     }
+
+    /**
+     * Pauses the projections, runs the rebuild and moves every projection to the offset the rebuild returns for it
+     * before resuming them, also when the rebuild fails.
+     */
+    public CompletionStage<Done> rebuild(List<ProjectionId> projectionIds,
+                                         Supplier<CompletionStage<Map<ProjectionId, Offset>>> rebuild) {
+        ProjectionManagement management = ProjectionManagement.get(system);
+        log.info("Pausing projections {} for rebuild", projectionIds);
+        return allOf(projectionIds.map(management::pause))
+                .thenCompose(paused -> rebuild.get())
+                .thenCompose(offsets -> allOf(List.ofAll(offsets.entrySet())
+                        .map(offset -> management.updateOffset(offset.getKey(), offset.getValue()))))
+                .handle((done, failure) -> allOf(projectionIds.map(management::resume)).thenApply(resumed -> {
+                    log.info("Resumed projections {} after rebuild", projectionIds);
+                    if (failure != null) {
+                        throw new CompletionException(failure);
+                    }
+                    return Done.getInstance();
+                }))
+                .thenCompose(resumed -> resumed);
+    }
+
+    private static CompletionStage<Done> allOf(List<CompletionStage<Done>> stages) {
+        return CompletableFuture.allOf(stages.map(CompletionStage::toCompletableFuture).toJavaStream()
+                        .toArray(CompletableFuture<?>[]::new))
+                .thenApply(ignored -> Done.getInstance());
+    }
+
+    /**
+     * Stops the local projections in parallel, waiting at most the stop timeout for each to finish (and store its
+     * offset). Singleton and sharded projections are stopped by the cluster.
+     */
+    public CompletionStage<Done> shutdownProjections() {
+        log.info("Shutting down {} local projections", localProjectionRefs.size());
+        return allOf(localProjectionRefs.map(tuple -> {
+            log.info("Shutting down projection {}", tuple._1);
+            return Patterns.gracefulStop(Adapter.toClassic(tuple._2), settings.stopTimeout(), ProjectionBehavior.stopMessage())
+                    .handle((stopped, failure) -> {
+                        if (failure != null) {
+                            log.warn("Projection {} not stopped within {}", tuple._1, settings.stopTimeout());
+                        }
+                        return Done.getInstance();
+                    });
+        }));
+    }
+
+    private record ShardedProjection(String name, int instances,
+                                     IntFunction<Projection<EventEnvelope<ShowEvent>>> projectionFactory) {
+    }
 }
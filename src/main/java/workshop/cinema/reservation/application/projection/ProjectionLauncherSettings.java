@@ -0,0 +1,18 @@
+package workshop.cinema.reservation.application.projection;
+
+import com.typesafe.config.Config;
+
+import java.time.Duration;
+
+/**
+ * @param readyMaxLag maximum lag of a projection (and idle time after its start) to be considered caught up
+ * @param stopTimeout maximum time to wait for a local projection to stop on shutdown
+ */
+public record ProjectionLauncherSettings(Duration readyMaxLag, Duration stopTimeout) {
+
+    public static ProjectionLauncherSettings create(Config config) {
+        Config projectionsConfig = config.getConfig("reservation.projections");
+        return new ProjectionLauncherSettings(projectionsConfig.getDuration("ready-max-lag"),
+                projectionsConfig.getDuration("stop-timeout"));
+    }
+}
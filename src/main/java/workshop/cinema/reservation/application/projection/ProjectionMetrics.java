@@ -0,0 +1,167 @@
+package workshop.cinema.reservation.application.projection;
+
+import akka.persistence.query.Offset;
+import akka.projection.HandlerRecoveryStrategy;
+import akka.projection.ProjectionId;
+import akka.projection.StatusObserver;
+import akka.projection.eventsourced.EventEnvelope;
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import io.vavr.control.Option;
+import workshop.cinema.reservation.domain.ShowEvent;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer meters of the projections, tagged with the projection name and key:
+ * <ul>
+ * <li>{@code projection.events} processed events (rate = events/s)</li>
+ * <li>{@code projection.handler} time from handing an event to the handler until it is processed, with a histogram</li>
+ * <li>{@code projection.offset-save} time from processing the last event of a batch until its offset is stored</li>
+ * <li>{@code projection.lag.time} age ({@code EventEnvelope.timestamp}) of the oldest event handed to the handler with
+ * its offset not stored yet, computed when read, so it grows while the handler retries or the offset cannot be stored.
+ * Without such an event it is the age of the event of the last stored offset when stored.</li>
+ * <li>{@code projection.in-flight.events} events handed to the handler with their offset not stored yet. This is not the
+ * distance to the journal head, events not read from the journal yet are not counted.</li>
+ * <li>{@code projection.restarts} projection failures, each followed by a restart with backoff</li>
+ * <li>{@code projection.errors} handler errors, tagged with the recovery strategy applied (retries included)</li>
+ * </ul>
+ * Observers are created once per projection id, so a projection restarted (or moved back to this node) reports to the
+ * same meters. They also track whether the projection is running here and caught up, see {@link #status}.
+ */
+public class ProjectionMetrics {
+
+    private final MeterRegistry registry;
+    private final Map<ProjectionId, Observer> observers = new ConcurrentHashMap<>();
+
+    public ProjectionMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public StatusObserver<EventEnvelope<ShowEvent>> observer(ProjectionId projectionId) {
+        return observers.computeIfAbsent(projectionId, Observer::new);
+    }
+
+    /**
+     * Caught up when the projection stored an offset since it started and the lag is at most {@code maxLag}. A
+     * projection without progress since the start is not caught up, it may be idle or stuck reading the journal, which
+     * only the journal can tell. The stored offset is the last one seen on this node, also before a restart.
+     */
+    public ProjectionStatus status(ProjectionId projectionId, Duration maxLag) {
+        Observer observer = observers.get(projectionId);
+        if (observer == null || !observer.running) {
+            return new ProjectionStatus(false, false, Duration.ZERO, observer == null ? Option.none() : observer.storedOffset);
+        }
+        Duration lag = Duration.ofMillis(observer.lagMillis());
+        boolean caughtUp = observer.progressed && lag.compareTo(maxLag) <= 0;
+        return new ProjectionStatus(true, caughtUp, lag, observer.storedOffset);
+    }
+
+    public record ProjectionStatus(boolean running, boolean caughtUp, Duration lag, Option<Offset> storedOffset) {
+    }
+
+    private record InFlight(Offset offset, long timestamp) {
+    }
+
+    private final class Observer extends StatusObserver<EventEnvelope<ShowEvent>> {
+
+        private final Clock clock = registry.config().clock();
+        private final Tags tags;
+        private final Counter events;
+        private final Timer handler;
+        private final Timer offsetSave;
+        private final Counter restarts;
+        // in handover order, until their offset is stored
+        private final Queue<InFlight> inFlight = new ConcurrentLinkedQueue<>();
+        private final Map<Offset, Long> handedOverAt = new ConcurrentHashMap<>();
+        private volatile long storedLagMillis;
+        private volatile long processedAt;
+        private volatile Option<Offset> storedOffset = Option.none();
+        private volatile boolean running;
+        private volatile boolean progressed;
+
+        private Observer(ProjectionId projectionId) {
+            tags = Tags.of("projection", projectionId.name(), "key", projectionId.key());
+            events = registry.counter("projection.events", tags);
+            handler = Timer.builder("projection.handler").tags(tags).publishPercentileHistogram().register(registry);
+            offsetSave = Timer.builder("projection.offset-save").tags(tags).publishPercentileHistogram().register(registry);
+            restarts = registry.counter("projection.restarts", tags);
+            TimeGauge.builder("projection.lag.time", this, TimeUnit.MILLISECONDS, Observer::lagMillis)
+                    .tags(tags).register(registry);
+            Gauge.builder("projection.in-flight.events", inFlight, Queue::size).tags(tags).register(registry);
+        }
+
+        private long lagMillis() {
+            InFlight oldest = inFlight.peek();
+            return oldest == null ? storedLagMillis : Math.max(0, clock.wallTime() - oldest.timestamp());
+        }
+
+        @Override
+        public void started(ProjectionId projectionId) {
+            handedOverAt.clear();
+            inFlight.clear();
+            progressed = false;
+            running = true;
+        }
+
+        @Override
+        public void failed(ProjectionId projectionId, Throwable cause) {
+            running = false;
+            restarts.increment();
+        }
+
+        @Override
+        public void stopped(ProjectionId projectionId) {
+            running = false;
+        }
+
+        @Override
+        public void beforeProcess(ProjectionId projectionId, EventEnvelope<ShowEvent> envelope) {
+            handedOverAt.put(envelope.offset(), clock.monotonicTime());
+            inFlight.add(new InFlight(envelope.offset(), envelope.timestamp()));
+        }
+
+        @Override
+        public void afterProcess(ProjectionId projectionId, EventEnvelope<ShowEvent> envelope) {
+            long now = clock.monotonicTime();
+            Long start = handedOverAt.remove(envelope.offset());
+            if (start != null) {
+                handler.record(now - start, TimeUnit.NANOSECONDS);
+            }
+            events.increment();
+            processedAt = now;
+        }
+
+        /**
+         * Called with the last envelope of the stored batch, all the envelopes handed over before are stored too.
+         */
+        @Override
+        public void offsetProgress(ProjectionId projectionId, EventEnvelope<ShowEvent> envelope) {
+            offsetSave.record(clock.monotonicTime() - processedAt, TimeUnit.NANOSECONDS);
+            storedLagMillis = Math.max(0, clock.wallTime() - envelope.timestamp());
+            InFlight stored;
+            do {
+                stored = inFlight.poll();
+            } while (stored != null && !stored.offset().equals(envelope.offset()));
+            storedOffset = Option.some(envelope.offset());
+            progressed = true;
+        }
+
+        @Override
+        public void error(ProjectionId projectionId, EventEnvelope<ShowEvent> envelope, Throwable cause,
+                          HandlerRecoveryStrategy recoveryStrategy) {
+            registry.counter("projection.errors", tags.and("recovery", recoveryStrategy.getClass().getSimpleName()))
+                    .increment();
+        }
+    }
+}
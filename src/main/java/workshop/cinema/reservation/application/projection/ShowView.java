@@ -1,4 +1,6 @@
 package workshop.cinema.reservation.application.projection;
 
-public record ShowView(String showId, int availableSeats) {
+import workshop.cinema.reservation.domain.ShowId;
+
+public record ShowView(ShowId showId, int availableSeats) {
 }
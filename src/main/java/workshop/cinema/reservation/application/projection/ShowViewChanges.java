@@ -0,0 +1,87 @@
+package workshop.cinema.reservation.application.projection;
+
+import akka.actor.typed.ActorRef;
+import akka.actor.typed.ActorSystem;
+import akka.actor.typed.Props;
+import akka.actor.typed.javadsl.Behaviors;
+import akka.actor.typed.pubsub.Topic;
+import io.vavr.collection.List;
+import io.vavr.control.Option;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import workshop.cinema.reservation.domain.ShowId;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Publishes the shows written by the local projections to the subscribers of every node, which may not run the
+ * projection of the show (nor hold it in a node local view). Changes are conflated per window: the shows changed within
+ * the window are read from the local view once and published as one {@link ShowViewsChanged}.
+ */
+public class ShowViewChanges implements ShowViewListener {
+
+    // about 20 bytes per show, well below the maximum remote message size
+    private static final int MAX_MESSAGE_SHOWS = 1000;
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+    private final ActorSystem<?> system;
+    private final ShowViewRepository showViewRepository;
+    private final ActorRef<Topic.Command<ShowViewsChanged>> topic;
+    private final Set<ShowId> changed = ConcurrentHashMap.newKeySet();
+
+    public ShowViewChanges(ActorSystem<?> system, ShowViewRepository showViewRepository, Duration window) {
+        this.system = system;
+        this.showViewRepository = showViewRepository;
+        this.topic = system.systemActorOf(Topic.create(ShowViewsChanged.class, "show-view-changes"), "show-view-changes",
+                Props.empty());
+        system.scheduler().scheduleWithFixedDelay(window, window, this::publish, system.executionContext());
+    }
+
+    @Override
+    public void showViewChanged(ShowId showId) {
+        changed.add(showId);
+    }
+
+    /**
+     * The subscriber gets the changes published by every node, called from an actor, so it must not block.
+     */
+    public void subscribe(String name, Consumer<List<ShowView>> subscriber) {
+        ActorRef<ShowViewsChanged> subscriberRef = system.systemActorOf(Behaviors.receiveMessage(showViewsChanged -> {
+            subscriber.accept(showViewsChanged.showViews());
+            return Behaviors.same();
+        }), name, Props.empty());
+        topic.tell(Topic.subscribe(subscriberRef));
+    }
+
+    private void publish() {
+        List<ShowId> showIds = takeChanged();
+        if (showIds.isEmpty()) {
+            return;
+        }
+        List<CompletableFuture<Option<ShowView>>> reads = showIds.map(showId ->
+                showViewRepository.findBy(showId).toCompletableFuture());
+        CompletableFuture.allOf(reads.toJavaStream().toArray(CompletableFuture<?>[]::new)).whenComplete((ignored, failure) -> {
+            if (failure != null) {
+                log.error("Show view changes not published, retrying in the next window", failure);
+                changed.addAll(showIds.asJava());
+                return;
+            }
+            List<ShowView> showViews = reads.flatMap(CompletableFuture::join);
+            log.debug("Publishing {} show view changes", showViews.size());
+            showViews.grouped(MAX_MESSAGE_SHOWS).forEach(batch -> topic.tell(Topic.publish(new ShowViewsChanged(batch))));
+        });
+    }
+
+    private List<ShowId> takeChanged() {
+        List<ShowId> showIds = List.empty();
+        for (var iterator = changed.iterator(); iterator.hasNext(); ) {
+            showIds = showIds.prepend(iterator.next());
+            iterator.remove();
+        }
+        return showIds;
+    }
+}
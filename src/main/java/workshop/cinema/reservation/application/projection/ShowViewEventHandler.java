@@ -7,6 +7,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import workshop.cinema.reservation.domain.ShowEvent;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 
 public class ShowViewEventHandler extends Handler<EventEnvelope<ShowEvent>> {
@@ -23,10 +24,20 @@ public class ShowViewEventHandler extends Handler<EventEnvelope<ShowEvent>> {
         log.info("Processing: {}", showEventEventEnvelope.event());
         return switch (showEventEventEnvelope.event()) {
             case ShowEvent.ShowCreated showCreated ->
-                    showViewRepository.save(showCreated.showId(), showCreated.initialShow().seats().size());
+                    showViewRepository.save(showCreated.showId(), showCreated.initialShow().layout().seatCount());
             case ShowEvent.SeatReserved seatReserved -> showViewRepository.decrementAvailability(seatReserved.showId());
             case ShowEvent.SeatReservationCancelled seatReservationCancelled ->
                     showViewRepository.incrementAvailability(seatReservationCancelled.showId());
+            case ShowEvent.SeatsReserved seatsReserved ->
+                    showViewRepository.decrementAvailability(seatsReserved.showId(), seatsReserved.seatNumbers().size());
+            case ShowEvent.SeatsReservationCancelled seatsReservationCancelled ->
+                    showViewRepository.incrementAvailability(seatsReservationCancelled.showId(), seatsReservationCancelled.seatNumbers().size());
+            case ShowEvent.SeatsHeld seatsHeld ->
+                    showViewRepository.decrementAvailability(seatsHeld.showId(), seatsHeld.seatNumbers().size());
+            case ShowEvent.SeatHoldsConfirmed ignored -> CompletableFuture.completedFuture(Done.done());
+            case ShowEvent.SeatHoldsExpired seatHoldsExpired ->
+                    showViewRepository.incrementAvailability(seatHoldsExpired.showId(), seatHoldsExpired.seatNumbers().size());
+            case ShowEvent.PriceTierChanged ignored -> CompletableFuture.completedFuture(Done.done());
         };
     }
 }
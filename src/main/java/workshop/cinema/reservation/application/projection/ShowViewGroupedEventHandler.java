@@ -0,0 +1,35 @@
+package workshop.cinema.reservation.application.projection;
+
+import akka.Done;
+import akka.projection.eventsourced.EventEnvelope;
+import akka.projection.javadsl.Handler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import workshop.cinema.reservation.domain.ShowEvent;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Folds a group of events into one availability change per show and applies them with a single repository write.
+ */
+public class ShowViewGroupedEventHandler extends Handler<List<EventEnvelope<ShowEvent>>> {
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+    private final ShowViewRepository showViewRepository;
+
+    public ShowViewGroupedEventHandler(ShowViewRepository showViewRepository) {
+        this.showViewRepository = showViewRepository;
+    }
+
+    @Override
+    public CompletionStage<Done> process(List<EventEnvelope<ShowEvent>> showEventEnvelopes) {
+        List<AvailabilityChange> changes = AvailabilityChanges.fold(showEventEnvelopes);
+        log.debug("Processing {} events as {} availability changes", showEventEnvelopes.size(), changes.size());
+        if (changes.isEmpty()) {
+            return CompletableFuture.completedFuture(Done.done());
+        }
+        return showViewRepository.applyAvailabilityChanges(changes);
+    }
+}
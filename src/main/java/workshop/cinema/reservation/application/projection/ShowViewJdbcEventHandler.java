@@ -0,0 +1,36 @@
+package workshop.cinema.reservation.application.projection;
+
+import akka.Done;
+import akka.projection.eventsourced.EventEnvelope;
+import akka.projection.jdbc.javadsl.JdbcHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import workshop.cinema.reservation.domain.ShowEvent;
+
+import java.util.List;
+
+/**
+ * Like {@link ShowViewGroupedEventHandler}, but writes with the projection session, which commits the offset in the
+ * same transaction.
+ */
+public class ShowViewJdbcEventHandler extends JdbcHandler<List<EventEnvelope<ShowEvent>>, DataSourceJdbcSession> {
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+    private final JdbcShowViewWriter showViewWriter;
+
+    public ShowViewJdbcEventHandler(JdbcShowViewWriter showViewWriter) {
+        this.showViewWriter = showViewWriter;
+    }
+
+    @Override
+    public void process(DataSourceJdbcSession session, List<EventEnvelope<ShowEvent>> showEventEnvelopes) throws Exception {
+        List<AvailabilityChange> changes = AvailabilityChanges.fold(showEventEnvelopes);
+        log.debug("Processing {} events as {} availability changes", showEventEnvelopes.size(), changes.size());
+        if (!changes.isEmpty()) {
+            session.withConnection(connection -> {
+                showViewWriter.applyAvailabilityChanges(connection, changes);
+                return Done.done();
+            });
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package workshop.cinema.reservation.application.projection;
+
+import workshop.cinema.reservation.domain.ShowId;
+
+/**
+ * Told about every show whose view was written by a projection, after the write (and the transaction of an
+ * exactly-once projection) completed. Called from the projection stream, so it must not block.
+ */
+public interface ShowViewListener {
+
+    ShowViewListener NONE = showId -> {
+    };
+
+    void showViewChanged(ShowId showId);
+}
@@ -0,0 +1,35 @@
+package workshop.cinema.reservation.application.projection;
+
+import akka.Done;
+import akka.projection.eventsourced.EventEnvelope;
+import akka.projection.javadsl.Handler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import workshop.cinema.reservation.domain.ShowEvent;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Like {@link ShowViewGroupedEventHandler}, but hands the offset of the group to the repository with the changes.
+ */
+public class ShowViewOffsetTrackingEventHandler extends Handler<List<EventEnvelope<ShowEvent>>> {
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+    private final OffsetTrackingShowViewRepository showViewRepository;
+    private final String projectionKey;
+
+    public ShowViewOffsetTrackingEventHandler(OffsetTrackingShowViewRepository showViewRepository, String projectionKey) {
+        this.showViewRepository = showViewRepository;
+        this.projectionKey = projectionKey;
+    }
+
+    @Override
+    public CompletionStage<Done> process(List<EventEnvelope<ShowEvent>> showEventEnvelopes) {
+        List<AvailabilityChange> changes = AvailabilityChanges.fold(showEventEnvelopes);
+        log.debug("Processing {} events as {} availability changes", showEventEnvelopes.size(), changes.size());
+        // also without changes, so the offset moves on
+        return showViewRepository.applyAvailabilityChanges(projectionKey,
+                showEventEnvelopes.get(showEventEnvelopes.size() - 1).offset(), changes);
+    }
+}
@@ -0,0 +1,66 @@
+package workshop.cinema.reservation.application.projection;
+
+import akka.Done;
+import akka.projection.eventsourced.EventEnvelope;
+import akka.projection.javadsl.Handler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import workshop.cinema.reservation.domain.ShowEvent;
+import workshop.cinema.reservation.domain.ShowId;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Folds a group of events into one availability change per show and splits the changes into lanes by show id, written
+ * concurrently (each lane with its own repository write, e.g. its own connection). All events of a show end up in the
+ * same lane, and the group, so its offset, completes only when every lane is written. Lanes run concurrently within a
+ * group only, groups are still processed one after another, so the concurrency is bounded by the size of a group
+ * ({@code group-after-envelopes}) as well.
+ */
+public class ShowViewPartitionedEventHandler extends Handler<List<EventEnvelope<ShowEvent>>> {
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+    private final ShowViewRepository showViewRepository;
+    private final int lanes;
+
+    public ShowViewPartitionedEventHandler(ShowViewRepository showViewRepository, int lanes) {
+        if (lanes < 1) {
+            throw new IllegalArgumentException("At least one lane required, got " + lanes);
+        }
+        this.showViewRepository = showViewRepository;
+        this.lanes = lanes;
+    }
+
+    static int lane(ShowId showId, int lanes) {
+        return Math.floorMod(showId.id().hashCode(), lanes);
+    }
+
+    @Override
+    public CompletionStage<Done> process(List<EventEnvelope<ShowEvent>> showEventEnvelopes) {
+        List<AvailabilityChange> changes = AvailabilityChanges.fold(showEventEnvelopes);
+        List<List<AvailabilityChange>> partitions = partition(changes);
+        log.debug("Processing {} events as {} availability changes in {} lanes", showEventEnvelopes.size(), changes.size(),
+                partitions.size());
+        CompletableFuture<?>[] writes = partitions.stream()
+                .map(partition -> showViewRepository.applyAvailabilityChanges(partition).toCompletableFuture())
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(writes).thenApply(ignored -> Done.done());
+    }
+
+    /**
+     * Non-empty lanes only, changes keep their order within a lane.
+     */
+    List<List<AvailabilityChange>> partition(List<AvailabilityChange> changes) {
+        List<List<AvailabilityChange>> partitions = new ArrayList<>(lanes);
+        for (int lane = 0; lane < lanes; lane++) {
+            partitions.add(new ArrayList<>());
+        }
+        for (AvailabilityChange change : changes) {
+            partitions.get(lane(change.showId(), lanes)).add(change);
+        }
+        return partitions.stream().filter(partition -> !partition.isEmpty()).toList();
+    }
+}
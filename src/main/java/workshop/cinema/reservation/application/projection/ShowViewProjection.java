@@ -2,44 +2,153 @@ package workshop.cinema.reservation.application.projection;
 
 import akka.actor.typed.ActorSystem;
 import akka.persistence.query.Offset;
+import akka.projection.HandlerRecoveryStrategy;
 import akka.projection.Projection;
 import akka.projection.ProjectionId;
+import akka.projection.StatusObserver;
 import akka.projection.eventsourced.EventEnvelope;
+import akka.projection.javadsl.GroupedProjection;
 import akka.projection.javadsl.SourceProvider;
 import akka.projection.jdbc.javadsl.JdbcProjection;
 import workshop.cinema.reservation.domain.ShowEvent;
 
 import javax.sql.DataSource;
-import java.time.Duration;
 
 import static akka.projection.HandlerRecoveryStrategy.retryAndFail;
 import static java.time.Duration.ofSeconds;
 
 public class ShowViewProjection {
 
-    public static final ProjectionId PROJECTION_ID = ProjectionId.of("show-events", "show-view");
+    public static final String PROJECTION_NAME = "show-view";
 
     private final ActorSystem<?> actorSystem;
     private final DataSource dataSource;
-    private final ShowViewEventHandler showViewEventHandler;
-    private final int saveOffsetAfterEnvelopes = 100;
-    private final Duration saveOffsetAfterDuration = Duration.ofMillis(500);
+    private final ShowViewRepository showViewRepository;
+    private final ShowViewProjectionSettings settings;
+    private final ProjectionMetrics projectionMetrics;
+    private final ShowViewListener showViewListener;
 
-    public ShowViewProjection(ActorSystem<?> actorSystem, DataSource dataSource, ShowViewEventHandler showViewEventHandler) {
+    public ShowViewProjection(ActorSystem<?> actorSystem, DataSource dataSource, ShowViewRepository showViewRepository,
+                              ShowViewProjectionSettings settings, ProjectionMetrics projectionMetrics) {
+        this(actorSystem, dataSource, showViewRepository, settings, projectionMetrics, ShowViewListener.NONE);
+    }
+
+    public ShowViewProjection(ActorSystem<?> actorSystem, DataSource dataSource, ShowViewRepository showViewRepository,
+                              ShowViewProjectionSettings settings, ProjectionMetrics projectionMetrics,
+                              ShowViewListener showViewListener) {
+        if (settings.lanes() > 1 && showViewRepository instanceof JdbcShowViewWriter) {
+            throw new IllegalArgumentException("Lanes (reservation.show-view-projection.lanes = " + settings.lanes()
+                    + ") write outside the projection transaction, and the jdbc show view applies availability changes"
+                    + " as deltas, counted twice when replayed. Use lanes = 1 with the jdbc show view.");
+        }
+        if (settings.lanes() > 1 && showViewRepository instanceof OffsetTrackingShowViewRepository) {
+            throw new IllegalArgumentException("Lanes (reservation.show-view-projection.lanes = " + settings.lanes()
+                    + ") are not used with the checkpointed in-memory show view, which stores its offsets with the view"
+                    + " one group at a time. Use lanes = 1 with a checkpoint file, or no checkpoint file.");
+        }
         this.actorSystem = actorSystem;
         this.dataSource = dataSource;
-        this.showViewEventHandler = showViewEventHandler;
+        this.showViewRepository = showViewRepository;
+        this.settings = settings;
+        this.projectionMetrics = projectionMetrics;
+        this.showViewListener = showViewListener;
     }
 
-    public Projection<EventEnvelope<ShowEvent>> create(SourceProvider<Offset, EventEnvelope<ShowEvent>> sourceProvider) {
-        return JdbcProjection.atLeastOnceAsync(
-                        PROJECTION_ID,
-                        sourceProvider,
-                        () -> new DataSourceJdbcSession(dataSource),
-                        () -> showViewEventHandler,
-                        actorSystem)
-                .withSaveOffset(saveOffsetAfterEnvelopes, saveOffsetAfterDuration)
+    /**
+     * One projection instance per event tag, keyed by the tag, so the offset of a slice is always found under the same
+     * key regardless of the node the instance runs on.
+     */
+    public static ProjectionId projectionId(String tag) {
+        return ProjectionId.of(PROJECTION_NAME, tag);
+    }
+
+    /**
+     * Exactly-once when the repository can write within the projection transaction. A repository that tracks its own
+     * offsets (an in-memory view restored from a checkpoint) is also the source of the start offset. At-least-once
+     * otherwise, and with lanes, which write outside the projection transaction and so are rejected for the jdbc view
+     * (and for the checkpointed view, which has no lanes).
+     */
+    public Projection<EventEnvelope<ShowEvent>> create(String tag, SourceProvider<Offset, EventEnvelope<ShowEvent>> sourceProvider) {
+        if (settings.lanes() > 1) {
+            return withSettings(JdbcProjection.groupedWithinAsync(
+                    projectionId(tag),
+                    sourceProvider,
+                    () -> new DataSourceJdbcSession(dataSource),
+                    () -> new ShowViewPartitionedEventHandler(showViewRepository, settings.lanes()),
+                    actorSystem));
+        }
+        if (showViewRepository instanceof JdbcShowViewWriter showViewWriter) {
+            return withSettings(JdbcProjection.groupedWithin(
+                    projectionId(tag),
+                    sourceProvider,
+                    () -> new DataSourceJdbcSession(dataSource),
+                    () -> new ShowViewJdbcEventHandler(showViewWriter),
+                    actorSystem));
+        }
+        if (showViewRepository instanceof OffsetTrackingShowViewRepository offsetTracking) {
+            return withSettings(JdbcProjection.groupedWithinAsync(
+                    projectionId(tag),
+                    new TrackedOffsetSourceProvider(sourceProvider, offsetTracking, tag),
+                    () -> new DataSourceJdbcSession(dataSource),
+                    () -> new ShowViewOffsetTrackingEventHandler(offsetTracking, tag),
+                    actorSystem));
+        }
+        return withSettings(JdbcProjection.groupedWithinAsync(
+                projectionId(tag),
+                sourceProvider,
+                () -> new DataSourceJdbcSession(dataSource),
+                () -> new ShowViewGroupedEventHandler(showViewRepository),
+                actorSystem));
+    }
+
+    private GroupedProjection<Offset, EventEnvelope<ShowEvent>> withSettings(GroupedProjection<Offset, EventEnvelope<ShowEvent>> projection) {
+        return projection
+                .withGroup(settings.groupAfterEnvelopes(), settings.groupAfterDuration())
                 .withRecoveryStrategy(retryAndFail(4, ofSeconds(5))) //could be configured in application.conf
-                .withRestartBackoff(ofSeconds(3), ofSeconds(30), 0.1d); //could be configured in application.conf
+                .withRestartBackoff(ofSeconds(3), ofSeconds(30), 0.1d) //could be configured in application.conf
+                .withStatusObserver(new CompositeStatusObserver<>(projectionMetrics.observer(projection.projectionId()),
+                        new ListenerStatusObserver(showViewListener)));
+    }
+
+    /**
+     * An envelope is processed when the handler of its group completed.
+     */
+    private static final class ListenerStatusObserver extends StatusObserver<EventEnvelope<ShowEvent>> {
+
+        private final ShowViewListener showViewListener;
+
+        private ListenerStatusObserver(ShowViewListener showViewListener) {
+            this.showViewListener = showViewListener;
+        }
+
+        @Override
+        public void afterProcess(ProjectionId projectionId, EventEnvelope<ShowEvent> envelope) {
+            showViewListener.showViewChanged(envelope.event().showId());
+        }
+
+        @Override
+        public void started(ProjectionId projectionId) {
+        }
+
+        @Override
+        public void failed(ProjectionId projectionId, Throwable cause) {
+        }
+
+        @Override
+        public void stopped(ProjectionId projectionId) {
+        }
+
+        @Override
+        public void beforeProcess(ProjectionId projectionId, EventEnvelope<ShowEvent> envelope) {
+        }
+
+        @Override
+        public void offsetProgress(ProjectionId projectionId, EventEnvelope<ShowEvent> envelope) {
+        }
+
+        @Override
+        public void error(ProjectionId projectionId, EventEnvelope<ShowEvent> envelope, Throwable cause,
+                          HandlerRecoveryStrategy recoveryStrategy) {
+        }
     }
 }
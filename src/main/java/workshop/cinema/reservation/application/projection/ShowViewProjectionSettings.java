@@ -0,0 +1,26 @@
+package workshop.cinema.reservation.application.projection;
+
+import com.typesafe.config.Config;
+
+import java.time.Duration;
+
+/**
+ * @param groupAfterEnvelopes  maximum number of events handled (and offsets saved) at once
+ * @param groupAfterDuration   maximum time to wait for a group to fill up
+ * @param repository           read model storage, {@code jdbc}, {@code in-memory} or {@code off-heap}
+ * @param checkpointFile       file the in-memory read model is saved to and restored from, empty disables checkpoints
+ * @param lanes                number of concurrent writes a group is split into by show id, 1 disables lanes
+ */
+public record ShowViewProjectionSettings(int groupAfterEnvelopes, Duration groupAfterDuration, String repository,
+                                         String checkpointFile, Duration checkpointInterval, int lanes) {
+
+    public static ShowViewProjectionSettings create(Config config) {
+        Config projectionConfig = config.getConfig("reservation.show-view-projection");
+        return new ShowViewProjectionSettings(projectionConfig.getInt("group-after-envelopes"),
+                projectionConfig.getDuration("group-after-duration"),
+                projectionConfig.getString("repository"),
+                projectionConfig.getString("checkpoint-file"),
+                projectionConfig.getDuration("checkpoint-interval"),
+                projectionConfig.getInt("lanes"));
+    }
+}
@@ -0,0 +1,119 @@
+package workshop.cinema.reservation.application.projection;
+
+import akka.actor.typed.ActorSystem;
+import akka.persistence.query.EventEnvelope;
+import akka.persistence.query.Offset;
+import akka.persistence.query.javadsl.CurrentEventsByTagQuery;
+import akka.projection.ProjectionId;
+import akka.stream.javadsl.Sink;
+import io.vavr.collection.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import workshop.cinema.reservation.domain.ShowEvent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Rebuilds the show view from the whole journal, bypassing the projections: the events of every tag are read with a
+ * dedicated read journal (bigger batches) and folded in memory into the final availability of every show, which is
+ * bulk loaded with {@link ShowViewRepository#replaceAll}. The projections are paused meanwhile and continue live from
+ * the last offset read.
+ */
+public class ShowViewRebuild {
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+    private final ActorSystem<?> system;
+    private final CurrentEventsByTagQuery readJournal;
+    private final ShowViewRepository showViewRepository;
+    private final List<String> tags;
+
+    public ShowViewRebuild(ActorSystem<?> system, CurrentEventsByTagQuery readJournal, ShowViewRepository showViewRepository,
+                           List<String> tags) {
+        this.system = system;
+        this.readJournal = readJournal;
+        this.showViewRepository = showViewRepository;
+        this.tags = tags;
+    }
+
+    public CompletionStage<ShowViewRebuildReport> run(ProjectionLauncher projectionLauncher) {
+        AtomicReference<ShowViewRebuildReport> report = new AtomicReference<>();
+        return projectionLauncher.rebuild(tags.map(ShowViewProjection::projectionId), () -> rebuildView().thenApply(rebuilt -> {
+            report.set(rebuilt);
+            return rebuilt.offsets();
+        })).thenApply(done -> report.get());
+    }
+
+    /**
+     * Replaces the view without touching the projections, which must not run meanwhile.
+     */
+    public CompletionStage<ShowViewRebuildReport> rebuildView() {
+        long start = System.nanoTime();
+        List<CompletableFuture<TagState>> tagStates = tags.map(tag -> readTag(tag).toCompletableFuture());
+        return CompletableFuture.allOf(tagStates.toJavaStream().toArray(CompletableFuture<?>[]::new)).thenCompose(ignored -> {
+            List<TagState> states = tagStates.map(CompletableFuture::join);
+            ArrayList<AvailabilityChange> shows = new ArrayList<>();
+            Map<String, Offset> offsetsByTag = new HashMap<>();
+            Map<ProjectionId, Offset> offsets = new HashMap<>();
+            long events = 0;
+            int skipped = 0;
+            for (TagState state : states) {
+                for (AvailabilityChange change : state.changes.toList()) {
+                    if (change.created()) {
+                        shows.add(change);
+                    } else {
+                        skipped++;
+                    }
+                }
+                if (state.lastOffset != null) {
+                    offsetsByTag.put(state.tag, state.lastOffset);
+                    offsets.put(ShowViewProjection.projectionId(state.tag), state.lastOffset);
+                }
+                events += state.events;
+            }
+            if (skipped > 0) {
+                log.warn("{} shows without ShowCreated event (deleted events?) skipped by the rebuild", skipped);
+            }
+            long readEvents = events;
+            int skippedShows = skipped;
+            return showViewRepository.replaceAll(shows, offsetsByTag).thenApply(done -> {
+                var report = new ShowViewRebuildReport(readEvents, shows.size(), skippedShows,
+                        Duration.ofNanos(System.nanoTime() - start), offsets);
+                log.info("Show view rebuilt from {} events, {} shows in {} ms, {} events/s", report.events(), report.shows(),
+                        report.duration().toMillis(), report.eventsPerSecond());
+                return report;
+            });
+        });
+    }
+
+    private CompletionStage<TagState> readTag(String tag) {
+        return readJournal.currentEventsByTag(tag, Offset.noOffset())
+                .runWith(Sink.fold(new TagState(tag), TagState::add), system);
+    }
+
+    private static final class TagState {
+
+        private final String tag;
+        private final AvailabilityChanges changes = new AvailabilityChanges();
+        private Offset lastOffset;
+        private long events;
+
+        private TagState(String tag) {
+            this.tag = tag;
+        }
+
+        private TagState add(EventEnvelope envelope) {
+            if (envelope.event() instanceof ShowEvent showEvent) {
+                changes.add(showEvent);
+            }
+            lastOffset = envelope.offset();
+            events++;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package workshop.cinema.reservation.application.projection;
+
+import akka.persistence.query.Offset;
+import akka.projection.ProjectionId;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * @param skippedShows shows without {@code ShowCreated} event in the journal (deleted with the snapshots), missing from
+ *                     the rebuilt view
+ * @param offsets the last offset read for every projection, where the projection continues live
+ */
+public record ShowViewRebuildReport(long events, int shows, int skippedShows, Duration duration,
+                                    Map<ProjectionId, Offset> offsets) {
+
+    public long eventsPerSecond() {
+        return duration.isZero() ? events : events * 1000 / Math.max(duration.toMillis(), 1);
+    }
+}
@@ -1,18 +1,56 @@
 package workshop.cinema.reservation.application.projection;
 
 import akka.Done;
+import akka.persistence.query.Offset;
+import io.vavr.control.Option;
 import workshop.cinema.reservation.domain.ShowId;
 
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletionStage;
 
 public interface ShowViewRepository {
 
     CompletionStage<List<ShowView>> findAvailable();
 
+    /**
+     * The show also when it has no available seats.
+     */
+    CompletionStage<Option<ShowView>> findBy(ShowId showId);
+
+    /**
+     * Page of shows with available seats ordered by show id. The next page starts after the last show of the previous
+     * one, so the cost depends on the page size only.
+     */
+    CompletionStage<List<ShowView>> findAvailable(int limit, Option<ShowId> afterShowId);
+
+    default CompletionStage<List<ShowView>> findAvailable(int limit) {
+        return findAvailable(limit, Option.none());
+    }
+
     CompletionStage<Done> save(ShowId showId, int availableSeats);
 
-    CompletionStage<Done> decrementAvailability(ShowId showId);
+    default CompletionStage<Done> decrementAvailability(ShowId showId) {
+        return decrementAvailability(showId, 1);
+    }
+
+    CompletionStage<Done> decrementAvailability(ShowId showId, int seats);
+
+    default CompletionStage<Done> incrementAvailability(ShowId showId) {
+        return incrementAvailability(showId, 1);
+    }
+
+    CompletionStage<Done> incrementAvailability(ShowId showId, int seats);
+
+    /**
+     * Applies the changes of many shows at once, at most one change per show.
+     */
+    CompletionStage<Done> applyAvailabilityChanges(List<AvailabilityChange> changes);
 
-    CompletionStage<Done> incrementAvailability(ShowId showId);
+    /**
+     * Loads the shows of a rebuild aside and swaps them in at once for the whole view. Called with the projections
+     * paused, {@code offsets} are the offsets (by projection key) the shows reflect. A view keeping its own offsets
+     * stores them together with the shows, the projections are moved to them afterwards as well.
+     */
+    CompletionStage<Done> replaceAll(List<AvailabilityChange> shows, Map<String, Offset> offsets);
 }
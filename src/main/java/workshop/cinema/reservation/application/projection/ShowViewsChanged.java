@@ -0,0 +1,11 @@
+package workshop.cinema.reservation.application.projection;
+
+import io.vavr.collection.List;
+
+import java.io.Serializable;
+
+/**
+ * Availability of the shows written by the projections of one node within a window, published to every node.
+ */
+public record ShowViewsChanged(List<ShowView> showViews) implements Serializable {
+}
@@ -0,0 +1,45 @@
+package workshop.cinema.reservation.application.projection;
+
+import akka.NotUsed;
+import akka.persistence.query.Offset;
+import akka.projection.eventsourced.EventEnvelope;
+import akka.projection.javadsl.SourceProvider;
+import akka.stream.javadsl.Source;
+import workshop.cinema.reservation.domain.ShowEvent;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+/**
+ * Starts (and restarts) the source from the offset of the read model, ignoring the offset store.
+ */
+public class TrackedOffsetSourceProvider extends SourceProvider<Offset, EventEnvelope<ShowEvent>> {
+
+    private final SourceProvider<Offset, EventEnvelope<ShowEvent>> sourceProvider;
+    private final OffsetTrackingShowViewRepository showViewRepository;
+    private final String projectionKey;
+
+    public TrackedOffsetSourceProvider(SourceProvider<Offset, EventEnvelope<ShowEvent>> sourceProvider,
+                                       OffsetTrackingShowViewRepository showViewRepository, String projectionKey) {
+        this.sourceProvider = sourceProvider;
+        this.showViewRepository = showViewRepository;
+        this.projectionKey = projectionKey;
+    }
+
+    @Override
+    public CompletionStage<Source<EventEnvelope<ShowEvent>, NotUsed>> source(Supplier<CompletionStage<Optional<Offset>>> storedOffset) {
+        return sourceProvider.source(() -> CompletableFuture.completedFuture(showViewRepository.offset(projectionKey).toJavaOptional()));
+    }
+
+    @Override
+    public Offset extractOffset(EventEnvelope<ShowEvent> envelope) {
+        return sourceProvider.extractOffset(envelope);
+    }
+
+    @Override
+    public long extractCreationTime(EventEnvelope<ShowEvent> envelope) {
+        return sourceProvider.extractCreationTime(envelope);
+    }
+}
@@ -0,0 +1,118 @@
+package workshop.cinema.reservation.domain;
+
+import java.io.Serializable;
+
+/**
+ * Persistent tree (fanout 32) over rows, keeping the longest run of available seats for every row and the maximum of
+ * those runs for every subtree. An update copies one node per level, a search skips subtrees without a long enough run.
+ */
+final class FreeRunIndex implements Serializable {
+
+    private static final int BITS = 5;
+    private static final int FANOUT = 1 << BITS;
+    private static final int MASK = FANOUT - 1;
+
+    private final int rows;
+    private final int height;
+    private final Node root;
+
+    private record Node(int max, int[] runs, Node[] children) implements Serializable {
+    }
+
+    private FreeRunIndex(int rows, int height, Node root) {
+        this.rows = rows;
+        this.height = height;
+        this.root = root;
+    }
+
+    static FreeRunIndex create(int[] rowRuns) {
+        int height = 0;
+        while ((long) FANOUT << (height * BITS) < rowRuns.length) {
+            height++;
+        }
+        return new FreeRunIndex(rowRuns.length, height, build(rowRuns, height, 0));
+    }
+
+    private static Node build(int[] rowRuns, int level, int firstRow) {
+        int span = 1 << (level * BITS);
+        int slots = Math.max(0, Math.min(FANOUT, (rowRuns.length - firstRow + span - 1) / span));
+        int[] runs = new int[slots];
+        Node[] children = level == 0 ? null : new Node[slots];
+        int max = 0;
+        for (int slot = 0; slot < slots; slot++) {
+            if (level == 0) {
+                runs[slot] = rowRuns[firstRow + slot];
+            } else {
+                children[slot] = build(rowRuns, level - 1, firstRow + slot * span);
+                runs[slot] = children[slot].max();
+            }
+            max = Math.max(max, runs[slot]);
+        }
+        return new Node(max, runs, children);
+    }
+
+    int rows() {
+        return rows;
+    }
+
+    int run(int row) {
+        Node node = root;
+        for (int level = height; level > 0; level--) {
+            node = node.children()[(row >>> (level * BITS)) & MASK];
+        }
+        return node.runs()[row & MASK];
+    }
+
+    FreeRunIndex withRun(int row, int run) {
+        if (run(row) == run) {
+            return this;
+        }
+        return new FreeRunIndex(rows, height, updated(root, height, row, run));
+    }
+
+    private static Node updated(Node node, int level, int row, int run) {
+        int slot = (row >>> (level * BITS)) & MASK;
+        int[] runs = node.runs().clone();
+        Node[] children = null;
+        if (level == 0) {
+            runs[slot] = run;
+        } else {
+            children = node.children().clone();
+            children[slot] = updated(children[slot], level - 1, row, run);
+            runs[slot] = children[slot].max();
+        }
+        int max = 0;
+        for (int value : runs) {
+            max = Math.max(max, value);
+        }
+        return new Node(max, runs, children);
+    }
+
+    /**
+     * @return first row in [fromRow, toRow) with at least minRun available seats next to each other, or -1
+     */
+    int firstRow(int fromRow, int toRow, int minRun) {
+        if (fromRow >= toRow || root.max() < minRun) {
+            return -1;
+        }
+        return firstRow(root, height, 0, fromRow, toRow, minRun);
+    }
+
+    private static int firstRow(Node node, int level, int firstRow, int fromRow, int toRow, int minRun) {
+        int span = 1 << (level * BITS);
+        int[] runs = node.runs();
+        for (int slot = Math.max(0, (fromRow - firstRow) / span); slot < runs.length; slot++) {
+            int slotFirstRow = firstRow + slot * span;
+            if (slotFirstRow >= toRow) {
+                return -1;
+            }
+            if (runs[slot] >= minRun) {
+                int row = level == 0 ? slotFirstRow : firstRow(node.children()[slot], level - 1, slotFirstRow, fromRow, toRow, minRun);
+                if (row >= 0) {
+                    return row;
+                }
+            }
+        }
+        return -1;
+    }
+}
@@ -12,6 +12,10 @@ public record Seat(SeatNumber number, SeatStatus status, BigDecimal price) imple
         return status == SeatStatus.RESERVED;
     }
 
+    public boolean isHeld() {
+        return status == SeatStatus.HELD;
+    }
+
     public Seat reserved() {
         return new Seat(number, SeatStatus.RESERVED, price);
     }
@@ -0,0 +1,77 @@
+package workshop.cinema.reservation.domain;
+
+import io.vavr.Tuple2;
+import io.vavr.collection.TreeMap;
+import io.vavr.control.Option;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Held seats grouped into one-second expiry buckets. All holds ending within the same second share a bucket, so
+ * releasing them is a single event and the entity needs one timer for the earliest bucket only.
+ */
+public final class SeatHolds implements Serializable {
+
+    public static final Duration DEFAULT_DURATION = Duration.ofMinutes(10);
+    private static final SeatHolds EMPTY = new SeatHolds(TreeMap.empty());
+
+    private final TreeMap<Instant, SeatNumbers> buckets;
+
+    private SeatHolds(TreeMap<Instant, SeatNumbers> buckets) {
+        this.buckets = buckets;
+    }
+
+    public static SeatHolds empty() {
+        return EMPTY;
+    }
+
+    public static Instant deadline(Instant now, Duration duration) {
+        Instant exact = now.plus(duration);
+        Instant truncated = exact.truncatedTo(ChronoUnit.SECONDS);
+        return truncated.equals(exact) ? exact : truncated.plusSeconds(1);
+    }
+
+    public TreeMap<Instant, SeatNumbers> buckets() {
+        return buckets;
+    }
+
+    public boolean isEmpty() {
+        return buckets.isEmpty();
+    }
+
+    public Option<Instant> nextDeadline() {
+        return buckets.headOption().map(Tuple2::_1);
+    }
+
+    public SeatNumbers due(Instant now) {
+        return buckets.iterator()
+                .takeWhile(bucket -> !bucket._1.isAfter(now))
+                .foldLeft(SeatNumbers.empty(), (due, bucket) -> due.union(bucket._2));
+    }
+
+    public SeatHolds with(Instant deadline, SeatNumbers seatNumbers) {
+        return new SeatHolds(buckets.put(deadline, seatNumbers, SeatNumbers::union));
+    }
+
+    public SeatHolds without(SeatNumbers seatNumbers) {
+        return new SeatHolds(buckets.mapValues(bucket -> bucket.minus(seatNumbers)).filterValues(bucket -> !bucket.isEmpty()));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof SeatHolds other && buckets.equals(other.buckets);
+    }
+
+    @Override
+    public int hashCode() {
+        return buckets.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "SeatHolds" + buckets;
+    }
+}
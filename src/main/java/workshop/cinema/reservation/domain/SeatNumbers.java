@@ -0,0 +1,121 @@
+package workshop.cinema.reservation.domain;
+
+import io.vavr.collection.Iterator;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Immutable, sorted set of seat numbers backed by a primitive array.
+ */
+public final class SeatNumbers implements Iterable<SeatNumber>, Serializable {
+
+    private static final SeatNumbers EMPTY = new SeatNumbers(new int[0]);
+
+    private final int[] values;
+
+    private SeatNumbers(int[] values) {
+        this.values = values;
+    }
+
+    public static SeatNumbers empty() {
+        return EMPTY;
+    }
+
+    public static SeatNumbers of(int... seatNumbers) {
+        int[] sorted = seatNumbers.clone();
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[distinct++] = sorted[i];
+            }
+        }
+        return new SeatNumbers(distinct == sorted.length ? sorted : Arrays.copyOf(sorted, distinct));
+    }
+
+    public static SeatNumbers of(Iterable<SeatNumber> seatNumbers) {
+        return of(Iterator.ofAll(seatNumbers).map(SeatNumber::value).toJavaStream().mapToInt(Integer::intValue).toArray());
+    }
+
+    public static SeatNumbers range(int from, int to) {
+        int[] values = new int[Math.max(to - from, 0)];
+        Arrays.setAll(values, i -> from + i);
+        return new SeatNumbers(values);
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    public boolean isEmpty() {
+        return values.length == 0;
+    }
+
+    public int get(int index) {
+        return values[index];
+    }
+
+    public boolean contains(int seatNumber) {
+        return Arrays.binarySearch(values, seatNumber) >= 0;
+    }
+
+    public SeatNumbers union(SeatNumbers other) {
+        if (other.isEmpty()) {
+            return this;
+        } else if (isEmpty()) {
+            return other;
+        }
+        int[] merged = new int[values.length + other.values.length];
+        int i = 0, j = 0, size = 0;
+        while (i < values.length || j < other.values.length) {
+            if (j == other.values.length || i < values.length && values[i] < other.values[j]) {
+                merged[size++] = values[i++];
+            } else if (i == values.length || other.values[j] < values[i]) {
+                merged[size++] = other.values[j++];
+            } else {
+                merged[size++] = values[i++];
+                j++;
+            }
+        }
+        return new SeatNumbers(size == merged.length ? merged : Arrays.copyOf(merged, size));
+    }
+
+    public SeatNumbers minus(SeatNumbers other) {
+        if (isEmpty() || other.isEmpty()) {
+            return this;
+        }
+        int[] remaining = new int[values.length];
+        int size = 0;
+        for (int value : values) {
+            if (!other.contains(value)) {
+                remaining[size++] = value;
+            }
+        }
+        return size == values.length ? this : new SeatNumbers(Arrays.copyOf(remaining, size));
+    }
+
+    public int[] toArray() {
+        return values.clone();
+    }
+
+    @Override
+    public Iterator<SeatNumber> iterator() {
+        return Iterator.ofAll(values).map(SeatNumber::of);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof SeatNumbers other && Arrays.equals(values, other.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        return "SeatNumbers" + Arrays.toString(values);
+    }
+}
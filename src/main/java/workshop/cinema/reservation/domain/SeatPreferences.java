@@ -0,0 +1,21 @@
+package workshop.cinema.reservation.domain;
+
+import io.vavr.collection.List;
+
+import java.io.Serializable;
+
+/**
+ * Acceptable sections in order of preference, any section when empty.
+ */
+public record SeatPreferences(List<String> sections) implements Serializable {
+
+    private static final SeatPreferences NONE = new SeatPreferences(List.empty());
+
+    public static SeatPreferences none() {
+        return NONE;
+    }
+
+    public static SeatPreferences sections(String... sections) {
+        return new SeatPreferences(List.of(sections));
+    }
+}
@@ -1,5 +1,5 @@
 package workshop.cinema.reservation.domain;
 
 public enum SeatStatus {
-    AVAILABLE, RESERVED
+    AVAILABLE, RESERVED, HELD
 }
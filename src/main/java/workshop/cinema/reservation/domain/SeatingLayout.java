@@ -0,0 +1,51 @@
+package workshop.cinema.reservation.domain;
+
+import io.vavr.collection.List;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Venue description: a table of price tiers and ordered sections of equally long rows, every section priced by its
+ * tier index. Seats are numbered from 0, section after section, row by row.
+ */
+public record SeatingLayout(List<BigDecimal> priceTiers, List<Section> sections) implements Serializable {
+
+    public static final String DEFAULT_SECTION = "MAIN";
+    public static final int MAX_PRICES = 256;
+
+    public record Section(String name, int rows, int seatsPerRow, int tier) implements Serializable {
+
+        public int seatCount() {
+            return rows * seatsPerRow;
+        }
+    }
+
+    public static SeatingLayout singleRow(int seats, BigDecimal price) {
+        return new SeatingLayout(List.of(price), List.of(new Section(DEFAULT_SECTION, 1, seats, 0)));
+    }
+
+    public int seatCount() {
+        return sections.foldLeft(0, (count, section) -> count + section.seatCount());
+    }
+
+    public BigDecimal price(Section section) {
+        return priceTiers.get(section.tier());
+    }
+
+    public boolean isValid() {
+        if (sections == null || sections.isEmpty() || priceTiers == null || priceTiers.size() > MAX_PRICES
+                || priceTiers.exists(price -> price == null || price.signum() < 0)) {
+            return false;
+        }
+        long seats = 0;
+        for (Section section : sections) {
+            if (section.name() == null || section.tier() < 0 || section.tier() >= priceTiers.size()
+                    || section.rows() < 0 || section.seatsPerRow() < 0) {
+                return false;
+            }
+            seats += (long) section.rows() * section.seatsPerRow();
+        }
+        return seats <= Integer.MAX_VALUE;
+    }
+}
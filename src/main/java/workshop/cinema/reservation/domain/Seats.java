@@ -0,0 +1,593 @@
+package workshop.cinema.reservation.domain;
+
+import io.vavr.collection.Iterator;
+import io.vavr.collection.List;
+import io.vavr.control.Option;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Immutable seat-state storage. Seat statuses are packed two bits per seat into chunks of longs, so changing a seat
+ * copies one small chunk and the chunk table only. Prices are kept in the price tier table of the layout and each
+ * seat refers to its tier through its layout section, so nothing is allocated per seat and repricing a tier replaces
+ * a single table entry. The longest run of
+ * available seats of every row is kept in a {@link FreeRunIndex}, updated from the runs around the changed seats, so
+ * the whole row is scanned only when its longest run may have been split, and then a word of seats at a time.
+ */
+public final class Seats implements Iterable<Seat>, Serializable {
+
+    private static final int STATUS_BITS = 2;
+    private static final long STATUS_MASK = (1L << STATUS_BITS) - 1;
+    private static final int SEATS_PER_WORD_SHIFT = 5; // 32 seats per long
+    private static final int WORDS_PER_CHUNK_SHIFT = 4; // 16 longs per chunk
+    private static final int SEATS_PER_CHUNK_SHIFT = SEATS_PER_WORD_SHIFT + WORDS_PER_CHUNK_SHIFT; // 512 seats per chunk
+    private static final int SEATS_PER_WORD = 1 << SEATS_PER_WORD_SHIFT;
+    private static final int SEATS_PER_CHUNK = 1 << SEATS_PER_CHUNK_SHIFT;
+    private static final long LOW_STATUS_BITS = 0x5555555555555555L;
+    private static final long ALL_AVAILABLE = SeatStatus.AVAILABLE.ordinal() * LOW_STATUS_BITS;
+    private static final int MAX_TIER = SeatingLayout.MAX_PRICES - 1;
+    private static final SeatStatus[] STATUSES = SeatStatus.values();
+    private static final Seats EMPTY = create(new SeatingLayout(List.empty(), List.empty()));
+
+    private final SeatingLayout layout;
+    private final int size;
+    private final long[][] statusChunks;
+    // first seat of every section, followed by the number of seats
+    private final int[] sectionStarts;
+    private final byte[] sectionTiers;
+    // per seat tiers, only when a seat was priced differently than its section
+    private final byte[] seatTiers;
+    private final BigDecimal[] prices;
+    // first row of every section, followed by the number of rows
+    private final int[] sectionRowStarts;
+    private final int[] sectionSeatsPerRow;
+    private final FreeRunIndex freeRuns;
+
+    private Seats(SeatingLayout layout, int size, long[][] statusChunks, int[] sectionStarts, byte[] sectionTiers,
+                  byte[] seatTiers, BigDecimal[] prices, int[] sectionRowStarts, int[] sectionSeatsPerRow,
+                  FreeRunIndex freeRuns) {
+        this.layout = layout;
+        this.size = size;
+        this.statusChunks = statusChunks;
+        this.sectionStarts = sectionStarts;
+        this.sectionTiers = sectionTiers;
+        this.seatTiers = seatTiers;
+        this.prices = prices;
+        this.sectionRowStarts = sectionRowStarts;
+        this.sectionSeatsPerRow = sectionSeatsPerRow;
+        this.freeRuns = freeRuns;
+    }
+
+    public static Seats empty() {
+        return EMPTY;
+    }
+
+    public static Seats create(int size, BigDecimal price) {
+        return create(SeatingLayout.singleRow(size, price));
+    }
+
+    public static Seats create(SeatingLayout layout) {
+        if (!layout.sections().isEmpty() && !layout.isValid()) {
+            throw new IllegalArgumentException("Invalid seating layout " + layout);
+        }
+        int sections = layout.sections().size();
+        int[] sectionStarts = new int[sections + 1];
+        byte[] sectionTiers = new byte[sections];
+        int[] sectionRowStarts = new int[sections + 1];
+        int[] sectionSeatsPerRow = new int[sections];
+        BigDecimal[] prices = layout.priceTiers().toJavaArray(BigDecimal[]::new);
+        int section = 0;
+        for (SeatingLayout.Section layoutSection : layout.sections()) {
+            sectionTiers[section] = (byte) layoutSection.tier();
+            sectionStarts[section + 1] = sectionStarts[section] + layoutSection.seatCount();
+            sectionRowStarts[section + 1] = sectionRowStarts[section] + layoutSection.rows();
+            sectionSeatsPerRow[section] = layoutSection.seatsPerRow();
+            section++;
+        }
+        int size = sectionStarts[sections];
+        long[][] chunks = new long[(size + SEATS_PER_CHUNK - 1) >>> SEATS_PER_CHUNK_SHIFT][];
+        for (int chunk = 0; chunk < chunks.length; chunk++) {
+            int seatsInChunk = Math.min(SEATS_PER_CHUNK, size - (chunk << SEATS_PER_CHUNK_SHIFT));
+            chunks[chunk] = new long[(seatsInChunk + SEATS_PER_WORD - 1) >>> SEATS_PER_WORD_SHIFT];
+        }
+        int[] rowRuns = new int[sectionRowStarts[sections]];
+        for (int row = 0, current = 0; current < sections; current++) {
+            for (int sectionRow = sectionRowStarts[current]; sectionRow < sectionRowStarts[current + 1]; sectionRow++) {
+                rowRuns[row++] = sectionSeatsPerRow[current];
+            }
+        }
+        return new Seats(layout, size, chunks, sectionStarts, sectionTiers, null, prices, sectionRowStarts,
+                sectionSeatsPerRow, FreeRunIndex.create(rowRuns));
+    }
+
+    static Seats restore(SeatingLayout layout, long[] statusWords, BigDecimal[] prices, byte[] seatTiers) {
+        Seats seats = create(layout);
+        long[][] chunks = new long[seats.statusChunks.length][];
+        int word = 0;
+        for (int chunk = 0; chunk < chunks.length; chunk++) {
+            int words = seats.statusChunks[chunk].length;
+            if (word + words > statusWords.length) {
+                throw new IllegalArgumentException("Missing seat statuses for layout " + layout);
+            }
+            chunks[chunk] = Arrays.copyOfRange(statusWords, word, word + words);
+            word += words;
+        }
+        int[] rowRuns = new int[seats.freeRuns.rows()];
+        for (int row = 0; row < rowRuns.length; row++) {
+            rowRuns[row] = seats.longestRun(chunks, row);
+        }
+        return new Seats(layout, seats.size, chunks, seats.sectionStarts, seats.sectionTiers, seatTiers, prices,
+                seats.sectionRowStarts, seats.sectionSeatsPerRow, FreeRunIndex.create(rowRuns));
+    }
+
+    long[] statusWords() {
+        long[] words = new long[(size + SEATS_PER_WORD - 1) >>> SEATS_PER_WORD_SHIFT];
+        int word = 0;
+        for (long[] chunk : statusChunks) {
+            System.arraycopy(chunk, 0, words, word, chunk.length);
+            word += chunk.length;
+        }
+        return words;
+    }
+
+    BigDecimal[] priceTiers() {
+        return prices.clone();
+    }
+
+    byte[] seatTiers() {
+        return seatTiers == null ? null : seatTiers.clone();
+    }
+
+    public SeatingLayout layout() {
+        return layout;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean exists(SeatNumber seatNumber) {
+        return exists(seatNumber.value());
+    }
+
+    public boolean exists(int seatNumber) {
+        return seatNumber >= 0 && seatNumber < size;
+    }
+
+    public SeatStatus status(SeatNumber seatNumber) {
+        return status(seatNumber.value());
+    }
+
+    public SeatStatus status(int seatNumber) {
+        return STATUSES[statusCode(seatNumber)];
+    }
+
+    public boolean isAvailable(SeatNumber seatNumber) {
+        return statusCode(seatNumber.value()) == SeatStatus.AVAILABLE.ordinal();
+    }
+
+    public boolean isReserved(SeatNumber seatNumber) {
+        return statusCode(seatNumber.value()) == SeatStatus.RESERVED.ordinal();
+    }
+
+    public boolean isHeld(SeatNumber seatNumber) {
+        return statusCode(seatNumber.value()) == SeatStatus.HELD.ordinal();
+    }
+
+    public boolean allExist(SeatNumbers seatNumbers) {
+        return seatNumbers.isEmpty() || exists(seatNumbers.get(0)) && exists(seatNumbers.get(seatNumbers.size() - 1));
+    }
+
+    public boolean allHaveStatus(SeatNumbers seatNumbers, SeatStatus status) {
+        for (int i = 0; i < seatNumbers.size(); i++) {
+            if (statusCode(seatNumbers.get(i)) != status.ordinal()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public BigDecimal price(int seatNumber) {
+        return prices[tier(seatNumber)];
+    }
+
+    public int tierCount() {
+        return prices.length;
+    }
+
+    public BigDecimal tierPrice(int tier) {
+        return prices[tier];
+    }
+
+    /**
+     * Passes the packed statuses to the consumer in seat order, without copying them: 32 seats per word, two bits per
+     * seat starting from the lowest bits, the {@link SeatStatus} ordinal as value.
+     */
+    public void forEachStatusWord(LongConsumer consumer) {
+        for (long[] chunk : statusChunks) {
+            for (long word : chunk) {
+                consumer.accept(word);
+            }
+        }
+    }
+
+    /**
+     * Passes the seats with another status than in {@code previous}, seats of the same layout, to the consumer in seat
+     * order. Chunks shared with {@code previous} are skipped without reading them, so a few changed seats cost about
+     * one comparison per chunk of 512 seats.
+     */
+    public void forEachChangedStatus(Seats previous, IntConsumer consumer) {
+        if (previous.size != size) {
+            throw new IllegalArgumentException("Seats of another layout, size %d instead of %d".formatted(previous.size, size));
+        }
+        for (int chunk = 0; chunk < statusChunks.length; chunk++) {
+            long[] words = statusChunks[chunk];
+            long[] previousWords = previous.statusChunks[chunk];
+            if (words == previousWords) {
+                continue;
+            }
+            for (int word = 0; word < words.length; word++) {
+                long changed = words[word] ^ previousWords[word];
+                while (changed != 0) {
+                    int seatInWord = Long.numberOfTrailingZeros(changed) / STATUS_BITS;
+                    consumer.accept((chunk << SEATS_PER_CHUNK_SHIFT) + (word << SEATS_PER_WORD_SHIFT) + seatInWord);
+                    changed &= ~(STATUS_MASK << seatInWord * STATUS_BITS);
+                }
+            }
+        }
+    }
+
+    /**
+     * Whether every seat has an equal price (same scale) as in {@code other}, comparing the tier tables instead of the
+     * seats.
+     */
+    public boolean samePrices(Seats other) {
+        return size == other.size && Arrays.equals(prices, other.prices) && Arrays.equals(sectionTiers, other.sectionTiers)
+                && (seatTiers == other.seatTiers || Arrays.equals(seatTiers, other.seatTiers));
+    }
+
+    public Seats withTierPrice(int tier, BigDecimal price) {
+        if (tier < 0 || tier >= prices.length) {
+            throw new IllegalStateException("Price tier not exists %d".formatted(tier));
+        }
+        BigDecimal[] updatedPrices = prices.clone();
+        updatedPrices[tier] = price;
+        return new Seats(layout, size, statusChunks, sectionStarts, sectionTiers, seatTiers, updatedPrices,
+                sectionRowStarts, sectionSeatsPerRow, freeRuns);
+    }
+
+    public Option<Seat> get(SeatNumber seatNumber) {
+        return exists(seatNumber) ? Option.of(seatAt(seatNumber.value())) : Option.none();
+    }
+
+    public Seats withStatus(SeatNumber seatNumber, SeatStatus status) {
+        int seat = seatNumber.value();
+        if (!exists(seat)) {
+            throw new IllegalStateException("Seat not exists %s".formatted(seatNumber));
+        }
+        int chunkIndex = seat >>> SEATS_PER_CHUNK_SHIFT;
+        long[] chunk = statusChunks[chunkIndex].clone();
+        setStatusCode(chunk, seat, status.ordinal());
+        long[][] chunks = statusChunks.clone();
+        chunks[chunkIndex] = chunk;
+        if (!changesAvailability(seat, status)) {
+            return withChunks(chunks, freeRuns);
+        }
+        int row = rowOf(seat);
+        return withChunks(chunks, freeRuns.withRun(row, longestRunAfter(chunks, row, seat, seat, status)));
+    }
+
+    public Seats withStatus(SeatNumbers seatNumbers, SeatStatus status) {
+        long[][] chunks = statusChunks.clone();
+        int[] touchedRows = new int[seatNumbers.size()];
+        int[] firstSeats = new int[seatNumbers.size()];
+        int[] lastSeats = new int[seatNumbers.size()];
+        int touched = 0;
+        for (int i = 0; i < seatNumbers.size(); i++) {
+            int seat = seatNumbers.get(i);
+            if (!exists(seat)) {
+                throw new IllegalStateException("Seat not exists %s".formatted(SeatNumber.of(seat)));
+            }
+            int chunkIndex = seat >>> SEATS_PER_CHUNK_SHIFT;
+            if (chunks[chunkIndex] == statusChunks[chunkIndex]) {
+                chunks[chunkIndex] = statusChunks[chunkIndex].clone();
+            }
+            boolean changesAvailability = changesAvailability(seat, status);
+            setStatusCode(chunks[chunkIndex], seat, status.ordinal());
+            if (!changesAvailability) {
+                continue;
+            }
+            // seat numbers are sorted, so seats of one row are next to each other
+            int row = rowOf(seat);
+            if (touched == 0 || touchedRows[touched - 1] != row) {
+                touchedRows[touched] = row;
+                firstSeats[touched++] = seat;
+            }
+            lastSeats[touched - 1] = seat;
+        }
+        FreeRunIndex updatedRuns = freeRuns;
+        for (int i = 0; i < touched; i++) {
+            updatedRuns = updatedRuns.withRun(touchedRows[i],
+                    longestRunAfter(chunks, touchedRows[i], firstSeats[i], lastSeats[i], status));
+        }
+        return withChunks(chunks, updatedRuns);
+    }
+
+    /**
+     * Best block of count adjacent available seats: the first row (in layout order, within the preferred sections) that
+     * has a long enough run, and in that row the block closest to the middle of the row.
+     *
+     * @return empty when there is no such block
+     */
+    public SeatNumbers bestAvailable(int count, SeatPreferences preferences) {
+        if (count <= 0) {
+            return SeatNumbers.empty();
+        }
+        if (preferences.sections().isEmpty()) {
+            return bestAvailable(count, 0, freeRuns.rows());
+        }
+        for (String sectionName : preferences.sections()) {
+            int section = 0;
+            for (SeatingLayout.Section layoutSection : layout.sections()) {
+                if (layoutSection.name().equals(sectionName)) {
+                    SeatNumbers found = bestAvailable(count, sectionRowStarts[section], sectionRowStarts[section + 1]);
+                    if (!found.isEmpty()) {
+                        return found;
+                    }
+                }
+                section++;
+            }
+        }
+        return SeatNumbers.empty();
+    }
+
+    private SeatNumbers bestAvailable(int count, int fromRow, int toRow) {
+        int row = freeRuns.firstRow(fromRow, toRow, count);
+        if (row < 0) {
+            return SeatNumbers.empty();
+        }
+        int section = rowSection(row);
+        int rowStart = rowStart(section, row);
+        int rowLength = sectionSeatsPerRow[section];
+        // distances are doubled to stay in integers
+        int best = -1;
+        int bestDistance = Integer.MAX_VALUE;
+        int seat = 0;
+        while (seat < rowLength) {
+            if (statusCode(statusChunks, rowStart + seat) != SeatStatus.AVAILABLE.ordinal()) {
+                seat++;
+                continue;
+            }
+            int runStart = seat;
+            while (seat < rowLength && statusCode(statusChunks, rowStart + seat) == SeatStatus.AVAILABLE.ordinal()) {
+                seat++;
+            }
+            if (seat - runStart >= count) {
+                int first = Math.max(runStart, Math.min((rowLength - count) / 2, seat - count));
+                int distance = Math.abs(2 * first + count - rowLength);
+                if (distance < bestDistance) {
+                    best = first;
+                    bestDistance = distance;
+                }
+            }
+        }
+        return SeatNumbers.range(rowStart + best, rowStart + best + count);
+    }
+
+    public Seats with(Seat seat) {
+        int seatNumber = seat.number().value();
+        if (!exists(seatNumber)) {
+            throw new IllegalStateException("Seat not exists %s".formatted(seat.number()));
+        }
+        int tier = tierOf(prices, seat.price());
+        BigDecimal[] updatedPrices = prices;
+        if (tier < 0) {
+            tier = prices.length;
+            if (tier > MAX_TIER) {
+                throw new IllegalStateException("Too many price tiers, max is %d".formatted(MAX_TIER + 1));
+            }
+            updatedPrices = Arrays.copyOf(prices, prices.length + 1);
+            updatedPrices[tier] = seat.price();
+        }
+        byte[] updatedTiers = seatTiers == null ? new byte[size] : seatTiers.clone();
+        if (seatTiers == null) {
+            for (int seatIndex = 0; seatIndex < size; seatIndex++) {
+                updatedTiers[seatIndex] = (byte) tier(seatIndex);
+            }
+        }
+        updatedTiers[seatNumber] = (byte) tier;
+        return new Seats(layout, size, statusChunks, sectionStarts, sectionTiers, updatedTiers, updatedPrices,
+                sectionRowStarts, sectionSeatsPerRow, freeRuns)
+                .withStatus(seat.number(), seat.status());
+    }
+
+    @Override
+    public Iterator<Seat> iterator() {
+        return Iterator.range(0, size).map(this::seatAt);
+    }
+
+    private Seat seatAt(int seatNumber) {
+        return new Seat(SeatNumber.of(seatNumber), status(seatNumber), price(seatNumber));
+    }
+
+    private Seats withChunks(long[][] chunks, FreeRunIndex updatedRuns) {
+        return new Seats(layout, size, chunks, sectionStarts, sectionTiers, seatTiers, prices, sectionRowStarts,
+                sectionSeatsPerRow, updatedRuns);
+    }
+
+    private int statusCode(int seat) {
+        return statusCode(statusChunks, seat);
+    }
+
+    private static int statusCode(long[][] chunks, int seat) {
+        return (int) ((word(chunks, seat) >>> ((seat & (SEATS_PER_WORD - 1)) * STATUS_BITS)) & STATUS_MASK);
+    }
+
+    private boolean changesAvailability(int seat, SeatStatus status) {
+        return (statusCode(seat) == SeatStatus.AVAILABLE.ordinal()) != (status == SeatStatus.AVAILABLE);
+    }
+
+    /**
+     * Longest run of the row after the seats between first and last became available or not available. Only the runs
+     * around the changed seats can grow or shrink, so the row is rescanned only when one of them was the longest run
+     * and shrank.
+     */
+    private int longestRunAfter(long[][] chunks, int row, int first, int last, SeatStatus status) {
+        int section = rowSection(row);
+        int rowStart = rowStart(section, row);
+        int rowEnd = rowStart + sectionSeatsPerRow[section];
+        int run = freeRuns.run(row);
+        if (status == SeatStatus.AVAILABLE) {
+            return Math.max(run, longestRun(chunks, runStart(chunks, first, rowStart), runEnd(chunks, last + 1, rowEnd)));
+        }
+        int changedRun = longestRun(statusChunks, runStart(statusChunks, first, rowStart),
+                runEnd(statusChunks, last + 1, rowEnd));
+        return changedRun < run ? run : longestRun(chunks, rowStart, rowEnd);
+    }
+
+    private int longestRun(long[][] chunks, int row) {
+        int section = rowSection(row);
+        int rowStart = rowStart(section, row);
+        return longestRun(chunks, rowStart, rowStart + sectionSeatsPerRow[section]);
+    }
+
+    private static int longestRun(long[][] chunks, int from, int to) {
+        int longest = 0;
+        int seat = from;
+        while (seat < to) {
+            int end = runEnd(chunks, seat, to);
+            longest = Math.max(longest, end - seat);
+            seat = end + 1;
+            while ((seat & (SEATS_PER_WORD - 1)) == 0 && seat + SEATS_PER_WORD <= to && noneAvailable(word(chunks, seat))) {
+                seat += SEATS_PER_WORD;
+            }
+        }
+        return longest;
+    }
+
+    // first seat of the run of available seats ending right before seat, not before from
+    private static int runStart(long[][] chunks, int seat, int from) {
+        while (seat > from) {
+            if ((seat & (SEATS_PER_WORD - 1)) == 0 && seat - SEATS_PER_WORD >= from
+                    && word(chunks, seat - 1) == ALL_AVAILABLE) {
+                seat -= SEATS_PER_WORD;
+            } else if (statusCode(chunks, seat - 1) == SeatStatus.AVAILABLE.ordinal()) {
+                seat--;
+            } else {
+                break;
+            }
+        }
+        return seat;
+    }
+
+    // seat after the run of available seats starting at seat, not after to
+    private static int runEnd(long[][] chunks, int seat, int to) {
+        while (seat < to) {
+            if ((seat & (SEATS_PER_WORD - 1)) == 0 && seat + SEATS_PER_WORD <= to && word(chunks, seat) == ALL_AVAILABLE) {
+                seat += SEATS_PER_WORD;
+            } else if (statusCode(chunks, seat) == SeatStatus.AVAILABLE.ordinal()) {
+                seat++;
+            } else {
+                break;
+            }
+        }
+        return seat;
+    }
+
+    private static long word(long[][] chunks, int seat) {
+        return chunks[seat >>> SEATS_PER_CHUNK_SHIFT][(seat >>> SEATS_PER_WORD_SHIFT) & ((1 << WORDS_PER_CHUNK_SHIFT) - 1)];
+    }
+
+    private static boolean noneAvailable(long word) {
+        long other = word ^ ALL_AVAILABLE;
+        return ((other | other >>> 1) & LOW_STATUS_BITS) == LOW_STATUS_BITS;
+    }
+
+    private int rowOf(int seat) {
+        int section = section(seat);
+        return sectionRowStarts[section] + (seat - sectionStarts[section]) / sectionSeatsPerRow[section];
+    }
+
+    private int rowStart(int section, int row) {
+        return sectionStarts[section] + (row - sectionRowStarts[section]) * sectionSeatsPerRow[section];
+    }
+
+    private int rowSection(int row) {
+        return lastStartingAtOrBefore(sectionRowStarts, row);
+    }
+
+    private static void setStatusCode(long[] chunk, int seat, int statusCode) {
+        int wordIndex = (seat >>> SEATS_PER_WORD_SHIFT) & ((1 << WORDS_PER_CHUNK_SHIFT) - 1);
+        int shift = (seat & (SEATS_PER_WORD - 1)) * STATUS_BITS;
+        chunk[wordIndex] = (chunk[wordIndex] & ~(STATUS_MASK << shift)) | ((long) statusCode << shift);
+    }
+
+    public int tier(int seatNumber) {
+        if (seatTiers != null) {
+            return seatTiers[seatNumber] & MAX_TIER;
+        }
+        return sectionTiers[section(seatNumber)] & MAX_TIER;
+    }
+
+    int section(int seatNumber) {
+        return lastStartingAtOrBefore(sectionStarts, seatNumber);
+    }
+
+    private static int lastStartingAtOrBefore(int[] starts, int value) {
+        // empty sections share their start with the next one
+        int low = 0;
+        int high = starts.length - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (starts[middle] <= value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low - 1;
+    }
+
+    private static int tierOf(BigDecimal[] prices, BigDecimal price) {
+        for (int tier = 0; tier < prices.length; tier++) {
+            if (prices[tier].compareTo(price) == 0) {
+                return tier;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Seats other) || size != other.size) {
+            return false;
+        }
+        for (int seat = 0; seat < size; seat++) {
+            if (statusCode(seat) != other.statusCode(seat) || price(seat).compareTo(other.price(seat)) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = size;
+        for (long[] chunk : statusChunks) {
+            result = 31 * result + Arrays.hashCode(chunk);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "Seats(size=" + size + ", tiers=" + Arrays.toString(prices) + ")";
+    }
+}
@@ -1,60 +1,195 @@
 package workshop.cinema.reservation.domain;
 
 import io.vavr.collection.List;
-import io.vavr.collection.Map;
 import io.vavr.control.Either;
 import workshop.cinema.base.domain.Clock;
 import workshop.cinema.reservation.domain.ShowCommand.CancelSeatReservation;
+import workshop.cinema.reservation.domain.ShowCommand.CancelSeatReservations;
+import workshop.cinema.reservation.domain.ShowCommand.ConfirmSeatHolds;
 import workshop.cinema.reservation.domain.ShowCommand.CreateShow;
+import workshop.cinema.reservation.domain.ShowCommand.HoldSeats;
+import workshop.cinema.reservation.domain.ShowCommand.RepriceTier;
+import workshop.cinema.reservation.domain.ShowCommand.ReserveBestAvailable;
 import workshop.cinema.reservation.domain.ShowCommand.ReserveSeat;
+import workshop.cinema.reservation.domain.ShowCommand.ReserveSeats;
+import workshop.cinema.reservation.domain.ShowDecision.Rejected;
+import workshop.cinema.reservation.domain.ShowEvent.PriceTierChanged;
+import workshop.cinema.reservation.domain.ShowEvent.SeatHoldsConfirmed;
+import workshop.cinema.reservation.domain.ShowEvent.SeatHoldsExpired;
 import workshop.cinema.reservation.domain.ShowEvent.SeatReservationCancelled;
 import workshop.cinema.reservation.domain.ShowEvent.SeatReserved;
+import workshop.cinema.reservation.domain.ShowEvent.SeatsHeld;
+import workshop.cinema.reservation.domain.ShowEvent.SeatsReservationCancelled;
+import workshop.cinema.reservation.domain.ShowEvent.SeatsReserved;
 import workshop.cinema.reservation.domain.ShowEvent.ShowCreated;
 
 import java.io.Serializable;
+import java.time.Instant;
 
 import static io.vavr.control.Either.left;
 import static io.vavr.control.Either.right;
+import static workshop.cinema.reservation.domain.ShowCommandError.INVALID_HOLD_DURATION;
+import static workshop.cinema.reservation.domain.ShowCommandError.INVALID_PRICE;
+import static workshop.cinema.reservation.domain.ShowCommandError.NO_SEATS_SELECTED;
+import static workshop.cinema.reservation.domain.ShowCommandError.PRICE_TIER_NOT_EXISTS;
+import static workshop.cinema.reservation.domain.ShowCommandError.SEATS_TOGETHER_NOT_AVAILABLE;
 import static workshop.cinema.reservation.domain.ShowCommandError.SEAT_NOT_AVAILABLE;
 import static workshop.cinema.reservation.domain.ShowCommandError.SEAT_NOT_EXISTS;
+import static workshop.cinema.reservation.domain.ShowCommandError.SEAT_NOT_HELD;
 import static workshop.cinema.reservation.domain.ShowCommandError.SEAT_NOT_RESERVED;
 import static workshop.cinema.reservation.domain.ShowCommandError.SHOW_ALREADY_EXISTS;
 
-public record Show(ShowId id, String title, Map<SeatNumber, Seat> seats) implements Serializable {
+public record Show(ShowId id, String title, Seats seats, SeatHolds holds) implements Serializable {
+
+    public Show(ShowId id, String title, Seats seats) {
+        this(id, title, seats, SeatHolds.empty());
+    }
 
     public static Show create(ShowCreated showCreated) {
         InitialShow initialShow = showCreated.initialShow();
-        return new Show(initialShow.id(), initialShow.title(), initialShow.seats());
+        return new Show(initialShow.id(), initialShow.title(), Seats.create(initialShow.layout()));
+    }
+
+    public static Show fromSnapshot(ShowSnapshot snapshot) {
+        Seats seats = Seats.restore(snapshot.layout(), snapshot.seatStatuses(), snapshot.prices(), snapshot.seatTiers());
+        return new Show(snapshot.id(), snapshot.title(), seats, snapshot.holds());
+    }
+
+    public ShowSnapshot toSnapshot() {
+        return new ShowSnapshot(id, title, seats.layout(), seats.statusWords(), seats.priceTiers(), seats.seatTiers(), holds);
     }
 
     public Either<ShowCommandError, List<ShowEvent>> process(ShowCommand command, Clock clock) {
+        return switch (decide(command, clock)) {
+            case ShowEvent event -> right(List.of(event));
+            case Rejected rejected -> left(rejected.error());
+        };
+    }
+
+    public ShowDecision decide(ShowCommand command, Clock clock) {
         return switch (command) {
-            case CreateShow ignored -> left(SHOW_ALREADY_EXISTS);
+            case CreateShow ignored -> Rejected.of(SHOW_ALREADY_EXISTS);
             case ReserveSeat reserveSeat -> handleReservation(reserveSeat, clock);
             case CancelSeatReservation cancelSeatReservation -> handleCancellation(cancelSeatReservation, clock);
+            case ReserveSeats reserveSeats -> handleReservations(reserveSeats, clock);
+            case CancelSeatReservations cancelSeatReservations -> handleCancellations(cancelSeatReservations, clock);
+            case ReserveBestAvailable reserveBestAvailable -> handleBestAvailable(reserveBestAvailable, clock);
+            case HoldSeats holdSeats -> handleHold(holdSeats, clock);
+            case ConfirmSeatHolds confirmSeatHolds -> handleHoldConfirmation(confirmSeatHolds, clock);
+            case RepriceTier repriceTier -> handleRepricing(repriceTier, clock);
         };
     }
 
-    private Either<ShowCommandError, List<ShowEvent>> handleReservation(ReserveSeat reserveSeat, Clock clock) {
+    public List<ShowEvent> expireHolds(Clock clock) {
+        if (holds.isEmpty()) {
+            return List.empty();
+        }
+        Instant now = clock.now();
+        SeatNumbers due = holds.due(now);
+        if (due.isEmpty()) {
+            return List.empty();
+        } else {
+            return List.of(new SeatHoldsExpired(id, now, due));
+        }
+    }
+
+    private ShowDecision handleReservation(ReserveSeat reserveSeat, Clock clock) {
         SeatNumber seatNumber = reserveSeat.seatNumber();
-        return seats.get(seatNumber).<Either<ShowCommandError, List<ShowEvent>>>map(seat -> {
-            if (seat.isAvailable()) {
-                return right(List.of(new SeatReserved(id, clock.now(), seatNumber)));
-            } else {
-                return left(SEAT_NOT_AVAILABLE);
-            }
-        }).getOrElse(left(SEAT_NOT_EXISTS));
+        if (!seats.exists(seatNumber)) {
+            return Rejected.of(SEAT_NOT_EXISTS);
+        } else if (seats.isAvailable(seatNumber)) {
+            return new SeatReserved(id, clock.now(), seatNumber);
+        } else {
+            return Rejected.of(SEAT_NOT_AVAILABLE);
+        }
     }
 
-    private Either<ShowCommandError, List<ShowEvent>> handleCancellation(CancelSeatReservation cancelSeatReservation, Clock clock) {
+    private ShowDecision handleCancellation(CancelSeatReservation cancelSeatReservation, Clock clock) {
         SeatNumber seatNumber = cancelSeatReservation.seatNumber();
-        return seats.get(seatNumber).<Either<ShowCommandError, List<ShowEvent>>>map(seat -> {
-            if (seat.isReserved()) {
-                return right(List.of(new SeatReservationCancelled(id, clock.now(), seatNumber)));
-            } else {
-                return left(SEAT_NOT_RESERVED);
-            }
-        }).getOrElse(left(SEAT_NOT_EXISTS));
+        if (!seats.exists(seatNumber)) {
+            return Rejected.of(SEAT_NOT_EXISTS);
+        } else if (seats.isReserved(seatNumber)) {
+            return new SeatReservationCancelled(id, clock.now(), seatNumber);
+        } else {
+            return Rejected.of(SEAT_NOT_RESERVED);
+        }
+    }
+
+    private ShowDecision handleReservations(ReserveSeats reserveSeats, Clock clock) {
+        SeatNumbers seatNumbers = reserveSeats.seatNumbers();
+        if (seatNumbers.isEmpty()) {
+            return Rejected.of(NO_SEATS_SELECTED);
+        } else if (!seats.allExist(seatNumbers)) {
+            return Rejected.of(SEAT_NOT_EXISTS);
+        } else if (seats.allHaveStatus(seatNumbers, SeatStatus.AVAILABLE)) {
+            return new SeatsReserved(id, clock.now(), seatNumbers);
+        } else {
+            return Rejected.of(SEAT_NOT_AVAILABLE);
+        }
+    }
+
+    private ShowDecision handleCancellations(CancelSeatReservations cancelSeatReservations, Clock clock) {
+        SeatNumbers seatNumbers = cancelSeatReservations.seatNumbers();
+        if (seatNumbers.isEmpty()) {
+            return Rejected.of(NO_SEATS_SELECTED);
+        } else if (!seats.allExist(seatNumbers)) {
+            return Rejected.of(SEAT_NOT_EXISTS);
+        } else if (seats.allHaveStatus(seatNumbers, SeatStatus.RESERVED)) {
+            return new SeatsReservationCancelled(id, clock.now(), seatNumbers);
+        } else {
+            return Rejected.of(SEAT_NOT_RESERVED);
+        }
+    }
+
+    private ShowDecision handleBestAvailable(ReserveBestAvailable reserveBestAvailable, Clock clock) {
+        if (reserveBestAvailable.count() <= 0) {
+            return Rejected.of(NO_SEATS_SELECTED);
+        }
+        SeatNumbers seatNumbers = seats.bestAvailable(reserveBestAvailable.count(), reserveBestAvailable.preferences());
+        if (seatNumbers.isEmpty()) {
+            return Rejected.of(SEATS_TOGETHER_NOT_AVAILABLE);
+        } else {
+            return new SeatsReserved(id, clock.now(), seatNumbers);
+        }
+    }
+
+    private ShowDecision handleHold(HoldSeats holdSeats, Clock clock) {
+        SeatNumbers seatNumbers = holdSeats.seatNumbers();
+        if (holdSeats.duration() == null || holdSeats.duration().isNegative() || holdSeats.duration().isZero()) {
+            return Rejected.of(INVALID_HOLD_DURATION);
+        } else if (seatNumbers.isEmpty()) {
+            return Rejected.of(NO_SEATS_SELECTED);
+        } else if (!seats.allExist(seatNumbers)) {
+            return Rejected.of(SEAT_NOT_EXISTS);
+        } else if (seats.allHaveStatus(seatNumbers, SeatStatus.AVAILABLE)) {
+            Instant now = clock.now();
+            return new SeatsHeld(id, now, seatNumbers, SeatHolds.deadline(now, holdSeats.duration()));
+        } else {
+            return Rejected.of(SEAT_NOT_AVAILABLE);
+        }
+    }
+
+    private ShowDecision handleHoldConfirmation(ConfirmSeatHolds confirmSeatHolds, Clock clock) {
+        SeatNumbers seatNumbers = confirmSeatHolds.seatNumbers();
+        if (seatNumbers.isEmpty()) {
+            return Rejected.of(NO_SEATS_SELECTED);
+        } else if (!seats.allExist(seatNumbers)) {
+            return Rejected.of(SEAT_NOT_EXISTS);
+        } else if (seats.allHaveStatus(seatNumbers, SeatStatus.HELD)) {
+            return new SeatHoldsConfirmed(id, clock.now(), seatNumbers);
+        } else {
+            return Rejected.of(SEAT_NOT_HELD);
+        }
+    }
+
+    private ShowDecision handleRepricing(RepriceTier repriceTier, Clock clock) {
+        if (repriceTier.tier() < 0 || repriceTier.tier() >= seats.tierCount()) {
+            return Rejected.of(PRICE_TIER_NOT_EXISTS);
+        } else if (repriceTier.price() == null || repriceTier.price().signum() < 0) {
+            return Rejected.of(INVALID_PRICE);
+        } else {
+            return new PriceTierChanged(id, clock.now(), repriceTier.tier(), repriceTier.price());
+        }
     }
 
     public Show apply(ShowEvent event) {
@@ -62,21 +197,28 @@ public record Show(ShowId id, String title, Map<SeatNumber, Seat> seats) impleme
             case ShowCreated ignored -> throw new IllegalStateException("Show is already created, use Show.create instead.");
             case SeatReserved seatReserved -> applyReserved(seatReserved);
             case SeatReservationCancelled seatReservationCancelled -> applyReservationCancelled(seatReservationCancelled);
+            case SeatsReserved seatsReserved -> withSeats(seats.withStatus(seatsReserved.seatNumbers(), SeatStatus.RESERVED));
+            case SeatsReservationCancelled seatsReservationCancelled ->
+                    withSeats(seats.withStatus(seatsReservationCancelled.seatNumbers(), SeatStatus.AVAILABLE));
+            case SeatsHeld seatsHeld -> new Show(id, title, seats.withStatus(seatsHeld.seatNumbers(), SeatStatus.HELD),
+                    holds.with(seatsHeld.expiresAt(), seatsHeld.seatNumbers()));
+            case SeatHoldsConfirmed seatHoldsConfirmed -> new Show(id, title, seats.withStatus(seatHoldsConfirmed.seatNumbers(), SeatStatus.RESERVED),
+                    holds.without(seatHoldsConfirmed.seatNumbers()));
+            case SeatHoldsExpired seatHoldsExpired -> new Show(id, title, seats.withStatus(seatHoldsExpired.seatNumbers(), SeatStatus.AVAILABLE),
+                    holds.without(seatHoldsExpired.seatNumbers()));
+            case PriceTierChanged priceTierChanged -> withSeats(seats.withTierPrice(priceTierChanged.tier(), priceTierChanged.price()));
         };
     }
 
     private Show applyReservationCancelled(SeatReservationCancelled seatReservationCancelled) {
-        Seat seat = getSeatOrThrow(seatReservationCancelled.seatNumber());
-        return new Show(id, title, seats.put(seat.number(), seat.available()));
+        return withSeats(seats.withStatus(seatReservationCancelled.seatNumber(), SeatStatus.AVAILABLE));
     }
 
     private Show applyReserved(SeatReserved seatReserved) {
-        Seat seat = getSeatOrThrow(seatReserved.seatNumber());
-        return new Show(id, title, seats.put(seat.number(), seat.reserved()));
+        return withSeats(seats.withStatus(seatReserved.seatNumber(), SeatStatus.RESERVED));
     }
 
-    private Seat getSeatOrThrow(SeatNumber seatNumber) {
-        return seats.get(seatNumber).getOrElseThrow(() -> new IllegalStateException("Seat not exists %s".formatted(seatNumber)));
+    private Show withSeats(Seats updatedSeats) {
+        return new Show(id, title, updatedSeats, holds);
     }
 }
-
@@ -1,11 +1,21 @@
 package workshop.cinema.reservation.domain;
 
 import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Duration;
 
 public sealed interface ShowCommand extends Serializable {
     ShowId showId();
 
-    record CreateShow(ShowId showId, String title, int maxSeats) implements ShowCommand {
+    record CreateShow(ShowId showId, String title, SeatingLayout layout) implements ShowCommand {
+
+        public CreateShow(ShowId showId, String title, int maxSeats) {
+            this(showId, title, SeatingLayout.singleRow(maxSeats, ShowCreator.INITIAL_PRICE));
+        }
+
+        public int maxSeats() {
+            return layout.seatCount();
+        }
     }
 
     record ReserveSeat(ShowId showId, SeatNumber seatNumber) implements ShowCommand {
@@ -13,4 +23,22 @@ public sealed interface ShowCommand extends Serializable {
 
     record CancelSeatReservation(ShowId showId, SeatNumber seatNumber) implements ShowCommand {
     }
+
+    record ReserveSeats(ShowId showId, SeatNumbers seatNumbers) implements ShowCommand {
+    }
+
+    record CancelSeatReservations(ShowId showId, SeatNumbers seatNumbers) implements ShowCommand {
+    }
+
+    record HoldSeats(ShowId showId, SeatNumbers seatNumbers, Duration duration) implements ShowCommand {
+    }
+
+    record ConfirmSeatHolds(ShowId showId, SeatNumbers seatNumbers) implements ShowCommand {
+    }
+
+    record ReserveBestAvailable(ShowId showId, int count, SeatPreferences preferences) implements ShowCommand {
+    }
+
+    record RepriceTier(ShowId showId, int tier, BigDecimal price) implements ShowCommand {
+    }
 }
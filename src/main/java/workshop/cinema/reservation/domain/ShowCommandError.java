@@ -1,5 +1,6 @@
 package workshop.cinema.reservation.domain;
 
 public enum ShowCommandError {
-    SHOW_ALREADY_EXISTS, SHOW_NOT_EXISTS, TOO_MANY_SEATS, SEAT_NOT_EXISTS, SEAT_NOT_AVAILABLE, SEAT_NOT_RESERVED
+    SHOW_ALREADY_EXISTS, SHOW_NOT_EXISTS, TOO_MANY_SEATS, INVALID_SEATING_LAYOUT, NO_SEATS_SELECTED, SEAT_NOT_EXISTS, SEAT_NOT_AVAILABLE, SEAT_NOT_RESERVED, SEATS_TOGETHER_NOT_AVAILABLE,
+    INVALID_HOLD_DURATION, SEAT_NOT_HELD, PRICE_TIER_NOT_EXISTS, INVALID_PRICE
 }
\ No newline at end of file
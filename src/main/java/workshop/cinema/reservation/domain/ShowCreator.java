@@ -1,9 +1,5 @@
 package workshop.cinema.reservation.domain;
 
-import io.vavr.Tuple2;
-import io.vavr.collection.HashMap;
-import io.vavr.collection.Map;
-import io.vavr.collection.Vector;
 import io.vavr.control.Either;
 import workshop.cinema.base.domain.Clock;
 import workshop.cinema.reservation.domain.ShowCommand.CreateShow;
@@ -13,30 +9,33 @@ import java.math.BigDecimal;
 
 import static io.vavr.control.Either.left;
 import static io.vavr.control.Either.right;
+import static workshop.cinema.reservation.domain.ShowCommandError.INVALID_SEATING_LAYOUT;
 import static workshop.cinema.reservation.domain.ShowCommandError.TOO_MANY_SEATS;
 
 public class ShowCreator {
 
     public static final BigDecimal INITIAL_PRICE = new BigDecimal("100");
+    public static final int DEFAULT_MAX_SEATS = 60_000;
 
     public static Either<ShowCommandError, ShowCreated> create(CreateShow createShow, Clock clock) {
+        return create(createShow, DEFAULT_MAX_SEATS, clock);
+    }
+
+    public static Either<ShowCommandError, ShowCreated> create(CreateShow createShow, int maxSeats, Clock clock) {
         //more domain validation here
-        if (createShow.maxSeats() > 100) {
+        SeatingLayout layout = createShow.layout();
+        if (layout == null || !layout.isValid()) {
+            return left(INVALID_SEATING_LAYOUT);
+        } else if (layout.seatCount() > maxSeats) {
             return left(TOO_MANY_SEATS);
         } else {
-            var initialShow = new InitialShow(createShow.showId(), createShow.title(), createSeats(INITIAL_PRICE, createShow.maxSeats()));
+            var initialShow = new InitialShow(createShow.showId(), createShow.title(), layout);
             var showCreated = new ShowCreated(createShow.showId(), clock.now(), initialShow);
             return right(showCreated);
         }
     }
 
-    public static Map<SeatNumber, Seat> createSeats(BigDecimal seatPrice, int maxSeats) {
-        var seatRange = Vector.range(0, maxSeats);
-        var seats = seatRange.map(seatNum -> {
-            var seatNumber = new SeatNumber(seatNum);
-            var seat = new Seat(seatNumber, SeatStatus.AVAILABLE, seatPrice);
-            return new Tuple2<>(seatNumber, seat);
-        });
-        return HashMap.ofEntries(seats);
+    public static Seats createSeats(BigDecimal seatPrice, int maxSeats) {
+        return Seats.create(maxSeats, seatPrice);
     }
 }
@@ -0,0 +1,23 @@
+package workshop.cinema.reservation.domain;
+
+/**
+ * Outcome of a show command: the event to persist or the rejection. Events are decisions themselves and rejections are
+ * shared per error, so deciding allocates nothing but the event.
+ */
+public sealed interface ShowDecision permits ShowEvent, ShowDecision.Rejected {
+
+    record Rejected(ShowCommandError error) implements ShowDecision {
+
+        private static final Rejected[] REJECTIONS = new Rejected[ShowCommandError.values().length];
+
+        static {
+            for (ShowCommandError error : ShowCommandError.values()) {
+                REJECTIONS[error.ordinal()] = new Rejected(error);
+            }
+        }
+
+        public static Rejected of(ShowCommandError error) {
+            return REJECTIONS[error.ordinal()];
+        }
+    }
+}
@@ -1,9 +1,10 @@
 package workshop.cinema.reservation.domain;
 
 import java.io.Serializable;
+import java.math.BigDecimal;
 import java.time.Instant;
 
-public sealed interface ShowEvent extends Serializable {
+public sealed interface ShowEvent extends Serializable, ShowDecision {
     ShowId showId();
 
     Instant createdAt();
@@ -16,4 +17,22 @@ public sealed interface ShowEvent extends Serializable {
 
     record SeatReservationCancelled(ShowId showId, Instant createdAt, SeatNumber seatNumber) implements ShowEvent {
     }
+
+    record SeatsReserved(ShowId showId, Instant createdAt, SeatNumbers seatNumbers) implements ShowEvent {
+    }
+
+    record SeatsReservationCancelled(ShowId showId, Instant createdAt, SeatNumbers seatNumbers) implements ShowEvent {
+    }
+
+    record SeatsHeld(ShowId showId, Instant createdAt, SeatNumbers seatNumbers, Instant expiresAt) implements ShowEvent {
+    }
+
+    record SeatHoldsConfirmed(ShowId showId, Instant createdAt, SeatNumbers seatNumbers) implements ShowEvent {
+    }
+
+    record SeatHoldsExpired(ShowId showId, Instant createdAt, SeatNumbers seatNumbers) implements ShowEvent {
+    }
+
+    record PriceTierChanged(ShowId showId, Instant createdAt, int tier, BigDecimal price) implements ShowEvent {
+    }
 }
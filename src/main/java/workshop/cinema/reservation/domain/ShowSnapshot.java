@@ -0,0 +1,46 @@
+package workshop.cinema.reservation.domain;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Compact form of {@link Show} for snapshots: the layout with packed seat statuses (two bits per seat), the price
+ * tiers and the holds. Everything derived from them, like the free-run index, is rebuilt on recovery. Equality compares
+ * the array contents.
+ *
+ * @param seatTiers per seat price tiers, null when all seats are priced by their section
+ */
+public record ShowSnapshot(ShowId id, String title, SeatingLayout layout, long[] seatStatuses, BigDecimal[] prices,
+                           byte[] seatTiers, SeatHolds holds) implements Serializable {
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof ShowSnapshot other
+                && id.equals(other.id)
+                && title.equals(other.title)
+                && layout.equals(other.layout)
+                && Arrays.equals(seatStatuses, other.seatStatuses)
+                && Arrays.equals(prices, other.prices)
+                && Arrays.equals(seatTiers, other.seatTiers)
+                && holds.equals(other.holds);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hash(id, title, layout, holds);
+        result = 31 * result + Arrays.hashCode(seatStatuses);
+        result = 31 * result + Arrays.hashCode(prices);
+        return 31 * result + Arrays.hashCode(seatTiers);
+    }
+
+    @Override
+    public String toString() {
+        return "ShowSnapshot(id=" + id + ", title=" + title + ", layout=" + layout + ", seats=" + seatStatuses.length
+                + " status words, prices=" + Arrays.toString(prices) + ", holds=" + holds + ")";
+    }
+}
@@ -0,0 +1,96 @@
+package workshop.cinema.reservation.infrastructure;
+
+import java.io.NotSerializableException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.UUID;
+
+final class BinaryReader {
+
+    private final byte[] bytes;
+    private int position;
+
+    BinaryReader(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    int readByte() throws NotSerializableException {
+        if (position >= bytes.length) {
+            throw new NotSerializableException("Unexpected end of payload at " + position);
+        }
+        return bytes[position++] & 0xFF;
+    }
+
+    boolean readBoolean() throws NotSerializableException {
+        return readByte() != 0;
+    }
+
+    long readLong() throws NotSerializableException {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | readByte();
+        }
+        return value;
+    }
+
+    int readVarInt() throws NotSerializableException {
+        return (int) readVarLong();
+    }
+
+    long readVarLong() throws NotSerializableException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new NotSerializableException("Malformed varint at " + position);
+    }
+
+    int readSignedVarInt() throws NotSerializableException {
+        int value = readVarInt();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    long readSignedVarLong() throws NotSerializableException {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    UUID readUuid() throws NotSerializableException {
+        return new UUID(readLong(), readLong());
+    }
+
+    Instant readInstant() throws NotSerializableException {
+        long epochNanos = readLong();
+        return Instant.ofEpochSecond(Math.floorDiv(epochNanos, 1_000_000_000L), Math.floorMod(epochNanos, 1_000_000_000L));
+    }
+
+    String readString() throws NotSerializableException {
+        byte[] value = readBytes();
+        return value == null ? null : new String(value, StandardCharsets.UTF_8);
+    }
+
+    byte[] readBytes() throws NotSerializableException {
+        int length = readVarInt() - 1;
+        if (length < 0) {
+            return null;
+        }
+        if (length > bytes.length - position) {
+            throw new NotSerializableException("Unexpected end of payload at " + position);
+        }
+        byte[] value = Arrays.copyOfRange(bytes, position, position + length);
+        position += length;
+        return value;
+    }
+
+    BigDecimal readBigDecimal() throws NotSerializableException {
+        byte[] unscaled = readBytes();
+        return unscaled == null ? null : new BigDecimal(new BigInteger(unscaled), readSignedVarInt());
+    }
+}
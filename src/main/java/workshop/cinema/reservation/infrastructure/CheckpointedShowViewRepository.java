@@ -0,0 +1,209 @@
+package workshop.cinema.reservation.infrastructure;
+
+import akka.Done;
+import akka.actor.CoordinatedShutdown;
+import akka.actor.typed.ActorSystem;
+import akka.persistence.query.Offset;
+import akka.persistence.query.Sequence;
+import io.vavr.control.Option;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import workshop.cinema.reservation.application.projection.AvailabilityChange;
+import workshop.cinema.reservation.application.projection.OffsetTrackingShowViewRepository;
+import workshop.cinema.reservation.application.projection.ShowView;
+import workshop.cinema.reservation.domain.ShowId;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+
+/**
+ * In-memory read model with the offsets of the events applied to it, saved together to a local file from time to time.
+ * After a restart the view is loaded from the file and the projections continue from the saved offsets, so only the
+ * events after the last checkpoint are replayed.
+ */
+public class CheckpointedShowViewRepository implements OffsetTrackingShowViewRepository {
+
+    private static final int VERSION = 1;
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+    private final Path file;
+    private final InMemoryShowViewRepository view;
+    private final ConcurrentMap<String, Long> offsets;
+    // updates share the read lock, a checkpoint takes the write lock to see the view matching the offsets
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private CheckpointedShowViewRepository(Path file, InMemoryShowViewRepository view, ConcurrentMap<String, Long> offsets) {
+        this.file = file;
+        this.view = view;
+        this.offsets = offsets;
+    }
+
+    public static CheckpointedShowViewRepository load(Path file) throws IOException {
+        InMemoryShowViewRepository view = new InMemoryShowViewRepository();
+        ConcurrentMap<String, Long> offsets = new ConcurrentHashMap<>();
+        if (Files.exists(file)) {
+            BinaryReader reader = new BinaryReader(Files.readAllBytes(file));
+            int version = reader.readVarInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported show view checkpoint version " + version + " in " + file);
+            }
+            int offsetCount = reader.readVarInt();
+            for (int i = 0; i < offsetCount; i++) {
+                offsets.put(reader.readString(), reader.readVarLong());
+            }
+            int showCount = reader.readVarInt();
+            for (int i = 0; i < showCount; i++) {
+                view.put(ShowId.of(reader.readUuid()), reader.readSignedVarInt());
+            }
+        }
+        return new CheckpointedShowViewRepository(file, view, offsets);
+    }
+
+    /**
+     * Checkpoints every {@code interval} and when the actor system shuts down.
+     */
+    public void scheduleCheckpoints(ActorSystem<?> system, Duration interval) {
+        system.scheduler().scheduleWithFixedDelay(interval, interval, this::tryCheckpoint, system.executionContext());
+        CoordinatedShutdown.get(system).addTask(CoordinatedShutdown.PhaseBeforeActorSystemTerminate(), "checkpoint show view", () -> {
+            tryCheckpoint();
+            return CompletableFuture.completedFuture(Done.getInstance());
+        });
+    }
+
+    private void tryCheckpoint() {
+        try {
+            checkpoint();
+        } catch (IOException exception) {
+            log.error("Show view checkpoint to {} failed", file, exception);
+        }
+    }
+
+    public synchronized void checkpoint() throws IOException {
+        BinaryWriter writer;
+        lock.writeLock().lock();
+        try {
+            Map<ShowId, ShowView> views = view.views();
+            writer = new BinaryWriter(32 + offsets.size() * 24 + views.size() * 20);
+            writer.writeVarInt(VERSION);
+            writer.writeVarInt(offsets.size());
+            offsets.forEach((projectionKey, offset) -> {
+                writer.writeString(projectionKey);
+                writer.writeVarLong(offset);
+            });
+            writer.writeVarInt(views.size());
+            views.forEach((showId, showView) -> {
+                writer.writeUuid(showId.id());
+                writer.writeSignedVarInt(showView.availableSeats());
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temporaryFile, writer.toByteArray());
+        Files.move(temporaryFile, file, REPLACE_EXISTING, ATOMIC_MOVE);
+        log.debug("Show view checkpoint with {} offsets written to {}", offsets.size(), file);
+    }
+
+    @Override
+    public CompletionStage<Done> applyAvailabilityChanges(String projectionKey, Offset offset, List<AvailabilityChange> changes) {
+        long sequence = sequence(offset);
+        return supplyAsync(() -> {
+            lock.readLock().lock();
+            try {
+                view.apply(changes);
+                offsets.put(projectionKey, sequence);
+            } finally {
+                lock.readLock().unlock();
+            }
+            return Done.done();
+        });
+    }
+
+    @Override
+    public CompletionStage<Done> replaceAll(List<AvailabilityChange> shows, Map<String, Offset> offsets) {
+        Map<String, Long> sequences = new HashMap<>();
+        offsets.forEach((projectionKey, offset) -> sequences.put(projectionKey, sequence(offset)));
+        return supplyAsync(() -> {
+            lock.writeLock().lock();
+            try {
+                view.replaceAll(shows);
+                this.offsets.clear();
+                this.offsets.putAll(sequences);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            tryCheckpoint();
+            return Done.done();
+        });
+    }
+
+    private static long sequence(Offset offset) {
+        if (offset instanceof Sequence sequence) {
+            return sequence.value();
+        }
+        throw new IllegalArgumentException("Only sequence offsets can be checkpointed, got " + offset);
+    }
+
+    @Override
+    public Option<Offset> offset(String projectionKey) {
+        return Option.of(offsets.get(projectionKey)).map(Offset::sequence);
+    }
+
+    @Override
+    public CompletionStage<List<ShowView>> findAvailable() {
+        return view.findAvailable();
+    }
+
+    @Override
+    public CompletionStage<Option<ShowView>> findBy(ShowId showId) {
+        return view.findBy(showId);
+    }
+
+    @Override
+    public CompletionStage<List<ShowView>> findAvailable(int limit, Option<ShowId> afterShowId) {
+        return view.findAvailable(limit, afterShowId);
+    }
+
+    @Override
+    public CompletionStage<Done> save(ShowId showId, int availableSeats) {
+        return applyAvailabilityChanges(List.of(AvailabilityChange.created(showId, availableSeats)));
+    }
+
+    @Override
+    public CompletionStage<Done> decrementAvailability(ShowId showId, int seats) {
+        return applyAvailabilityChanges(List.of(AvailabilityChange.delta(showId, -seats)));
+    }
+
+    @Override
+    public CompletionStage<Done> incrementAvailability(ShowId showId, int seats) {
+        return applyAvailabilityChanges(List.of(AvailabilityChange.delta(showId, seats)));
+    }
+
+    @Override
+    public CompletionStage<Done> applyAvailabilityChanges(List<AvailabilityChange> changes) {
+        return supplyAsync(() -> {
+            lock.readLock().lock();
+            try {
+                view.apply(changes);
+            } finally {
+                lock.readLock().unlock();
+            }
+            return Done.done();
+        });
+    }
+}
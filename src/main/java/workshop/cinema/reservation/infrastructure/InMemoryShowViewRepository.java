@@ -1,49 +1,145 @@
 package workshop.cinema.reservation.infrastructure;
 
 import akka.Done;
+import akka.persistence.query.Offset;
+import io.vavr.control.Option;
+import workshop.cinema.reservation.application.projection.AvailabilityChange;
 import workshop.cinema.reservation.application.projection.ShowViewRepository;
 import workshop.cinema.reservation.application.projection.ShowView;
 import workshop.cinema.reservation.domain.ShowId;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.IntUnaryOperator;
 
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static java.util.concurrent.CompletableFuture.supplyAsync;
 
 public class InMemoryShowViewRepository implements ShowViewRepository {
 
-    private ConcurrentMap<ShowId, ShowView> store = new ConcurrentHashMap<>();
+    // replaced as a whole by a rebuild
+    private volatile Views views = new Views();
 
 
     @Override
     public CompletionStage<List<ShowView>> findAvailable() {
-        return completedFuture(store.values().stream().filter(showView -> showView.availableSeats() > 0).toList());
+        return completedFuture(List.copyOf(views.available().values()));
+    }
+
+    @Override
+    public CompletionStage<Option<ShowView>> findBy(ShowId showId) {
+        return completedFuture(Option.of(views.store().get(showId)));
+    }
+
+    @Override
+    public CompletionStage<List<ShowView>> findAvailable(int limit, Option<ShowId> afterShowId) {
+        var available = views.available();
+        var showViews = afterShowId.map(showId -> available.tailMap(showId.id().toString(), false)).getOrElse(available).values();
+        List<ShowView> page = new ArrayList<>(Math.min(limit, 64));
+        Iterator<ShowView> iterator = showViews.iterator();
+        while (page.size() < limit && iterator.hasNext()) {
+            page.add(iterator.next());
+        }
+        return completedFuture(page);
     }
 
     @Override
     public CompletionStage<Done> save(ShowId showId, int availableSeats) {
         return supplyAsync(() -> {
-            store.put(showId, new ShowView(showId.toString(), availableSeats));
+            update(showId, seats -> availableSeats);
             return Done.done();
         });
     }
 
     @Override
-    public CompletionStage<Done> decrementAvailability(ShowId showId) {
+    public CompletionStage<Done> decrementAvailability(ShowId showId, int seats) {
         return supplyAsync(() -> {
-            store.compute(showId, (id, view) -> new ShowView(view.showId(), view.availableSeats() - 1));
+            update(showId, availableSeats -> availableSeats - seats);
             return Done.done();
         });
     }
 
     @Override
-    public CompletionStage<Done> incrementAvailability(ShowId showId) {
+    public CompletionStage<Done> incrementAvailability(ShowId showId, int seats) {
         return supplyAsync(() -> {
-            store.compute(showId, (id, view) -> new ShowView(view.showId(), view.availableSeats() - 2));
+            update(showId, availableSeats -> availableSeats + seats);
             return Done.done();
         });
     }
+
+    @Override
+    public CompletionStage<Done> applyAvailabilityChanges(List<AvailabilityChange> changes) {
+        return supplyAsync(() -> {
+            apply(changes);
+            return Done.done();
+        });
+    }
+
+    @Override
+    public CompletionStage<Done> replaceAll(List<AvailabilityChange> shows, Map<String, Offset> offsets) {
+        return supplyAsync(() -> {
+            replaceAll(shows);
+            return Done.done();
+        });
+    }
+
+    void apply(List<AvailabilityChange> changes) {
+        Views current = views;
+        changes.forEach(change -> {
+            if (change.created()) {
+                current.update(change.showId(), seats -> change.seats());
+            } else {
+                current.update(change.showId(), availableSeats -> availableSeats + change.seats());
+            }
+        });
+    }
+
+    void replaceAll(List<AvailabilityChange> shows) {
+        Views shadow = new Views();
+        shows.forEach(show -> shadow.update(show.showId(), seats -> show.seats()));
+        views = shadow;
+    }
+
+    void put(ShowId showId, int availableSeats) {
+        update(showId, seats -> availableSeats);
+    }
+
+    Map<ShowId, ShowView> views() {
+        return Collections.unmodifiableMap(views.store());
+    }
+
+    private void update(ShowId showId, IntUnaryOperator availableSeats) {
+        views.update(showId, availableSeats);
+    }
+
+    /**
+     * @param available shows with available seats by show uuid string (same order as in the database), updated within
+     *                  the compute of the store entry
+     */
+    private record Views(ConcurrentMap<ShowId, ShowView> store, ConcurrentNavigableMap<String, ShowView> available) {
+
+        Views() {
+            this(new ConcurrentHashMap<>(), new ConcurrentSkipListMap<>());
+        }
+
+        void update(ShowId showId, IntUnaryOperator availableSeats) {
+            store.compute(showId, (id, view) -> {
+                ShowView updated = new ShowView(id, availableSeats.applyAsInt(view == null ? 0 : view.availableSeats()));
+                if (updated.availableSeats() > 0) {
+                    available.put(id.id().toString(), updated);
+                } else {
+                    available.remove(id.id().toString());
+                }
+                return updated;
+            });
+        }
+    }
 }
@@ -0,0 +1,214 @@
+package workshop.cinema.reservation.infrastructure;
+
+import akka.Done;
+import akka.persistence.query.Offset;
+import akka.persistence.query.Sequence;
+import io.vavr.control.Option;
+import workshop.cinema.reservation.application.projection.AvailabilityChange;
+import workshop.cinema.reservation.application.projection.JdbcShowViewWriter;
+import workshop.cinema.reservation.application.projection.ShowView;
+import workshop.cinema.reservation.application.projection.ShowViewProjection;
+import workshop.cinema.reservation.application.projection.ShowViewRepository;
+import workshop.cinema.reservation.domain.ShowId;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+/**
+ * Read model in the show_view table, see development/create_show_view_table.sql. Blocking JDBC calls run on the given
+ * executor.
+ */
+public class JdbcShowViewRepository implements ShowViewRepository, JdbcShowViewWriter {
+
+    // the available shows and their pages are served by the partial show_view_available_idx index
+    private static final String FIND_AVAILABLE = "SELECT show_id, available_seats FROM show_view WHERE available_seats > 0";
+    private static final String FIND_BY = "SELECT show_id, available_seats FROM show_view WHERE show_id = ?";
+    private static final String FIND_AVAILABLE_PAGE = FIND_AVAILABLE + " ORDER BY show_id LIMIT ?";
+    private static final String FIND_AVAILABLE_PAGE_AFTER = FIND_AVAILABLE + " AND show_id > ? ORDER BY show_id LIMIT ?";
+    // a created show sets the availability (also when the group is replayed), other changes are added to it
+    private static final String UPSERT = """
+            INSERT INTO show_view (show_id, available_seats) VALUES (?, ?)
+            ON CONFLICT (show_id) DO UPDATE SET available_seats =
+                CASE WHEN ? THEN EXCLUDED.available_seats ELSE show_view.available_seats + EXCLUDED.available_seats END""";
+
+    private static final String SHADOW_INSERT = "INSERT INTO show_view_shadow (show_id, available_seats) VALUES (?, ?)";
+    // stored as the jdbc projections store sequence offsets
+    private static final String OFFSET_UPSERT = """
+            INSERT INTO akka_projection_offset_store
+                (projection_name, projection_key, current_offset, manifest, mergeable, last_updated)
+            VALUES (?, ?, ?, 'SEQ', FALSE, (extract(EPOCH FROM now()) * 1000)::bigint)
+            ON CONFLICT (projection_name, projection_key) DO UPDATE SET current_offset = EXCLUDED.current_offset,
+                manifest = EXCLUDED.manifest, mergeable = EXCLUDED.mergeable, last_updated = EXCLUDED.last_updated""";
+
+    private final DataSource dataSource;
+    private final Executor executor;
+
+    public JdbcShowViewRepository(DataSource dataSource, Executor executor) {
+        this.dataSource = dataSource;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletionStage<List<ShowView>> findAvailable() {
+        return CompletableFuture.supplyAsync(() -> {
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement statement = connection.prepareStatement(FIND_AVAILABLE)) {
+                return read(statement);
+            } catch (SQLException exception) {
+                throw new CompletionException(exception);
+            }
+        }, executor);
+    }
+
+    @Override
+    public CompletionStage<Option<ShowView>> findBy(ShowId showId) {
+        return CompletableFuture.supplyAsync(() -> {
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement statement = connection.prepareStatement(FIND_BY)) {
+                statement.setObject(1, showId.id());
+                return Option.ofOptional(read(statement).stream().findFirst());
+            } catch (SQLException exception) {
+                throw new CompletionException(exception);
+            }
+        }, executor);
+    }
+
+    @Override
+    public CompletionStage<List<ShowView>> findAvailable(int limit, Option<ShowId> afterShowId) {
+        return CompletableFuture.supplyAsync(() -> {
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement statement = connection.prepareStatement(afterShowId.isEmpty() ? FIND_AVAILABLE_PAGE : FIND_AVAILABLE_PAGE_AFTER)) {
+                if (afterShowId.isEmpty()) {
+                    statement.setInt(1, limit);
+                } else {
+                    statement.setObject(1, afterShowId.get().id());
+                    statement.setInt(2, limit);
+                }
+                return read(statement);
+            } catch (SQLException exception) {
+                throw new CompletionException(exception);
+            }
+        }, executor);
+    }
+
+    private static List<ShowView> read(PreparedStatement statement) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            List<ShowView> showViews = new ArrayList<>();
+            while (resultSet.next()) {
+                showViews.add(new ShowView(ShowId.of(resultSet.getObject(1, UUID.class)), resultSet.getInt(2)));
+            }
+            return showViews;
+        }
+    }
+
+    @Override
+    public CompletionStage<Done> save(ShowId showId, int availableSeats) {
+        return applyAvailabilityChanges(List.of(AvailabilityChange.created(showId, availableSeats)));
+    }
+
+    @Override
+    public CompletionStage<Done> decrementAvailability(ShowId showId, int seats) {
+        return applyAvailabilityChanges(List.of(AvailabilityChange.delta(showId, -seats)));
+    }
+
+    @Override
+    public CompletionStage<Done> incrementAvailability(ShowId showId, int seats) {
+        return applyAvailabilityChanges(List.of(AvailabilityChange.delta(showId, seats)));
+    }
+
+    @Override
+    public CompletionStage<Done> applyAvailabilityChanges(List<AvailabilityChange> changes) {
+        return CompletableFuture.supplyAsync(() -> {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                applyAvailabilityChanges(connection, changes);
+                return Done.done();
+            } catch (SQLException exception) {
+                throw new CompletionException(exception);
+            }
+        }, executor);
+    }
+
+    /**
+     * Loads the shows into a shadow table and renames it to show_view in the same transaction, so queries see either
+     * the previous or the rebuilt view. The primary key and the index are created after the load under the names of
+     * development/create_show_view_table.sql, so the schema script stays idempotent after a rebuild. The offsets of the show view projections are stored in the same transaction,
+     * so the projections never apply the deltas of the rebuilt events again.
+     */
+    @Override
+    public CompletionStage<Done> replaceAll(List<AvailabilityChange> shows, Map<String, Offset> offsets) {
+        return CompletableFuture.supplyAsync(() -> {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(false);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("DROP TABLE IF EXISTS show_view_shadow");
+                    statement.execute("CREATE TABLE show_view_shadow (show_id UUID NOT NULL, available_seats INTEGER NOT NULL)");
+                }
+                try (PreparedStatement statement = connection.prepareStatement(SHADOW_INSERT)) {
+                    int batched = 0;
+                    for (AvailabilityChange show : shows) {
+                        statement.setObject(1, show.showId().id());
+                        statement.setInt(2, show.seats());
+                        statement.addBatch();
+                        if (++batched % 10_000 == 0) {
+                            statement.executeBatch();
+                        }
+                    }
+                    statement.executeBatch();
+                }
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("ALTER TABLE show_view RENAME TO show_view_previous");
+                    statement.execute("ALTER TABLE show_view_shadow RENAME TO show_view");
+                    statement.execute("DROP TABLE show_view_previous");
+                    statement.execute("ALTER TABLE show_view ADD CONSTRAINT show_view_pkey PRIMARY KEY (show_id)");
+                    statement.execute("CREATE INDEX show_view_available_idx ON show_view (show_id) WHERE available_seats > 0");
+                }
+                try (PreparedStatement statement = connection.prepareStatement(OFFSET_UPSERT)) {
+                    for (Map.Entry<String, Offset> offset : offsets.entrySet()) {
+                        statement.setString(1, ShowViewProjection.PROJECTION_NAME);
+                        statement.setString(2, offset.getKey());
+                        statement.setString(3, Long.toString(sequence(offset.getValue())));
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                }
+                connection.commit();
+                return Done.done();
+            } catch (SQLException exception) {
+                throw new CompletionException(exception);
+            }
+        }, executor);
+    }
+
+    private static long sequence(Offset offset) {
+        if (offset instanceof Sequence sequence) {
+            return sequence.value();
+        }
+        throw new IllegalArgumentException("Only sequence offsets can be stored, got " + offset);
+    }
+
+    @Override
+    public void applyAvailabilityChanges(Connection connection, List<AvailabilityChange> changes) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(UPSERT)) {
+            for (AvailabilityChange change : changes) {
+                statement.setObject(1, change.showId().id());
+                statement.setInt(2, change.seats());
+                statement.setBoolean(3, change.created());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+}
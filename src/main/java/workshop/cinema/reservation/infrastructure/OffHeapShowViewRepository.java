@@ -0,0 +1,258 @@
+package workshop.cinema.reservation.infrastructure;
+
+import akka.Done;
+import akka.persistence.query.Offset;
+import io.vavr.control.Option;
+import workshop.cinema.reservation.application.projection.AvailabilityChange;
+import workshop.cinema.reservation.application.projection.ShowView;
+import workshop.cinema.reservation.application.projection.ShowViewRepository;
+import workshop.cinema.reservation.domain.ShowId;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.locks.StampedLock;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
+/**
+ * Show availability in a direct buffer: an open addressing table (linear probing) of slots holding the two longs of the
+ * show UUID and the number of available seats, updated in place. Nothing is allocated per show, so the number of shows
+ * does not affect GC, but the table counts against {@code -XX:MaxDirectMemorySize}. Shows are not kept in order, so
+ * a page of available shows is selected with a scan of the table.
+ */
+public class OffHeapShowViewRepository implements ShowViewRepository {
+
+    public static final int UNKNOWN_SHOW = -1;
+
+    private static final int SLOT_SIZE = 24;
+    private static final int MSB = 0;
+    private static final int LSB = 8;
+    private static final int SEATS = 16;
+    private static final int USED = 20;
+    private static final int MAX_CAPACITY = 1 << 26;
+    private static final CompletionStage<Done> DONE = completedFuture(Done.done());
+
+    private final StampedLock lock = new StampedLock();
+    private ByteBuffer table;
+    private int capacity;
+    private int size;
+
+    public OffHeapShowViewRepository() {
+        this(1 << 16);
+    }
+
+    public OffHeapShowViewRepository(int initialCapacity) {
+        capacity = Math.min(Integer.highestOneBit(Math.max(initialCapacity, 16) - 1) << 1, MAX_CAPACITY);
+        table = allocate(capacity);
+    }
+
+    private static ByteBuffer allocate(int capacity) {
+        return ByteBuffer.allocateDirect(capacity * SLOT_SIZE).order(ByteOrder.nativeOrder());
+    }
+
+    @Override
+    public CompletionStage<List<ShowView>> findAvailable() {
+        long stamp = lock.readLock();
+        try {
+            List<ShowView> showViews = new ArrayList<>();
+            for (int offset = 0; offset < capacity * SLOT_SIZE; offset += SLOT_SIZE) {
+                if (table.getInt(offset + USED) != 0 && table.getInt(offset + SEATS) > 0) {
+                    showViews.add(showView(offset));
+                }
+            }
+            return completedFuture(showViews);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public CompletionStage<List<ShowView>> findAvailable(int limit, Option<ShowId> afterShowId) {
+        long afterMsb = afterShowId.map(showId -> showId.id().getMostSignificantBits()).getOrElse(0L);
+        long afterLsb = afterShowId.map(showId -> showId.id().getLeastSignificantBits()).getOrElse(0L);
+        boolean first = afterShowId.isEmpty();
+        if (limit <= 0) {
+            return completedFuture(List.of());
+        }
+        // the smallest ids after the cursor, kept sorted by insertion
+        int[] page = new int[limit];
+        int count = 0;
+        long stamp = lock.readLock();
+        try {
+            for (int offset = 0; offset < capacity * SLOT_SIZE; offset += SLOT_SIZE) {
+                if (table.getInt(offset + USED) == 0 || table.getInt(offset + SEATS) <= 0) {
+                    continue;
+                }
+                long msb = table.getLong(offset + MSB);
+                long lsb = table.getLong(offset + LSB);
+                if (!first && compare(msb, lsb, afterMsb, afterLsb) <= 0) {
+                    continue;
+                }
+                if (count == limit && compare(msb, lsb, page[count - 1]) >= 0) {
+                    continue;
+                }
+                int position = count == limit ? count - 1 : count++;
+                while (position > 0 && compare(msb, lsb, page[position - 1]) < 0) {
+                    page[position] = page[position - 1];
+                    position--;
+                }
+                page[position] = offset;
+            }
+            List<ShowView> showViews = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                showViews.add(showView(page[i]));
+            }
+            return completedFuture(showViews);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public CompletionStage<Option<ShowView>> findBy(ShowId showId) {
+        int availableSeats = availableSeats(showId);
+        return completedFuture(availableSeats == UNKNOWN_SHOW ? Option.none() : Option.of(new ShowView(showId, availableSeats)));
+    }
+
+    /**
+     * @return available seats of the show or {@link #UNKNOWN_SHOW}, without allocating
+     */
+    public int availableSeats(ShowId showId) {
+        long msb = showId.id().getMostSignificantBits();
+        long lsb = showId.id().getLeastSignificantBits();
+        long stamp = lock.readLock();
+        try {
+            int offset = slot(msb, lsb) * SLOT_SIZE;
+            return table.getInt(offset + USED) == 0 ? UNKNOWN_SHOW : table.getInt(offset + SEATS);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public CompletionStage<Done> save(ShowId showId, int availableSeats) {
+        update(showId, true, availableSeats);
+        return DONE;
+    }
+
+    @Override
+    public CompletionStage<Done> decrementAvailability(ShowId showId, int seats) {
+        update(showId, false, -seats);
+        return DONE;
+    }
+
+    @Override
+    public CompletionStage<Done> incrementAvailability(ShowId showId, int seats) {
+        update(showId, false, seats);
+        return DONE;
+    }
+
+    @Override
+    public CompletionStage<Done> applyAvailabilityChanges(List<AvailabilityChange> changes) {
+        for (AvailabilityChange change : changes) {
+            update(change.showId(), change.created(), change.seats());
+        }
+        return DONE;
+    }
+
+    @Override
+    public CompletionStage<Done> replaceAll(List<AvailabilityChange> shows, Map<String, Offset> offsets) {
+        OffHeapShowViewRepository shadow = new OffHeapShowViewRepository(shows.size() * 2);
+        shadow.applyAvailabilityChanges(shows);
+        long stamp = lock.writeLock();
+        try {
+            table = shadow.table;
+            capacity = shadow.capacity;
+            size = shadow.size;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return DONE;
+    }
+
+    private void update(ShowId showId, boolean created, int seats) {
+        long msb = showId.id().getMostSignificantBits();
+        long lsb = showId.id().getLeastSignificantBits();
+        long stamp = lock.writeLock();
+        try {
+            int offset = slot(msb, lsb) * SLOT_SIZE;
+            if (table.getInt(offset + USED) == 0) {
+                if ((size + 1) * 2 > capacity) {
+                    grow();
+                    offset = slot(msb, lsb) * SLOT_SIZE;
+                }
+                table.putLong(offset + MSB, msb);
+                table.putLong(offset + LSB, lsb);
+                table.putInt(offset + SEATS, seats);
+                table.putInt(offset + USED, 1);
+                size++;
+            } else {
+                table.putInt(offset + SEATS, created ? seats : table.getInt(offset + SEATS) + seats);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private void grow() {
+        if (capacity == MAX_CAPACITY) {
+            throw new IllegalStateException("Show view table is full, " + size + " shows");
+        }
+        ByteBuffer previous = table;
+        int previousCapacity = capacity;
+        capacity = capacity * 2;
+        table = allocate(capacity);
+        for (int previousOffset = 0; previousOffset < previousCapacity * SLOT_SIZE; previousOffset += SLOT_SIZE) {
+            if (previous.getInt(previousOffset + USED) != 0) {
+                long msb = previous.getLong(previousOffset + MSB);
+                long lsb = previous.getLong(previousOffset + LSB);
+                int offset = slot(msb, lsb) * SLOT_SIZE;
+                table.putLong(offset + MSB, msb);
+                table.putLong(offset + LSB, lsb);
+                table.putInt(offset + SEATS, previous.getInt(previousOffset + SEATS));
+                table.putInt(offset + USED, 1);
+            }
+        }
+    }
+
+    /**
+     * Slot of the show or the empty slot it would take, the table is at most half full.
+     */
+    private int slot(long msb, long lsb) {
+        int mask = capacity - 1;
+        int slot = hash(msb, lsb) & mask;
+        while (true) {
+            int offset = slot * SLOT_SIZE;
+            if (table.getInt(offset + USED) == 0
+                    || (table.getLong(offset + MSB) == msb && table.getLong(offset + LSB) == lsb)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private static int hash(long msb, long lsb) {
+        long hash = (msb ^ lsb) * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    // unsigned, the order of the UUID strings (and of the uuid type in the database)
+    private static int compare(long msb, long lsb, long otherMsb, long otherLsb) {
+        int result = Long.compareUnsigned(msb, otherMsb);
+        return result != 0 ? result : Long.compareUnsigned(lsb, otherLsb);
+    }
+
+    private int compare(long msb, long lsb, int offset) {
+        return compare(msb, lsb, table.getLong(offset + MSB), table.getLong(offset + LSB));
+    }
+
+    private ShowView showView(int offset) {
+        UUID id = new UUID(table.getLong(offset + MSB), table.getLong(offset + LSB));
+        return new ShowView(ShowId.of(id), table.getInt(offset + SEATS));
+    }
+}
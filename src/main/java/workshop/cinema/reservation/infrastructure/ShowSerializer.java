@@ -0,0 +1,499 @@
+package workshop.cinema.reservation.infrastructure;
+
+import akka.actor.ExtendedActorSystem;
+import akka.actor.typed.ActorRef;
+import akka.actor.typed.ActorRefResolver;
+import akka.actor.typed.javadsl.Adapter;
+import akka.serialization.SerializerWithStringManifest;
+import io.vavr.Tuple2;
+import io.vavr.collection.List;
+import io.vavr.control.Option;
+import workshop.cinema.reservation.application.GetShowResponse;
+import workshop.cinema.reservation.application.ShowEntityCommand;
+import workshop.cinema.reservation.application.ShowEntityCommand.ExpireSeatHolds;
+import workshop.cinema.reservation.application.ShowEntityCommand.GetShow;
+import workshop.cinema.reservation.application.ShowEntityCommand.ShowCommandEnvelope;
+import workshop.cinema.reservation.application.ShowEntityResponse;
+import workshop.cinema.reservation.application.ShowEntityResponse.CommandProcessed;
+import workshop.cinema.reservation.application.ShowEntityResponse.CommandRejected;
+import workshop.cinema.reservation.application.ShowEntityResponse.SeatsAllocated;
+import workshop.cinema.reservation.application.projection.ShowView;
+import workshop.cinema.reservation.application.projection.ShowViewsChanged;
+import workshop.cinema.reservation.domain.InitialShow;
+import workshop.cinema.reservation.domain.SeatHolds;
+import workshop.cinema.reservation.domain.SeatNumber;
+import workshop.cinema.reservation.domain.SeatNumbers;
+import workshop.cinema.reservation.domain.SeatPreferences;
+import workshop.cinema.reservation.domain.SeatingLayout;
+import workshop.cinema.reservation.domain.SeatingLayout.Section;
+import workshop.cinema.reservation.domain.Show;
+import workshop.cinema.reservation.domain.ShowCommand;
+import workshop.cinema.reservation.domain.ShowCommand.CancelSeatReservation;
+import workshop.cinema.reservation.domain.ShowCommand.CancelSeatReservations;
+import workshop.cinema.reservation.domain.ShowCommand.ConfirmSeatHolds;
+import workshop.cinema.reservation.domain.ShowCommand.CreateShow;
+import workshop.cinema.reservation.domain.ShowCommand.HoldSeats;
+import workshop.cinema.reservation.domain.ShowCommand.RepriceTier;
+import workshop.cinema.reservation.domain.ShowCommand.ReserveBestAvailable;
+import workshop.cinema.reservation.domain.ShowCommand.ReserveSeat;
+import workshop.cinema.reservation.domain.ShowCommand.ReserveSeats;
+import workshop.cinema.reservation.domain.ShowCommandError;
+import workshop.cinema.reservation.domain.ShowEvent;
+import workshop.cinema.reservation.domain.ShowEvent.PriceTierChanged;
+import workshop.cinema.reservation.domain.ShowEvent.SeatHoldsConfirmed;
+import workshop.cinema.reservation.domain.ShowEvent.SeatHoldsExpired;
+import workshop.cinema.reservation.domain.ShowEvent.SeatReservationCancelled;
+import workshop.cinema.reservation.domain.ShowEvent.SeatReserved;
+import workshop.cinema.reservation.domain.ShowEvent.SeatsHeld;
+import workshop.cinema.reservation.domain.ShowEvent.SeatsReservationCancelled;
+import workshop.cinema.reservation.domain.ShowEvent.SeatsReserved;
+import workshop.cinema.reservation.domain.ShowEvent.ShowCreated;
+import workshop.cinema.reservation.domain.ShowId;
+import workshop.cinema.reservation.domain.ShowSnapshot;
+
+import java.io.NotSerializableException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Binary format for show events, snapshots, entity messages and show view changes. Manifests are short fixed names, independent of class
+ * names, so classes can be renamed or moved. Every payload starts with the format version of its manifest: a changed
+ * payload gets a new version of its own manifest written from then on, while the reader keeps reading all older
+ * versions (new fields get defaults). Other payloads keep their version, so nodes of the previous release still read
+ * them during a rolling upgrade. Removed types keep their manifest reserved.
+ */
+public class ShowSerializer extends SerializerWithStringManifest {
+
+    // 2: seating layout with a price tier table, sections refer to a tier
+    static final int VERSION = 2;
+    // 3: show response with the sequence number of the show
+    static final int GET_SHOW_RESPONSE_VERSION = 3;
+
+    // events
+    static final String SHOW_CREATED = "SC";
+    static final String SEAT_RESERVED = "SR";
+    static final String SEAT_RESERVATION_CANCELLED = "SRC";
+    static final String SEATS_RESERVED = "SSR";
+    static final String SEATS_RESERVATION_CANCELLED = "SSRC";
+    static final String SEATS_HELD = "SH";
+    static final String SEAT_HOLDS_CONFIRMED = "SHC";
+    static final String SEAT_HOLDS_EXPIRED = "SHE";
+    static final String PRICE_TIER_CHANGED = "PTC";
+    // snapshot
+    static final String SHOW_SNAPSHOT = "SS";
+    // entity messages
+    static final String SHOW_COMMAND_ENVELOPE = "CE";
+    static final String GET_SHOW = "GS";
+    static final String EXPIRE_SEAT_HOLDS = "EH";
+    static final String COMMAND_PROCESSED = "RP";
+    static final String COMMAND_REJECTED = "RR";
+    static final String SEATS_ALLOCATED = "RA";
+    static final String GET_SHOW_RESPONSE = "RS";
+    // show view messages
+    static final String SHOW_VIEWS_CHANGED = "VC";
+
+    // show command tags inside the envelope
+    private static final int CREATE_SHOW = 1;
+    private static final int RESERVE_SEAT = 2;
+    private static final int CANCEL_SEAT_RESERVATION = 3;
+    private static final int RESERVE_SEATS = 4;
+    private static final int CANCEL_SEAT_RESERVATIONS = 5;
+    private static final int HOLD_SEATS = 6;
+    private static final int CONFIRM_SEAT_HOLDS = 7;
+    private static final int RESERVE_BEST_AVAILABLE = 8;
+    private static final int REPRICE_TIER = 9;
+
+    private static final CommandProcessed COMMAND_PROCESSED_INSTANCE = new CommandProcessed();
+
+    private final ExtendedActorSystem system;
+    private volatile ActorRefResolver actorRefResolver;
+
+    public ShowSerializer(ExtendedActorSystem system) {
+        this.system = system;
+    }
+
+    @Override
+    public int identifier() {
+        return 7301;
+    }
+
+    @Override
+    public String manifest(Object o) {
+        return switch (o) {
+            case ShowEvent event -> switch (event) {
+                case ShowCreated ignored -> SHOW_CREATED;
+                case SeatReserved ignored -> SEAT_RESERVED;
+                case SeatReservationCancelled ignored -> SEAT_RESERVATION_CANCELLED;
+                case SeatsReserved ignored -> SEATS_RESERVED;
+                case SeatsReservationCancelled ignored -> SEATS_RESERVATION_CANCELLED;
+                case SeatsHeld ignored -> SEATS_HELD;
+                case SeatHoldsConfirmed ignored -> SEAT_HOLDS_CONFIRMED;
+                case SeatHoldsExpired ignored -> SEAT_HOLDS_EXPIRED;
+                case PriceTierChanged ignored -> PRICE_TIER_CHANGED;
+            };
+            case ShowSnapshot ignored -> SHOW_SNAPSHOT;
+            case ShowEntityCommand command -> switch (command) {
+                case ShowCommandEnvelope ignored -> SHOW_COMMAND_ENVELOPE;
+                case GetShow ignored -> GET_SHOW;
+                case ExpireSeatHolds ignored -> EXPIRE_SEAT_HOLDS;
+            };
+            case ShowEntityResponse response -> switch (response) {
+                case CommandProcessed ignored -> COMMAND_PROCESSED;
+                case CommandRejected ignored -> COMMAND_REJECTED;
+                case SeatsAllocated ignored -> SEATS_ALLOCATED;
+            };
+            case GetShowResponse ignored -> GET_SHOW_RESPONSE;
+            case ShowViewsChanged ignored -> SHOW_VIEWS_CHANGED;
+            default -> throw new IllegalArgumentException("Can't serialize object of type " + o.getClass());
+        };
+    }
+
+    static int version(String manifest) {
+        return GET_SHOW_RESPONSE.equals(manifest) ? GET_SHOW_RESPONSE_VERSION : VERSION;
+    }
+
+    @Override
+    public byte[] toBinary(Object o) {
+        BinaryWriter out = new BinaryWriter(64);
+        out.writeByte(version(manifest(o)));
+        switch (o) {
+            case ShowEvent event -> writeEvent(out, event);
+            case ShowSnapshot snapshot -> writeSnapshot(out, snapshot);
+            case ShowEntityCommand command -> writeEntityCommand(out, command);
+            case ShowEntityResponse response -> writeResponse(out, response);
+            case GetShowResponse getShowResponse -> {
+                out.writeBoolean(getShowResponse.show().isDefined());
+                getShowResponse.show().forEach(show -> writeSnapshot(out, show.toSnapshot()));
+                out.writeVarLong(getShowResponse.sequenceNr());
+            }
+            case ShowViewsChanged showViewsChanged -> {
+                out.writeVarInt(showViewsChanged.showViews().size());
+                showViewsChanged.showViews().forEach(showView -> {
+                    writeShowId(out, showView.showId());
+                    out.writeSignedVarInt(showView.availableSeats());
+                });
+            }
+            default -> throw new IllegalArgumentException("Can't serialize object of type " + o.getClass());
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public Object fromBinary(byte[] bytes, String manifest) throws NotSerializableException {
+        BinaryReader in = new BinaryReader(bytes);
+        int version = in.readByte();
+        if (version < 1 || version > version(manifest)) {
+            throw new NotSerializableException("Unsupported version " + version + " of " + manifest);
+        }
+        return switch (manifest) {
+            case SHOW_CREATED -> new ShowCreated(readShowId(in), in.readInstant(),
+                    new InitialShow(readShowId(in), in.readString(), readLayout(in, version)));
+            case SEAT_RESERVED -> new SeatReserved(readShowId(in), in.readInstant(), SeatNumber.of(in.readVarInt()));
+            case SEAT_RESERVATION_CANCELLED -> new SeatReservationCancelled(readShowId(in), in.readInstant(), SeatNumber.of(in.readVarInt()));
+            case SEATS_RESERVED -> new SeatsReserved(readShowId(in), in.readInstant(), readSeatNumbers(in));
+            case SEATS_RESERVATION_CANCELLED -> new SeatsReservationCancelled(readShowId(in), in.readInstant(), readSeatNumbers(in));
+            case SEATS_HELD -> new SeatsHeld(readShowId(in), in.readInstant(), readSeatNumbers(in), in.readInstant());
+            case SEAT_HOLDS_CONFIRMED -> new SeatHoldsConfirmed(readShowId(in), in.readInstant(), readSeatNumbers(in));
+            case SEAT_HOLDS_EXPIRED -> new SeatHoldsExpired(readShowId(in), in.readInstant(), readSeatNumbers(in));
+            case PRICE_TIER_CHANGED -> new PriceTierChanged(readShowId(in), in.readInstant(), in.readVarInt(), in.readBigDecimal());
+            case SHOW_SNAPSHOT -> readSnapshot(in, version);
+            case SHOW_COMMAND_ENVELOPE -> new ShowCommandEnvelope(readShowCommand(in, version), readActorRef(in));
+            case GET_SHOW -> new GetShow(readActorRef(in));
+            case EXPIRE_SEAT_HOLDS -> new ExpireSeatHolds();
+            case COMMAND_PROCESSED -> COMMAND_PROCESSED_INSTANCE;
+            case COMMAND_REJECTED -> CommandRejected.of(ShowCommandError.valueOf(in.readString()));
+            case SEATS_ALLOCATED -> new SeatsAllocated(readSeatNumbers(in));
+            case GET_SHOW_RESPONSE -> readGetShowResponse(in, version);
+            case SHOW_VIEWS_CHANGED -> readShowViewsChanged(in);
+            default -> throw new NotSerializableException("Unknown manifest " + manifest);
+        };
+    }
+
+    private GetShowResponse readGetShowResponse(BinaryReader in, int version) throws NotSerializableException {
+        Option<Show> show = in.readBoolean() ? Option.of(Show.fromSnapshot(readSnapshot(in, version))) : Option.none();
+        return new GetShowResponse(show, version >= 3 ? in.readVarLong() : 0);
+    }
+
+    private ShowViewsChanged readShowViewsChanged(BinaryReader in) throws NotSerializableException {
+        ShowView[] showViews = new ShowView[in.readVarInt()];
+        for (int i = 0; i < showViews.length; i++) {
+            showViews[i] = new ShowView(readShowId(in), in.readSignedVarInt());
+        }
+        return new ShowViewsChanged(List.of(showViews));
+    }
+
+    private void writeEvent(BinaryWriter out, ShowEvent event) {
+        writeShowId(out, event.showId());
+        out.writeInstant(event.createdAt());
+        switch (event) {
+            case ShowCreated showCreated -> {
+                writeShowId(out, showCreated.initialShow().id());
+                out.writeString(showCreated.initialShow().title());
+                writeLayout(out, showCreated.initialShow().layout());
+            }
+            case SeatReserved seatReserved -> out.writeVarInt(seatReserved.seatNumber().value());
+            case SeatReservationCancelled seatReservationCancelled -> out.writeVarInt(seatReservationCancelled.seatNumber().value());
+            case SeatsReserved seatsReserved -> writeSeatNumbers(out, seatsReserved.seatNumbers());
+            case SeatsReservationCancelled seatsReservationCancelled -> writeSeatNumbers(out, seatsReservationCancelled.seatNumbers());
+            case SeatsHeld seatsHeld -> {
+                writeSeatNumbers(out, seatsHeld.seatNumbers());
+                out.writeInstant(seatsHeld.expiresAt());
+            }
+            case SeatHoldsConfirmed seatHoldsConfirmed -> writeSeatNumbers(out, seatHoldsConfirmed.seatNumbers());
+            case SeatHoldsExpired seatHoldsExpired -> writeSeatNumbers(out, seatHoldsExpired.seatNumbers());
+            case PriceTierChanged priceTierChanged -> {
+                out.writeVarInt(priceTierChanged.tier());
+                out.writeBigDecimal(priceTierChanged.price());
+            }
+        }
+    }
+
+    private void writeEntityCommand(BinaryWriter out, ShowEntityCommand command) {
+        switch (command) {
+            case ShowCommandEnvelope envelope -> {
+                writeShowCommand(out, envelope.command());
+                writeActorRef(out, envelope.replyTo());
+            }
+            case GetShow getShow -> writeActorRef(out, getShow.replyTo());
+            case ExpireSeatHolds ignored -> {
+            }
+        }
+    }
+
+    private void writeShowCommand(BinaryWriter out, ShowCommand command) {
+        switch (command) {
+            case CreateShow createShow -> {
+                out.writeByte(CREATE_SHOW);
+                writeShowId(out, createShow.showId());
+                out.writeString(createShow.title());
+                writeLayout(out, createShow.layout());
+            }
+            case ReserveSeat reserveSeat -> {
+                out.writeByte(RESERVE_SEAT);
+                writeShowId(out, reserveSeat.showId());
+                out.writeSignedVarInt(reserveSeat.seatNumber().value());
+            }
+            case CancelSeatReservation cancelSeatReservation -> {
+                out.writeByte(CANCEL_SEAT_RESERVATION);
+                writeShowId(out, cancelSeatReservation.showId());
+                out.writeSignedVarInt(cancelSeatReservation.seatNumber().value());
+            }
+            case ReserveSeats reserveSeats -> {
+                out.writeByte(RESERVE_SEATS);
+                writeShowId(out, reserveSeats.showId());
+                writeSeatNumbers(out, reserveSeats.seatNumbers());
+            }
+            case CancelSeatReservations cancelSeatReservations -> {
+                out.writeByte(CANCEL_SEAT_RESERVATIONS);
+                writeShowId(out, cancelSeatReservations.showId());
+                writeSeatNumbers(out, cancelSeatReservations.seatNumbers());
+            }
+            case HoldSeats holdSeats -> {
+                out.writeByte(HOLD_SEATS);
+                writeShowId(out, holdSeats.showId());
+                writeSeatNumbers(out, holdSeats.seatNumbers());
+                out.writeBoolean(holdSeats.duration() != null);
+                if (holdSeats.duration() != null) {
+                    out.writeSignedVarLong(holdSeats.duration().getSeconds());
+                    out.writeVarInt(holdSeats.duration().getNano());
+                }
+            }
+            case ConfirmSeatHolds confirmSeatHolds -> {
+                out.writeByte(CONFIRM_SEAT_HOLDS);
+                writeShowId(out, confirmSeatHolds.showId());
+                writeSeatNumbers(out, confirmSeatHolds.seatNumbers());
+            }
+            case ReserveBestAvailable reserveBestAvailable -> {
+                out.writeByte(RESERVE_BEST_AVAILABLE);
+                writeShowId(out, reserveBestAvailable.showId());
+                out.writeSignedVarInt(reserveBestAvailable.count());
+                List<String> sections = reserveBestAvailable.preferences().sections();
+                out.writeVarInt(sections.size());
+                sections.forEach(out::writeString);
+            }
+            case RepriceTier repriceTier -> {
+                out.writeByte(REPRICE_TIER);
+                writeShowId(out, repriceTier.showId());
+                out.writeSignedVarInt(repriceTier.tier());
+                out.writeBigDecimal(repriceTier.price());
+            }
+        }
+    }
+
+    private ShowCommand readShowCommand(BinaryReader in, int version) throws NotSerializableException {
+        int tag = in.readByte();
+        ShowId showId = readShowId(in);
+        return switch (tag) {
+            case CREATE_SHOW -> new CreateShow(showId, in.readString(), readLayout(in, version));
+            case RESERVE_SEAT -> new ReserveSeat(showId, SeatNumber.of(in.readSignedVarInt()));
+            case CANCEL_SEAT_RESERVATION -> new CancelSeatReservation(showId, SeatNumber.of(in.readSignedVarInt()));
+            case RESERVE_SEATS -> new ReserveSeats(showId, readSeatNumbers(in));
+            case CANCEL_SEAT_RESERVATIONS -> new CancelSeatReservations(showId, readSeatNumbers(in));
+            case HOLD_SEATS -> new HoldSeats(showId, readSeatNumbers(in),
+                    in.readBoolean() ? Duration.ofSeconds(in.readSignedVarLong(), in.readVarInt()) : null);
+            case CONFIRM_SEAT_HOLDS -> new ConfirmSeatHolds(showId, readSeatNumbers(in));
+            case RESERVE_BEST_AVAILABLE -> {
+                int count = in.readSignedVarInt();
+                String[] sections = new String[in.readVarInt()];
+                for (int i = 0; i < sections.length; i++) {
+                    sections[i] = in.readString();
+                }
+                yield new ReserveBestAvailable(showId, count, SeatPreferences.sections(sections));
+            }
+            case REPRICE_TIER -> new RepriceTier(showId, in.readSignedVarInt(), in.readBigDecimal());
+            default -> throw new NotSerializableException("Unknown show command " + tag);
+        };
+    }
+
+    private void writeResponse(BinaryWriter out, ShowEntityResponse response) {
+        switch (response) {
+            case CommandProcessed ignored -> {
+            }
+            case CommandRejected rejected -> out.writeString(rejected.error().name());
+            case SeatsAllocated seatsAllocated -> writeSeatNumbers(out, seatsAllocated.seatNumbers());
+        }
+    }
+
+    private void writeSnapshot(BinaryWriter out, ShowSnapshot snapshot) {
+        writeShowId(out, snapshot.id());
+        out.writeString(snapshot.title());
+        writeLayout(out, snapshot.layout());
+        out.writeVarInt(snapshot.seatStatuses().length);
+        for (long word : snapshot.seatStatuses()) {
+            out.writeLong(word);
+        }
+        out.writeVarInt(snapshot.prices().length);
+        for (BigDecimal price : snapshot.prices()) {
+            out.writeBigDecimal(price);
+        }
+        out.writeBytes(snapshot.seatTiers());
+        out.writeVarInt(snapshot.holds().buckets().size());
+        for (Tuple2<Instant, SeatNumbers> bucket : snapshot.holds().buckets()) {
+            out.writeInstant(bucket._1);
+            writeSeatNumbers(out, bucket._2);
+        }
+    }
+
+    private ShowSnapshot readSnapshot(BinaryReader in, int version) throws NotSerializableException {
+        ShowId id = readShowId(in);
+        String title = in.readString();
+        SeatingLayout layout = readLayout(in, version);
+        long[] seatStatuses = new long[in.readVarInt()];
+        for (int i = 0; i < seatStatuses.length; i++) {
+            seatStatuses[i] = in.readLong();
+        }
+        BigDecimal[] prices = new BigDecimal[in.readVarInt()];
+        for (int i = 0; i < prices.length; i++) {
+            prices[i] = in.readBigDecimal();
+        }
+        byte[] seatTiers = in.readBytes();
+        SeatHolds holds = SeatHolds.empty();
+        for (int buckets = in.readVarInt(); buckets > 0; buckets--) {
+            holds = holds.with(in.readInstant(), readSeatNumbers(in));
+        }
+        return new ShowSnapshot(id, title, layout, seatStatuses, prices, seatTiers, holds);
+    }
+
+    private void writeLayout(BinaryWriter out, SeatingLayout layout) {
+        if (layout == null || layout.sections() == null || layout.priceTiers() == null) {
+            out.writeSignedVarInt(-1);
+            return;
+        }
+        out.writeSignedVarInt(layout.priceTiers().size());
+        layout.priceTiers().forEach(out::writeBigDecimal);
+        out.writeVarInt(layout.sections().size());
+        for (Section section : layout.sections()) {
+            out.writeString(section.name());
+            out.writeSignedVarInt(section.rows());
+            out.writeSignedVarInt(section.seatsPerRow());
+            out.writeSignedVarInt(section.tier());
+        }
+    }
+
+    private SeatingLayout readLayout(BinaryReader in, int version) throws NotSerializableException {
+        if (version == 1) {
+            return readLayoutV1(in);
+        }
+        int tiers = in.readSignedVarInt();
+        if (tiers < 0) {
+            return null;
+        }
+        BigDecimal[] priceTiers = new BigDecimal[tiers];
+        for (int i = 0; i < tiers; i++) {
+            priceTiers[i] = in.readBigDecimal();
+        }
+        Section[] sections = new Section[in.readVarInt()];
+        for (int i = 0; i < sections.length; i++) {
+            sections[i] = new Section(in.readString(), in.readSignedVarInt(), in.readSignedVarInt(), in.readSignedVarInt());
+        }
+        return new SeatingLayout(List.of(priceTiers), List.of(sections));
+    }
+
+    // version 1 stored a price per section, every distinct price becomes a tier
+    private SeatingLayout readLayoutV1(BinaryReader in) throws NotSerializableException {
+        int sections = in.readSignedVarInt();
+        if (sections < 0) {
+            return null;
+        }
+        List<BigDecimal> priceTiers = List.empty();
+        Section[] layoutSections = new Section[sections];
+        for (int i = 0; i < sections; i++) {
+            String name = in.readString();
+            int rows = in.readSignedVarInt();
+            int seatsPerRow = in.readSignedVarInt();
+            BigDecimal price = in.readBigDecimal();
+            int tier = priceTiers.indexWhere(tierPrice -> tierPrice.compareTo(price) == 0);
+            if (tier < 0) {
+                tier = priceTiers.size();
+                priceTiers = priceTiers.append(price);
+            }
+            layoutSections[i] = new Section(name, rows, seatsPerRow, tier);
+        }
+        return new SeatingLayout(priceTiers, List.of(layoutSections));
+    }
+
+    // sorted, so deltas stay small
+    private void writeSeatNumbers(BinaryWriter out, SeatNumbers seatNumbers) {
+        out.writeVarInt(seatNumbers.size());
+        int previous = 0;
+        for (int i = 0; i < seatNumbers.size(); i++) {
+            int seatNumber = seatNumbers.get(i);
+            out.writeSignedVarInt(seatNumber - previous);
+            previous = seatNumber;
+        }
+    }
+
+    private SeatNumbers readSeatNumbers(BinaryReader in) throws NotSerializableException {
+        int[] seatNumbers = new int[in.readVarInt()];
+        int previous = 0;
+        for (int i = 0; i < seatNumbers.length; i++) {
+            previous += in.readSignedVarInt();
+            seatNumbers[i] = previous;
+        }
+        return SeatNumbers.of(seatNumbers);
+    }
+
+    private void writeShowId(BinaryWriter out, ShowId showId) {
+        out.writeUuid(showId.id());
+    }
+
+    private ShowId readShowId(BinaryReader in) throws NotSerializableException {
+        return ShowId.of(in.readUuid());
+    }
+
+    private void writeActorRef(BinaryWriter out, ActorRef<?> actorRef) {
+        out.writeString(actorRefResolver().toSerializationFormat(actorRef));
+    }
+
+    private <T> ActorRef<T> readActorRef(BinaryReader in) throws NotSerializableException {
+        return actorRefResolver().resolveActorRef(in.readString());
+    }
+
+    private ActorRefResolver actorRefResolver() {
+        if (actorRefResolver == null) {
+            actorRefResolver = ActorRefResolver.get(Adapter.toTyped(system));
+        }
+        return actorRefResolver;
+    }
+}
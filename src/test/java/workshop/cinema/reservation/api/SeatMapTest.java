@@ -0,0 +1,93 @@
+package workshop.cinema.reservation.api;
+
+import io.vavr.collection.List;
+import org.junit.jupiter.api.Test;
+import workshop.cinema.base.domain.Clock;
+import workshop.cinema.reservation.domain.SeatNumber;
+import workshop.cinema.reservation.domain.SeatNumbers;
+import workshop.cinema.reservation.domain.SeatStatus;
+import workshop.cinema.reservation.domain.SeatingLayout;
+import workshop.cinema.reservation.domain.Show;
+import workshop.cinema.reservation.domain.ShowCommand.CreateShow;
+import workshop.cinema.reservation.domain.ShowCreator;
+import workshop.cinema.reservation.domain.ShowEvent.SeatReserved;
+import workshop.cinema.reservation.domain.ShowEvent.SeatsHeld;
+import workshop.cinema.reservation.domain.ShowId;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeatMapTest {
+
+    private final Clock clock = new Clock.UtcClock();
+    private final ShowId showId = ShowId.of();
+
+    @Test
+    public void shouldEncodeStatusesAndPriceTiers() {
+        //given
+        var layout = new SeatingLayout(List.of(new BigDecimal("150"), new BigDecimal("80.50")), List.of(
+                new SeatingLayout.Section("Front", 2, 5, 0),
+                new SeatingLayout.Section("Back", 3, 10, 1)));
+        Show show = Show.create(ShowCreator.create(new CreateShow(showId, "title", layout), clock).get())
+                .apply(new SeatReserved(showId, clock.now(), SeatNumber.of(1)))
+                .apply(new SeatsHeld(showId, clock.now(), SeatNumbers.of(6, 39), clock.now().plusSeconds(60)));
+
+        //when
+        ByteBuffer seatMap = ByteBuffer.wrap(SeatMap.encode(show));
+
+        //then
+        assertThat(seatMap.get()).isEqualTo((byte) SeatMap.VERSION);
+        assertThat(new UUID(seatMap.getLong(), seatMap.getLong())).isEqualTo(showId.id());
+        assertThat(readString(seatMap)).isEqualTo("title");
+        int seats = readVarInt(seatMap);
+        assertThat(seats).isEqualTo(40);
+        byte[] statuses = new byte[(seats + 3) / 4];
+        seatMap.get(statuses);
+        for (int seat = 0; seat < seats; seat++) {
+            assertThat(SeatStatus.values()[(statuses[seat / 4] >>> (2 * (seat % 4))) & 3])
+                    .isEqualTo(show.seats().status(seat));
+        }
+        assertThat(readVarInt(seatMap)).isEqualTo(2);
+        assertThat(readString(seatMap)).isEqualTo("150");
+        assertThat(readString(seatMap)).isEqualTo("80.50");
+        assertThat(readVarInt(seatMap)).isEqualTo(2);
+        assertThat(readVarInt(seatMap)).isEqualTo(10);
+        assertThat(seatMap.get()).isEqualTo((byte) 0);
+        assertThat(readVarInt(seatMap)).isEqualTo(30);
+        assertThat(seatMap.get()).isEqualTo((byte) 1);
+        assertThat(seatMap.hasRemaining()).isFalse();
+    }
+
+    @Test
+    public void shouldEncodeHundredSeatShowInFewBytes() {
+        //given
+        Show show = Show.create(ShowCreator.create(new CreateShow(showId, "title", 100), clock).get());
+
+        //when
+        byte[] seatMap = SeatMap.encode(show);
+
+        //then
+        assertThat(seatMap.length).isLessThan(64);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[readVarInt(buffer)];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int readVarInt(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte next = buffer.get();
+            value |= (next & 0x7F) << shift;
+            if (next >= 0) {
+                return value;
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package workshop.cinema.reservation.api;
+
+import io.vavr.collection.List;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+import workshop.cinema.reservation.application.projection.ShowView;
+import workshop.cinema.reservation.application.projection.ShowViewRepository;
+import workshop.cinema.reservation.domain.ShowId;
+import workshop.cinema.reservation.infrastructure.InMemoryShowViewRepository;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static workshop.cinema.reservation.application.Blocking.await;
+
+class ShowAvailabilityStreamsTest {
+
+    private final ShowViewRepository showViewRepository = new InMemoryShowViewRepository();
+    private final ShowAvailabilityStreams streams = new ShowAvailabilityStreams(showViewRepository);
+
+    @Test
+    public void shouldPushPublishedAvailability() throws ExecutionException, InterruptedException {
+        //given
+        var showId = ShowId.of();
+        var uuid = showId.id().toString();
+        await(showViewRepository.save(showId, 10));
+
+        //when //then
+        StepVerifier.create(streams.availability(showId))
+                .expectNext(new ShowAvailabilityResponse(uuid, 10))
+                .then(() -> streams.showViewsChanged(List.of(new ShowView(ShowId.of(), 3), new ShowView(showId, 8))))
+                .expectNext(new ShowAvailabilityResponse(uuid, 8))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void shouldStartWithFirstChangeOfShowMissingInLocalView() {
+        //given
+        var showId = ShowId.of();
+
+        //when //then
+        StepVerifier.create(streams.availability(showId))
+                .then(() -> streams.showViewsChanged(List.of(new ShowView(showId, 4))))
+                .expectNext(new ShowAvailabilityResponse(showId.id().toString(), 4))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void shouldShareStreamOfShowAndDropItWithLastSubscriber() throws ExecutionException, InterruptedException {
+        //given
+        var showId = ShowId.of();
+        var uuid = showId.id().toString();
+        await(showViewRepository.save(showId, 10));
+        var first = streams.availability(showId).subscribe();
+
+        //when //then
+        StepVerifier.create(streams.availability(showId))
+                .expectNext(new ShowAvailabilityResponse(uuid, 10))
+                .then(() -> assertThat(streams.streams()).isEqualTo(1))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+        first.dispose();
+        assertThat(streams.streams()).isZero();
+    }
+}
@@ -0,0 +1,88 @@
+package workshop.cinema.reservation.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import workshop.cinema.reservation.domain.ShowId;
+import workshop.cinema.reservation.infrastructure.InMemoryShowViewRepository;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static workshop.cinema.reservation.application.Blocking.await;
+
+class ShowControllerAvailableShowsTest {
+
+    private static final int SHOWS = ShowController.AVAILABLE_SHOWS_PAGE * 2 + 3;
+
+    private final InMemoryShowViewRepository showViewRepository = new InMemoryShowViewRepository();
+    private final WebTestClient webClient = WebTestClient.bindToController(new ShowController(null,
+            new ShowAvailabilityStreams(showViewRepository), showViewRepository, new ShowResponseCache(1 << 20, new ObjectMapper())))
+            .build();
+
+    @Test
+    public void shouldStreamAllAvailableShowsPageByPage() throws ExecutionException, InterruptedException {
+        //given
+        List<UUID> showIds = saveShows();
+        await(showViewRepository.save(ShowId.of(), 0));
+
+        //when
+        List<AvailableShowResponse> shows = webClient.get().uri("/shows?available=true")
+                .accept(APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(AvailableShowResponse.class)
+                .getResponseBody()
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        //then
+        assertThat(shows).extracting(AvailableShowResponse::showId).containsExactlyElementsOf(showIds);
+    }
+
+    @Test
+    public void shouldStreamLimitedShowsAfterCursor() throws ExecutionException, InterruptedException {
+        //given
+        List<UUID> showIds = saveShows();
+
+        //when
+        List<AvailableShowResponse> shows = webClient.get().uri("/shows?available=true&after={after}&limit={limit}", showIds.get(9), 5)
+                .accept(APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(AvailableShowResponse.class)
+                .getResponseBody()
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        //then
+        assertThat(shows).containsExactly(IntStream.range(10, 15)
+                .mapToObj(index -> new AvailableShowResponse(showIds.get(index), 10))
+                .toArray(AvailableShowResponse[]::new));
+    }
+
+    @Test
+    public void shouldRejectNotPositiveLimit() {
+        //when //then
+        webClient.get().uri("/shows?available=true&limit=0")
+                .accept(APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    private List<UUID> saveShows() throws ExecutionException, InterruptedException {
+        List<UUID> showIds = IntStream.range(0, SHOWS).mapToObj(i -> UUID.randomUUID())
+                .sorted(Comparator.comparing(UUID::toString))
+                .toList();
+        for (UUID showId : showIds) {
+            await(showViewRepository.save(ShowId.of(showId), 10));
+        }
+        return showIds;
+    }
+}
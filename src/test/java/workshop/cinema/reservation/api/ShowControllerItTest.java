@@ -10,6 +10,9 @@ import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.annotation.DirtiesContext.ClassMode;
 import org.springframework.test.web.reactive.server.WebTestClient;
 
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static workshop.cinema.reservation.api.Action.CANCEL_RESERVATION;
 import static workshop.cinema.reservation.api.Action.RESERVE;
 import static workshop.cinema.reservation.domain.DomainGenerators.randomShowId;
@@ -47,6 +50,57 @@ class ShowControllerItTest {
                 .expectBody(ShowResponse.class).value(shouldHaveId(showId));
     }
 
+    @Test
+    public void shouldGetSeatMapForSeatMapMediaType() {
+        //given
+        var createShowRequest = new CreateShowRequest(randomShowId().id(), "title", 100);
+        var showId = createShowRequest.showId().toString();
+        createShow(createShowRequest);
+
+        //when //then
+        webClient.get().uri("/shows/{showId}", showId)
+                .accept(SeatMap.MEDIA_TYPE)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(SeatMap.MEDIA_TYPE)
+                .expectHeader().valueEquals("ETag", "\"1-seatmap\"")
+                .expectBody(byte[].class).value(body -> assertThat(body.length).isLessThan(64));
+    }
+
+    @Test
+    public void shouldAnswerNotModifiedForUnchangedShow() {
+        //given
+        var createShowRequest = new CreateShowRequest(randomShowId().id(), "title", 10);
+        var showId = createShowRequest.showId().toString();
+        createShow(createShowRequest);
+        var eTag = webClient.get().uri("/shows/{showId}", showId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"1\"")
+                .expectHeader().valueEquals("Cache-Control", "no-cache, public")
+                .returnResult(ShowResponse.class).getResponseHeaders().getETag();
+
+        //when //then
+        webClient.get().uri("/shows/{showId}", showId)
+                .header("If-None-Match", eTag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+
+        //when
+        webClient.patch().uri("/shows/{showId}/seats/{seatNum}", showId, 1)
+                .bodyValue(new SeatActionRequest(RESERVE))
+                .exchange()
+                .expectStatus().isAccepted();
+
+        //then
+        webClient.get().uri("/shows/{showId}", showId)
+                .header("If-None-Match", eTag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"2\"");
+    }
+
     @Test
     public void shouldGetNotFoundForNotExistingShow() {
         //given
@@ -115,6 +169,46 @@ class ShowControllerItTest {
                 .expectStatus().isAccepted();
     }
 
+    @Test
+    public void shouldReserveSeats() {
+        //given
+        var createShowRequest = new CreateShowRequest(randomShowId().id(), "title", 10);
+        var showId = createShowRequest.showId().toString();
+        createShow(createShowRequest);
+
+        //when //then
+        webClient.patch().uri("/shows/{showId}/seats", showId)
+                .bodyValue(new SeatsActionRequest(RESERVE, List.of(1, 2, 3)))
+                .exchange()
+                .expectStatus().isAccepted();
+
+        //when //then
+        webClient.patch().uri("/shows/{showId}/seats", showId)
+                .bodyValue(new SeatsActionRequest(RESERVE, List.of(3, 4)))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    public void shouldReserveBestAvailableSeats() {
+        //given
+        var createShowRequest = new CreateShowRequest(randomShowId().id(), "title", 10);
+        var showId = createShowRequest.showId().toString();
+        createShow(createShowRequest);
+
+        //when //then
+        webClient.post().uri("/shows/{showId}/seats/best-available", showId)
+                .bodyValue(new BestAvailableRequest(4, null))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(AllocatedSeatsResponse.class).isEqualTo(new AllocatedSeatsResponse(List.of(3, 4, 5, 6)));
+
+        //when //then
+        webClient.post().uri("/shows/{showId}/seats/best-available", showId)
+                .bodyValue(new BestAvailableRequest(4, null))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
 
     private BaseMatcher<ShowResponse> shouldHaveId(String showId) {
         return new BaseMatcher<>() {
@@ -0,0 +1,124 @@
+package workshop.cinema.reservation.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import workshop.cinema.base.domain.Clock;
+import workshop.cinema.reservation.domain.SeatNumber;
+import workshop.cinema.reservation.domain.SeatNumbers;
+import workshop.cinema.reservation.domain.Show;
+import workshop.cinema.reservation.domain.ShowCommand.CreateShow;
+import workshop.cinema.reservation.domain.ShowCreator;
+import workshop.cinema.reservation.domain.ShowEvent.PriceTierChanged;
+import workshop.cinema.reservation.domain.ShowEvent.SeatReserved;
+import workshop.cinema.reservation.domain.ShowEvent.SeatsHeld;
+import workshop.cinema.reservation.domain.ShowId;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShowResponseCacheTest {
+
+    private final Clock clock = new Clock.UtcClock();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ShowResponseCache showResponseCache = new ShowResponseCache(1 << 20, objectMapper);
+    private final ShowId showId = ShowId.of();
+    private final Show show = Show.create(ShowCreator.create(new CreateShow(showId, "\"Matrix\" \u2713", 20), clock).get());
+
+    @Test
+    public void shouldRenderShowResponseJson() throws IOException {
+        //when
+        byte[] json = showResponseCache.render(show, 1);
+
+        //then
+        assertThat(objectMapper.readTree(json)).isEqualTo(expectedJson(show));
+        assertThat(withoutPadding(json)).isEqualTo(uncachedResponse(show));
+        assertThat(showResponseCache.render(show, 1)).isSameAs(json);
+    }
+
+    @Test
+    public void shouldPatchChangedSeatStatuses() throws IOException {
+        //given
+        byte[] json = showResponseCache.render(show, 1);
+        Show changed = show.apply(new SeatReserved(showId, clock.now(), SeatNumber.of(3)))
+                .apply(new SeatsHeld(showId, clock.now(), SeatNumbers.of(4, 5), clock.now().plusSeconds(60)));
+
+        //when
+        byte[] patched = showResponseCache.render(changed, 3);
+
+        //then
+        assertThat(patched).hasSameSizeAs(json);
+        assertThat(objectMapper.readTree(patched)).isEqualTo(expectedJson(changed));
+        assertThat(withoutPadding(patched)).isEqualTo(uncachedResponse(changed));
+        assertThat(objectMapper.readTree(json)).isEqualTo(expectedJson(show));
+    }
+
+    @Test
+    public void shouldRenderAgainWhenPricesChanged() throws IOException {
+        //given
+        showResponseCache.render(show, 1);
+        Show repriced = show.apply(new PriceTierChanged(showId, clock.now(), 0, new BigDecimal("12.50")));
+        Show scientific = repriced.apply(new PriceTierChanged(showId, clock.now(), 0, new BigDecimal("1E+2")));
+
+        //when
+        byte[] json = showResponseCache.render(repriced, 2);
+        byte[] scientificJson = showResponseCache.render(scientific, 3);
+
+        //then
+        assertThat(objectMapper.readTree(json)).isEqualTo(expectedJson(repriced));
+        assertThat(withoutPadding(json)).isEqualTo(uncachedResponse(repriced));
+        assertThat(withoutPadding(scientificJson)).isEqualTo(uncachedResponse(scientific));
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyRequestedShowsOverMaxSize() {
+        //given
+        showResponseCache.render(smallShow(), 1);
+        var cache = new ShowResponseCache(2 * showResponseCache.bytes(), objectMapper);
+        var first = smallShow();
+        var second = smallShow();
+
+        //when
+        byte[] firstJson = cache.render(first, 1);
+        cache.render(second, 1);
+        cache.render(first, 1);
+        cache.render(smallShow(), 1);
+
+        //then
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.bytes()).isLessThanOrEqualTo(2 * showResponseCache.bytes());
+        assertThat(cache.render(first, 1)).isSameAs(firstJson);
+    }
+
+    @Test
+    public void shouldNotKeepShowLargerThanMaxSize() {
+        //given
+        var cache = new ShowResponseCache(100, objectMapper);
+
+        //when
+        cache.render(show, 1);
+
+        //then
+        assertThat(cache.size()).isZero();
+        assertThat(cache.bytes()).isZero();
+    }
+
+    private Show smallShow() {
+        return Show.create(ShowCreator.create(new CreateShow(ShowId.of(), "title", 5), clock).get());
+    }
+
+    private JsonNode expectedJson(Show show) throws IOException {
+        return objectMapper.readTree(objectMapper.writeValueAsBytes(ShowResponse.from(show)));
+    }
+
+    private String uncachedResponse(Show show) throws IOException {
+        return objectMapper.writeValueAsString(ShowResponse.from(show));
+    }
+
+    private static String withoutPadding(byte[] json) {
+        return new String(json, StandardCharsets.UTF_8).replaceAll("\" +,", "\",");
+    }
+}
@@ -0,0 +1,38 @@
+package workshop.cinema.reservation.application;
+
+import com.typesafe.config.ConfigFactory;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShowEntitySettingsTest {
+
+    @Test
+    public void shouldRejectNoKeptSnapshotsWhenSnapshotsAreEnabled() {
+        //given
+        var config = ConfigFactory.parseString("reservation.show-entity.keep-snapshots = 0")
+                .withFallback(ConfigFactory.load());
+
+        //when //then
+        assertThatThrownBy(() -> ShowEntitySettings.create(config))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("keepSnapshots");
+    }
+
+    @Test
+    public void shouldAllowNoKeptSnapshotsWhenSnapshotsAreDisabled() {
+        //given
+        var config = ConfigFactory.parseString("""
+                        reservation.show-entity.snapshot-every = 0
+                        reservation.show-entity.keep-snapshots = 0
+                        """)
+                .withFallback(ConfigFactory.load());
+
+        //when
+        var settings = ShowEntitySettings.create(config);
+
+        //then
+        assertThat(settings.snapshotEvery()).isZero();
+    }
+}
@@ -12,15 +12,24 @@ import workshop.cinema.base.domain.Clock;
 import workshop.cinema.reservation.application.ShowEntityCommand.ShowCommandEnvelope;
 import workshop.cinema.reservation.application.ShowEntityResponse.CommandProcessed;
 import workshop.cinema.reservation.application.ShowEntityResponse.CommandRejected;
+import workshop.cinema.reservation.application.ShowEntityResponse.SeatsAllocated;
 import workshop.cinema.reservation.domain.FixedClock;
+import workshop.cinema.reservation.domain.SeatNumbers;
+import workshop.cinema.reservation.domain.SeatPreferences;
 import workshop.cinema.reservation.domain.Show;
 import workshop.cinema.reservation.domain.ShowCommand;
 import workshop.cinema.reservation.domain.ShowCommand.CancelSeatReservation;
+import workshop.cinema.reservation.domain.ShowCommand.HoldSeats;
+import workshop.cinema.reservation.domain.ShowCommand.ReserveBestAvailable;
 import workshop.cinema.reservation.domain.ShowEvent;
 import workshop.cinema.reservation.domain.ShowEvent.SeatReservationCancelled;
 import workshop.cinema.reservation.domain.ShowEvent.SeatReserved;
+import workshop.cinema.reservation.domain.ShowEvent.SeatsReserved;
 import workshop.cinema.reservation.domain.ShowId;
 
+import java.time.Duration;
+import java.util.UUID;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static workshop.cinema.reservation.domain.ShowCommandError.SEAT_NOT_AVAILABLE;
 import static workshop.cinema.reservation.domain.ShowCommandGenerators.randomCreateShow;
@@ -106,13 +115,51 @@ class ShowEntityTest {
         assertThat(seat.isReserved()).isFalse();
     }
 
+    @Test
+    public void shouldReplyWithBestAvailableSeats() {
+        //given
+        var showId = ShowId.of();
+        EventSourcedBehaviorTestKit<ShowEntityCommand, ShowEvent, Show> showEntityKit = EventSourcedBehaviorTestKit.create(testKit.system(), ShowEntity.create(showId, clock));
+        var createShow = randomCreateShow(showId);
+        var reserveBestAvailable = new ReserveBestAvailable(showId, 4, SeatPreferences.none());
+
+        showEntityKit.<ShowEntityResponse>runCommand(replyTo -> toEnvelope(createShow, replyTo));
+
+        //when
+        var result = showEntityKit.<ShowEntityResponse>runCommand(replyTo -> toEnvelope(reserveBestAvailable, replyTo));
+
+        //then
+        var allocated = (SeatsAllocated) result.reply();
+        assertThat(allocated.seatNumbers().size()).isEqualTo(4);
+        assertThat(result.event()).isEqualTo(new SeatsReserved(showId, clock.now(), allocated.seatNumbers()));
+        assertThat(allocated.seatNumbers()).allMatch(seatNumber -> result.state().seats().isReserved(seatNumber));
+    }
+
+    @Test
+    public void shouldRecoverFromSnapshot() {
+        //given
+        var showId = ShowId.of();
+        var settings = ShowEntitySettings.defaults().withSnapshotEvery(2);
+        EventSourcedBehaviorTestKit<ShowEntityCommand, ShowEvent, Show> showEntityKit = EventSourcedBehaviorTestKit.create(testKit.system(), ShowEntity.create(showId, clock, settings));
+
+        showEntityKit.<ShowEntityResponse>runCommand(replyTo -> toEnvelope(randomCreateShow(showId), replyTo));
+        showEntityKit.<ShowEntityResponse>runCommand(replyTo -> toEnvelope(new ShowCommand.ReserveSeats(showId, SeatNumbers.of(1, 2)), replyTo));
+        var result = showEntityKit.<ShowEntityResponse>runCommand(replyTo -> toEnvelope(new ShowCommand.ReserveSeats(showId, SeatNumbers.of(3)), replyTo));
+
+        //when
+        var restarted = showEntityKit.restart();
+
+        //then
+        assertThat(restarted.state()).isEqualTo(result.state());
+    }
+
     @Test
     public void shouldReserveSeat_WithProbe() {
         //given
         var showId = ShowId.of();
         var showEntityRef = testKit.spawn(ShowEntity.create(showId, clock));
         var commandResponseProbe = testKit.<ShowEntityResponse>createTestProbe();
-        var showResponseProbe = testKit.<Option<Show>>createTestProbe();
+        var showResponseProbe = testKit.<GetShowResponse>createTestProbe();
 
         var createShow = randomCreateShow(showId);
         var reserveSeat = randomReserveSeat(showId);
@@ -133,10 +180,74 @@ class ShowEntityTest {
         showEntityRef.tell(new ShowEntityCommand.GetShow(showResponseProbe.ref()));
 
         //then
-        Show returnedShow = showResponseProbe.receiveMessage().get();
+        Show returnedShow = showResponseProbe.receiveMessage().show().get();
         assertThat(returnedShow.seats().get(reserveSeat.seatNumber()).get().isReserved()).isTrue();
     }
 
+    @Test
+    public void shouldReturnSequenceNumberWithShow() {
+        //given
+        var showId = ShowId.of();
+        var showEntityRef = testKit.spawn(ShowEntity.create(showId, clock));
+        var commandResponseProbe = testKit.<ShowEntityResponse>createTestProbe();
+        var showResponseProbe = testKit.<GetShowResponse>createTestProbe();
+
+        //when
+        showEntityRef.tell(new ShowEntityCommand.GetShow(showResponseProbe.ref()));
+
+        //then
+        assertThat(showResponseProbe.receiveMessage()).isEqualTo(new GetShowResponse(Option.none(), 0));
+
+        //when
+        showEntityRef.tell(toEnvelope(randomCreateShow(showId), commandResponseProbe.ref()));
+        commandResponseProbe.expectMessageClass(CommandProcessed.class);
+        showEntityRef.tell(toEnvelope(randomReserveSeat(showId), commandResponseProbe.ref()));
+        commandResponseProbe.expectMessageClass(CommandProcessed.class);
+        showEntityRef.tell(new ShowEntityCommand.GetShow(showResponseProbe.ref()));
+
+        //then
+        assertThat(showResponseProbe.receiveMessage().sequenceNr()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldReleaseExpiredHolds_WithProbe() {
+        //given
+        var showId = ShowId.of();
+        var showEntityRef = testKit.spawn(ShowEntity.create(showId, new Clock.UtcClock()));
+        var commandResponseProbe = testKit.<ShowEntityResponse>createTestProbe();
+        var showResponseProbe = testKit.<GetShowResponse>createTestProbe();
+        var seatNumbers = SeatNumbers.of(1, 2, 3);
+
+        showEntityRef.tell(toEnvelope(randomCreateShow(showId), commandResponseProbe.ref()));
+        commandResponseProbe.expectMessageClass(CommandProcessed.class);
+
+        //when
+        showEntityRef.tell(toEnvelope(new HoldSeats(showId, seatNumbers, Duration.ofMillis(500)), commandResponseProbe.ref()));
+
+        //then
+        commandResponseProbe.expectMessageClass(CommandProcessed.class);
+        showResponseProbe.awaitAssert(Duration.ofSeconds(5), () -> {
+            showEntityRef.tell(new ShowEntityCommand.GetShow(showResponseProbe.ref()));
+            Show returnedShow = showResponseProbe.receiveMessage().show().get();
+            assertThat(seatNumbers).allMatch(seatNumber -> returnedShow.seats().isAvailable(seatNumber));
+            assertThat(returnedShow.holds().isEmpty()).isTrue();
+            return null;
+        });
+    }
+
+    @Test
+    public void shouldTagShowEventsWithStableSlice() {
+        //given
+        var showId = ShowId.of(UUID.fromString("2f6c4a8e-9a1b-4b3c-8d2e-1f0a9b8c7d6e"));
+
+        //when
+        var tag = ShowEntity.showEventTag(showId, 4);
+
+        //then
+        assertThat(tag).isEqualTo("ShowEvent-2");
+        assertThat(ShowEntity.showEventTags(4)).containsExactly("ShowEvent-0", "ShowEvent-1", "ShowEvent-2", "ShowEvent-3");
+    }
+
     private ShowCommandEnvelope toEnvelope(ShowCommand command, ActorRef<ShowEntityResponse> replyTo) {
         return new ShowCommandEnvelope(command, replyTo);
     }
@@ -4,6 +4,7 @@ import akka.actor.ActorSystem;
 import akka.actor.typed.javadsl.Adapter;
 import akka.cluster.sharding.typed.javadsl.ClusterSharding;
 import akka.persistence.testkit.PersistenceTestKitPlugin;
+import akka.persistence.testkit.PersistenceTestKitSnapshotPlugin;
 import akka.testkit.javadsl.TestKit;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
@@ -11,6 +12,7 @@ import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Test;
 import workshop.cinema.base.domain.Clock;
 import workshop.cinema.reservation.domain.SeatNumber;
+import workshop.cinema.reservation.domain.SeatNumbers;
 import workshop.cinema.reservation.domain.ShowId;
 
 import java.util.concurrent.ExecutionException;
@@ -20,7 +22,9 @@ import static workshop.cinema.reservation.application.Blocking.await;
 
 class ShowServiceTest {
 
-    private static Config config = PersistenceTestKitPlugin.config().withFallback(ConfigFactory.load());
+    private static Config config = PersistenceTestKitPlugin.config()
+            .withFallback(PersistenceTestKitSnapshotPlugin.config())
+            .withFallback(ConfigFactory.load());
     private static ActorSystem system = ActorSystem.create("es-workshop", config);
     private ClusterSharding sharding = ClusterSharding.get(Adapter.toTyped(system));
     private Clock clock = new Clock.UtcClock();
@@ -77,6 +81,22 @@ class ShowServiceTest {
         assertThat(cancellationResult).isInstanceOf(ShowEntityResponse.CommandProcessed.class);
     }
 
+    @Test
+    public void shouldReserveSeats() throws ExecutionException, InterruptedException {
+        //given
+        var showId = ShowId.of();
+        await(showService.createShow(showId, "title", 10));
+        var seatNumbers = SeatNumbers.of(2, 3, 4);
+
+        //when
+        var result = await(showService.reserveSeats(showId, seatNumbers));
+
+        //then
+        assertThat(result).isInstanceOf(ShowEntityResponse.CommandProcessed.class);
+        var show = await(showService.findShowBy(showId)).get();
+        assertThat(seatNumbers).allMatch(seatNumber -> show.seats().isReserved(seatNumber));
+    }
+
     @Test
     public void shouldFindShowById() throws ExecutionException, InterruptedException {
         //given
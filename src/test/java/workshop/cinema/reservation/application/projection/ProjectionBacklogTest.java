@@ -0,0 +1,81 @@
+package workshop.cinema.reservation.application.projection;
+
+import akka.actor.ActorSystem;
+import akka.actor.typed.javadsl.Adapter;
+import akka.cluster.sharding.typed.javadsl.ClusterSharding;
+import akka.persistence.query.EventEnvelope;
+import akka.persistence.query.Offset;
+import akka.persistence.query.PersistenceQuery;
+import akka.persistence.testkit.PersistenceTestKitPlugin;
+import akka.persistence.testkit.PersistenceTestKitSnapshotPlugin;
+import akka.persistence.testkit.query.javadsl.PersistenceTestKitReadJournal;
+import akka.stream.javadsl.Sink;
+import akka.testkit.javadsl.TestKit;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import io.vavr.control.Option;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import workshop.cinema.base.domain.Clock;
+import workshop.cinema.reservation.application.ShowEntity;
+import workshop.cinema.reservation.application.ShowEntitySettings;
+import workshop.cinema.reservation.application.ShowService;
+import workshop.cinema.reservation.domain.FixedClock;
+import workshop.cinema.reservation.domain.ShowId;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static workshop.cinema.reservation.application.Blocking.await;
+
+class ProjectionBacklogTest {
+
+    private static Config config = PersistenceTestKitPlugin.config()
+            .withFallback(PersistenceTestKitSnapshotPlugin.config())
+            .withFallback(ConfigFactory.load());
+    private static ActorSystem system = ActorSystem.create("es-workshop", config);
+    private ClusterSharding sharding = ClusterSharding.get(Adapter.toTyped(system));
+    private ShowService showService = new ShowService(sharding, new Clock.UtcClock());
+    private PersistenceTestKitReadJournal readJournal = PersistenceQuery.get(system)
+            .getReadJournalFor(PersistenceTestKitReadJournal.class, PersistenceTestKitReadJournal.Identifier());
+
+    @AfterAll
+    public static void cleanUp() {
+        TestKit.shutdownActorSystem(system);
+    }
+
+    @Test
+    public void shouldMeasureAgeOfOldestEventAfterStoredOffset() throws ExecutionException, InterruptedException {
+        //given
+        var showId = ShowId.of();
+        await(showService.createShow(showId, "title", 10));
+        var tag = ShowEntity.showEventTag(showId, ShowEntitySettings.defaults().tagSlices());
+        EventEnvelope created = await(readJournal.currentEventsByTag(tag, Offset.noOffset())
+                .filter(envelope -> envelope.persistenceId().endsWith(showId.id().toString()))
+                .runWith(Sink.head(), system));
+        var projectionBacklog = new ProjectionBacklog(Adapter.toTyped(system), readJournal,
+                new FixedClock(Instant.ofEpochMilli(created.timestamp()).plus(Duration.ofMinutes(1))));
+
+        //when
+        Duration age = await(projectionBacklog.oldestUnprocessedEventAge(ShowViewProjection.projectionId(tag),
+                Option.some(Offset.noOffset())));
+
+        //then
+        assertThat(age).isGreaterThanOrEqualTo(Duration.ofMinutes(1));
+    }
+
+    @Test
+    public void shouldHaveNoBacklogWithoutEvents() throws ExecutionException, InterruptedException {
+        //given
+        var projectionBacklog = new ProjectionBacklog(Adapter.toTyped(system), readJournal, new FixedClock());
+
+        //when
+        Duration age = await(projectionBacklog.oldestUnprocessedEventAge(ShowViewProjection.projectionId("no-events"),
+                Option.some(Offset.noOffset())));
+
+        //then
+        assertThat(age).isZero();
+    }
+}
@@ -0,0 +1,171 @@
+package workshop.cinema.reservation.application.projection;
+
+import akka.persistence.query.Sequence;
+import akka.projection.ProjectionId;
+import akka.projection.StatusObserver;
+import akka.projection.eventsourced.EventEnvelope;
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.simple.SimpleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vavr.control.Option;
+import org.junit.jupiter.api.Test;
+import workshop.cinema.reservation.domain.SeatNumber;
+import workshop.cinema.reservation.domain.ShowEvent;
+import workshop.cinema.reservation.domain.ShowEvent.SeatReserved;
+import workshop.cinema.reservation.domain.ShowId;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import static akka.projection.HandlerRecoveryStrategy.retryAndFail;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProjectionMetricsTest {
+
+    private final MockClock clock = new MockClock();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry(SimpleConfig.DEFAULT, clock);
+    private final ProjectionMetrics projectionMetrics = new ProjectionMetrics(registry);
+    private final ProjectionId projectionId = ProjectionId.of("show-view", "ShowEvent-0");
+    private final StatusObserver<EventEnvelope<ShowEvent>> observer = projectionMetrics.observer(projectionId);
+    private final ShowId showId = ShowId.of();
+
+    @Test
+    public void shouldMeasureHandlerOffsetSaveAndLag() {
+        //given
+        var first = envelope(1, clock.wallTime());
+        var second = envelope(2, clock.wallTime());
+        observer.started(projectionId);
+
+        //when
+        observer.beforeProcess(projectionId, first);
+        observer.beforeProcess(projectionId, second);
+
+        //then
+        assertThat(gauge("projection.in-flight.events")).isEqualTo(2);
+
+        //when
+        clock.add(Duration.ofMillis(40));
+        observer.afterProcess(projectionId, first);
+        observer.afterProcess(projectionId, second);
+        clock.add(Duration.ofMillis(10));
+        observer.offsetProgress(projectionId, second);
+
+        //then
+        assertThat(registry.get("projection.events").tags("key", "ShowEvent-0").counter().count()).isEqualTo(2);
+        assertThat(registry.get("projection.handler").timer().count()).isEqualTo(2);
+        assertThat(registry.get("projection.handler").timer().max(TimeUnit.MILLISECONDS)).isEqualTo(40);
+        assertThat(registry.get("projection.offset-save").timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(10);
+        assertThat(registry.get("projection.lag.time").timeGauge().value(TimeUnit.MILLISECONDS)).isEqualTo(50);
+        assertThat(gauge("projection.in-flight.events")).isZero();
+    }
+
+    @Test
+    public void shouldCountRetriesAndRestarts() {
+        //given
+        var envelope = envelope(1, clock.wallTime());
+        var failure = new IllegalStateException("db down");
+
+        //when
+        observer.error(projectionId, envelope, failure, retryAndFail(4, Duration.ofSeconds(5)));
+        observer.error(projectionId, envelope, failure, retryAndFail(4, Duration.ofSeconds(5)));
+        observer.failed(projectionId, failure);
+
+        //then
+        assertThat(registry.get("projection.errors").counter().count()).isEqualTo(2);
+        assertThat(registry.get("projection.restarts").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldReuseObserverOfProjection() {
+        //when
+        var restartedObserver = projectionMetrics.observer(ProjectionId.of("show-view", "ShowEvent-0"));
+
+        //then
+        assertThat(restartedObserver).isSameAs(observer);
+    }
+
+    @Test
+    public void shouldBeCaughtUpWhenLagIsWithinMaximum() {
+        //given
+        var maxLag = Duration.ofSeconds(5);
+        observer.started(projectionId);
+        var old = envelope(1, clock.wallTime() - 60_000);
+        var recent = envelope(2, clock.wallTime() - 1_000);
+
+        //when
+        observer.beforeProcess(projectionId, old);
+        observer.afterProcess(projectionId, old);
+        observer.offsetProgress(projectionId, old);
+
+        //then
+        assertThat(projectionMetrics.status(projectionId, maxLag).caughtUp()).isFalse();
+
+        //when
+        observer.beforeProcess(projectionId, recent);
+        observer.afterProcess(projectionId, recent);
+        observer.offsetProgress(projectionId, recent);
+
+        //then
+        assertThat(projectionMetrics.status(projectionId, maxLag))
+                .isEqualTo(new ProjectionMetrics.ProjectionStatus(true, true, Duration.ofSeconds(1), Option.some(Sequence.apply(2))));
+
+        //when
+        observer.stopped(projectionId);
+
+        //then
+        assertThat(projectionMetrics.status(projectionId, maxLag).running()).isFalse();
+    }
+
+    @Test
+    public void shouldNotBeCaughtUpWithoutProgressSinceStart() {
+        //given
+        var maxLag = Duration.ofSeconds(5);
+        observer.started(projectionId);
+
+        //when
+        clock.add(maxLag.multipliedBy(2));
+
+        //then
+        assertThat(projectionMetrics.status(projectionId, maxLag).running()).isTrue();
+        assertThat(projectionMetrics.status(projectionId, maxLag).caughtUp()).isFalse();
+        assertThat(projectionMetrics.status(ProjectionId.of("show-view", "ShowEvent-1"), maxLag).running()).isFalse();
+    }
+
+    @Test
+    public void shouldGrowLagWhileStalled() {
+        //given
+        var maxLag = Duration.ofSeconds(5);
+        var stored = envelope(1, clock.wallTime());
+        var stalled = envelope(2, clock.wallTime());
+        observer.started(projectionId);
+        observer.beforeProcess(projectionId, stored);
+        observer.afterProcess(projectionId, stored);
+        observer.offsetProgress(projectionId, stored);
+
+        //when
+        observer.beforeProcess(projectionId, stalled);
+        observer.error(projectionId, stalled, new IllegalStateException("db down"), retryAndFail(4, Duration.ofSeconds(5)));
+        clock.add(Duration.ofSeconds(10));
+
+        //then
+        assertThat(registry.get("projection.lag.time").timeGauge().value(TimeUnit.SECONDS)).isEqualTo(10);
+        assertThat(projectionMetrics.status(projectionId, maxLag).caughtUp()).isFalse();
+
+        //when
+        clock.add(Duration.ofSeconds(20));
+
+        //then
+        assertThat(registry.get("projection.lag.time").timeGauge().value(TimeUnit.SECONDS)).isEqualTo(30);
+        assertThat(gauge("projection.in-flight.events")).isEqualTo(1);
+    }
+
+    private double gauge(String name) {
+        return registry.get(name).tags("projection", "show-view", "key", "ShowEvent-0").gauge().value();
+    }
+
+    private EventEnvelope<ShowEvent> envelope(long offset, long timestamp) {
+        var event = new SeatReserved(showId, Instant.ofEpochMilli(timestamp), SeatNumber.of(1));
+        return EventEnvelope.create(Sequence.apply(offset), "Show|" + showId.id(), offset, event, timestamp);
+    }
+}
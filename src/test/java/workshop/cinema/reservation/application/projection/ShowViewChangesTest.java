@@ -0,0 +1,71 @@
+package workshop.cinema.reservation.application.projection;
+
+import akka.actor.testkit.typed.javadsl.ActorTestKit;
+import akka.cluster.MemberStatus;
+import akka.cluster.typed.Cluster;
+import akka.cluster.typed.Join;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import workshop.cinema.reservation.domain.ShowId;
+import workshop.cinema.reservation.infrastructure.InMemoryShowViewRepository;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static workshop.cinema.reservation.application.Blocking.await;
+
+class ShowViewChangesTest {
+
+    private static final Config config = ConfigFactory.parseString("""
+                akka.remote.artery.canonical.port = 0
+                akka.cluster.seed-nodes = []
+            """).withFallback(ConfigFactory.load());
+    private static final ActorTestKit projectionNode = ActorTestKit.create("es-workshop", config);
+    private static final ActorTestKit subscriberNode = ActorTestKit.create("es-workshop", config);
+
+    @BeforeAll
+    public static void formCluster() {
+        var address = Cluster.get(projectionNode.system()).selfMember().address();
+        Cluster.get(projectionNode.system()).manager().tell(Join.create(address));
+        Cluster.get(subscriberNode.system()).manager().tell(Join.create(address));
+        projectionNode.createTestProbe().awaitAssert(Duration.ofSeconds(20), () -> {
+            var members = Cluster.get(subscriberNode.system()).state().getMembers();
+            assertThat(StreamSupport.stream(members.spliterator(), false).filter(member -> member.status() == MemberStatus.up()))
+                    .hasSize(2);
+            return null;
+        });
+    }
+
+    @AfterAll
+    public static void cleanUp() {
+        subscriberNode.shutdownTestKit();
+        projectionNode.shutdownTestKit();
+    }
+
+    @Test
+    public void shouldPublishChangesToSubscribersOnNodesWithoutTheProjection() throws ExecutionException, InterruptedException {
+        //given
+        var showId = ShowId.of();
+        var projectionNodeView = new InMemoryShowViewRepository();
+        await(projectionNodeView.save(showId, 10));
+        var publisher = new ShowViewChanges(projectionNode.system(), projectionNodeView, Duration.ofMillis(50));
+        var subscriber = new ShowViewChanges(subscriberNode.system(), new InMemoryShowViewRepository(), Duration.ofMillis(50));
+        Queue<ShowView> received = new ConcurrentLinkedQueue<>();
+        subscriber.subscribe("show-view-changes-test", showViews -> showViews.forEach(received::add));
+
+        //when //then
+        subscriberNode.createTestProbe().awaitAssert(Duration.ofSeconds(20), Duration.ofMillis(200), () -> {
+            // the subscription reaches the projection node through the receptionist, changes before are not delivered
+            publisher.showViewChanged(showId);
+            assertThat(received).contains(new ShowView(showId, 10));
+            return null;
+        });
+    }
+}
@@ -0,0 +1,104 @@
+package workshop.cinema.reservation.application.projection;
+
+import akka.Done;
+import akka.persistence.query.Sequence;
+import akka.projection.eventsourced.EventEnvelope;
+import org.junit.jupiter.api.Test;
+import workshop.cinema.reservation.domain.InitialShow;
+import workshop.cinema.reservation.domain.SeatNumber;
+import workshop.cinema.reservation.domain.SeatNumbers;
+import workshop.cinema.reservation.domain.SeatingLayout;
+import workshop.cinema.reservation.domain.ShowEvent;
+import workshop.cinema.reservation.domain.ShowEvent.SeatReservationCancelled;
+import workshop.cinema.reservation.domain.ShowEvent.SeatReserved;
+import workshop.cinema.reservation.domain.ShowEvent.SeatsReserved;
+import workshop.cinema.reservation.domain.ShowEvent.ShowCreated;
+import workshop.cinema.reservation.domain.ShowId;
+import workshop.cinema.reservation.infrastructure.InMemoryShowViewRepository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static workshop.cinema.reservation.application.Blocking.await;
+
+class ShowViewGroupedEventHandlerTest {
+
+    private final Instant now = Instant.now();
+    private final List<List<AvailabilityChange>> writes = new ArrayList<>();
+    private final ShowViewRepository showViewRepository = new InMemoryShowViewRepository() {
+        @Override
+        public CompletionStage<Done> applyAvailabilityChanges(List<AvailabilityChange> changes) {
+            writes.add(changes);
+            return super.applyAvailabilityChanges(changes);
+        }
+    };
+    private final ShowViewGroupedEventHandler handler = new ShowViewGroupedEventHandler(showViewRepository);
+    private long offset;
+
+    @Test
+    public void shouldFoldEventsIntoOneChangePerShow() throws ExecutionException, InterruptedException {
+        //given
+        var showId1 = ShowId.of();
+        var showId2 = ShowId.of();
+        await(handler.process(List.of(envelope(showCreated(showId1, 10)), envelope(showCreated(showId2, 20)))));
+        writes.clear();
+
+        //when
+        await(handler.process(List.of(
+                envelope(new SeatReserved(showId1, now, SeatNumber.of(1))),
+                envelope(new SeatsReserved(showId1, now, SeatNumbers.of(2, 3))),
+                envelope(new SeatReserved(showId2, now, SeatNumber.of(1))),
+                envelope(new SeatReservationCancelled(showId1, now, SeatNumber.of(1))))));
+
+        //then
+        assertThat(writes).containsExactly(List.of(AvailabilityChange.delta(showId1, -2), AvailabilityChange.delta(showId2, -1)));
+        assertThat(await(showViewRepository.findAvailable()))
+                .contains(new ShowView(showId1, 8), new ShowView(showId2, 19));
+    }
+
+    @Test
+    public void shouldApplyChangesOfShowCreatedInTheSameGroup() throws ExecutionException, InterruptedException {
+        //given
+        var showId = ShowId.of();
+
+        //when
+        await(handler.process(List.of(
+                envelope(showCreated(showId, 10)),
+                envelope(new SeatsReserved(showId, now, SeatNumbers.of(1, 2, 3))))));
+
+        //then
+        assertThat(writes).containsExactly(List.of(AvailabilityChange.created(showId, 7)));
+        assertThat(await(showViewRepository.findAvailable())).contains(new ShowView(showId, 7));
+    }
+
+    @Test
+    public void shouldSkipWriteWhenChangesCancelOut() throws ExecutionException, InterruptedException {
+        //given
+        var showId = ShowId.of();
+        await(handler.process(List.of(envelope(showCreated(showId, 10)))));
+        writes.clear();
+
+        //when
+        await(handler.process(List.of(
+                envelope(new SeatReserved(showId, now, SeatNumber.of(1))),
+                envelope(new SeatReservationCancelled(showId, now, SeatNumber.of(1))))));
+
+        //then
+        assertThat(writes).isEmpty();
+        assertThat(await(showViewRepository.findAvailable())).contains(new ShowView(showId, 10));
+    }
+
+    private ShowCreated showCreated(ShowId showId, int seats) {
+        return new ShowCreated(showId, now, new InitialShow(showId, "title", SeatingLayout.singleRow(seats, BigDecimal.TEN)));
+    }
+
+    private EventEnvelope<ShowEvent> envelope(ShowEvent event) {
+        offset++;
+        return EventEnvelope.create(Sequence.apply(offset), "Show|" + event.showId().id(), offset, event, 0L);
+    }
+}
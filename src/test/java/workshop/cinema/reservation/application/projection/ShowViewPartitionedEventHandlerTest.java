@@ -0,0 +1,138 @@
+package workshop.cinema.reservation.application.projection;
+
+import akka.Done;
+import akka.persistence.query.Sequence;
+import akka.projection.eventsourced.EventEnvelope;
+import org.junit.jupiter.api.Test;
+import workshop.cinema.reservation.domain.InitialShow;
+import workshop.cinema.reservation.domain.SeatNumber;
+import workshop.cinema.reservation.domain.SeatNumbers;
+import workshop.cinema.reservation.domain.SeatingLayout;
+import workshop.cinema.reservation.domain.ShowEvent;
+import workshop.cinema.reservation.domain.ShowEvent.SeatReservationCancelled;
+import workshop.cinema.reservation.domain.ShowEvent.SeatReserved;
+import workshop.cinema.reservation.domain.ShowEvent.SeatsReserved;
+import workshop.cinema.reservation.domain.ShowEvent.ShowCreated;
+import workshop.cinema.reservation.domain.ShowId;
+import workshop.cinema.reservation.infrastructure.CheckpointedShowViewRepository;
+import workshop.cinema.reservation.infrastructure.InMemoryShowViewRepository;
+import workshop.cinema.reservation.infrastructure.JdbcShowViewRepository;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static workshop.cinema.reservation.application.Blocking.await;
+
+class ShowViewPartitionedEventHandlerTest {
+
+    private static final int LANES = 4;
+
+    private final Instant now = Instant.now();
+    private final List<List<AvailabilityChange>> writes = new ArrayList<>();
+    private final List<CompletableFuture<Done>> pendingWrites = new ArrayList<>();
+    private boolean holdWrites;
+    private final ShowViewRepository showViewRepository = new InMemoryShowViewRepository() {
+        @Override
+        public CompletionStage<Done> applyAvailabilityChanges(List<AvailabilityChange> changes) {
+            writes.add(changes);
+            if (holdWrites) {
+                CompletableFuture<Done> pendingWrite = new CompletableFuture<>();
+                pendingWrites.add(pendingWrite);
+                return pendingWrite;
+            }
+            return super.applyAvailabilityChanges(changes);
+        }
+    };
+    private final ShowViewPartitionedEventHandler handler = new ShowViewPartitionedEventHandler(showViewRepository, LANES);
+    private long offset;
+
+    @Test
+    public void shouldWriteEveryShowInItsLane() throws ExecutionException, InterruptedException {
+        //given
+        List<ShowId> showIds = IntStream.range(0, 20).mapToObj(i -> ShowId.of()).toList();
+        await(handler.process(showIds.stream().map(showId -> envelope(showCreated(showId, 10))).toList()));
+        writes.clear();
+
+        //when
+        List<EventEnvelope<ShowEvent>> envelopes = new ArrayList<>();
+        for (ShowId showId : showIds) {
+            envelopes.add(envelope(new SeatsReserved(showId, now, SeatNumbers.of(1, 2, 3))));
+            envelopes.add(envelope(new SeatReservationCancelled(showId, now, SeatNumber.of(1))));
+        }
+        await(handler.process(envelopes));
+
+        //then
+        assertThat(writes).hasSizeLessThanOrEqualTo(LANES);
+        assertThat(writes).allSatisfy(lane -> assertThat(lane)
+                .extracting(change -> ShowViewPartitionedEventHandler.lane(change.showId(), LANES))
+                .containsOnly(ShowViewPartitionedEventHandler.lane(lane.get(0).showId(), LANES)));
+        assertThat(writes.stream().mapToInt(List::size).sum()).isEqualTo(showIds.size());
+        assertThat(await(showViewRepository.findAvailable()))
+                .containsAll(showIds.stream().map(showId -> new ShowView(showId, 8)).toList());
+    }
+
+    @Test
+    public void shouldCompleteGroupWhenAllLanesAreWritten() {
+        //given
+        List<ShowId> showIds = IntStream.range(0, 20).mapToObj(i -> ShowId.of()).toList();
+        holdWrites = true;
+
+        //when
+        CompletableFuture<Done> group = handler.process(showIds.stream()
+                .map(showId -> envelope(new SeatReserved(showId, now, SeatNumber.of(1))))
+                .toList()).toCompletableFuture();
+
+        //then
+        assertThat(pendingWrites).hasSizeGreaterThan(1);
+        for (CompletableFuture<Done> pendingWrite : pendingWrites) {
+            assertThat(group).isNotDone();
+            pendingWrite.complete(Done.done());
+        }
+        assertThat(group).isCompleted();
+    }
+
+    @Test
+    public void shouldRejectLanesForJdbcShowView() {
+        //given
+        var settings = new ShowViewProjectionSettings(100, Duration.ofMillis(500), "jdbc", "", Duration.ofSeconds(30), LANES);
+        var jdbcShowViewRepository = new JdbcShowViewRepository(null, Runnable::run);
+
+        //when //then
+        assertThatThrownBy(() -> new ShowViewProjection(null, null, jdbcShowViewRepository, settings, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("lanes = " + LANES);
+    }
+
+    @Test
+    public void shouldRejectLanesForCheckpointedShowView() throws IOException {
+        //given
+        var settings = new ShowViewProjectionSettings(100, Duration.ofMillis(500), "in-memory", "show-view.checkpoint",
+                Duration.ofSeconds(30), LANES);
+        var checkpointedShowViewRepository = CheckpointedShowViewRepository.load(Path.of("target", "missing.checkpoint"));
+
+        //when //then
+        assertThatThrownBy(() -> new ShowViewProjection(null, null, checkpointedShowViewRepository, settings, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("lanes = " + LANES);
+    }
+
+    private ShowCreated showCreated(ShowId showId, int seats) {
+        return new ShowCreated(showId, now, new InitialShow(showId, "title", SeatingLayout.singleRow(seats, BigDecimal.TEN)));
+    }
+
+    private EventEnvelope<ShowEvent> envelope(ShowEvent event) {
+        offset++;
+        return EventEnvelope.create(Sequence.apply(offset), "Show|" + event.showId().id(), offset, event, 0L);
+    }
+}
@@ -8,6 +8,7 @@ import akka.persistence.query.EventEnvelope;
 import akka.persistence.query.Offset;
 import akka.persistence.query.PersistenceQuery;
 import akka.persistence.testkit.PersistenceTestKitPlugin;
+import akka.persistence.testkit.PersistenceTestKitSnapshotPlugin;
 import akka.persistence.testkit.query.javadsl.PersistenceTestKitReadJournal;
 import akka.testkit.javadsl.TestKit;
 import com.typesafe.config.Config;
@@ -17,6 +18,7 @@ import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Test;
 import workshop.cinema.base.domain.Clock;
 import workshop.cinema.reservation.application.ShowEntity;
+import workshop.cinema.reservation.application.ShowEntitySettings;
 import workshop.cinema.reservation.application.ShowService;
 import workshop.cinema.reservation.domain.SeatNumber;
 import workshop.cinema.reservation.domain.ShowEvent;
@@ -24,6 +26,7 @@ import workshop.cinema.reservation.domain.ShowId;
 import workshop.cinema.reservation.infrastructure.InMemoryShowViewRepository;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 
@@ -34,7 +37,9 @@ import static workshop.cinema.reservation.application.ShowEntity.persistenceId;
 
 class ShowViewPersistenceQueryProjectionTest {
 
-    private static Config config = PersistenceTestKitPlugin.config().withFallback(ConfigFactory.load());
+    private static Config config = PersistenceTestKitPlugin.config()
+            .withFallback(PersistenceTestKitSnapshotPlugin.config())
+            .withFallback(ConfigFactory.load());
     private static ActorSystem system = ActorSystem.create("es-workshop", config);
     private ClusterSharding sharding = ClusterSharding.get(Adapter.toTyped(system));
     private Clock clock = new Clock.UtcClock();
@@ -72,7 +77,7 @@ class ShowViewPersistenceQueryProjectionTest {
         //then
         Awaitility.await().atMost(10, SECONDS).untilAsserted(() -> {
             List<ShowView> showViews = await(showViewRepository.findAvailable());
-            assertThat(showViews).contains(new ShowView(showId2.toString(), 19));
+            assertThat(showViews).contains(new ShowView(showId2, 19));
         });
     }
 
@@ -88,23 +93,30 @@ class ShowViewPersistenceQueryProjectionTest {
         await(showService.reserveSeat(showId2, SeatNumber.of(1)));
 
         //when
-        readJournal.currentEventsByTag(ShowEntity.SHOW_EVENT_TAG, Offset.noOffset())
-                .mapAsync(1, this::processEvent)
-                .run(system);
+        ShowEntity.showEventTags(ShowEntitySettings.defaults().tagSlices()).forEach(tag ->
+                readJournal.currentEventsByTag(tag, Offset.noOffset())
+                        .mapAsync(1, this::processEvent)
+                        .run(system));
 
         //then
         Awaitility.await().atMost(10, SECONDS).untilAsserted(() -> {
             List<ShowView> showViews = await(showViewRepository.findAvailable());
-            assertThat(showViews).contains(new ShowView(showId2.toString(), 19));
+            assertThat(showViews).contains(new ShowView(showId2, 19));
         });
     }
 
     private CompletionStage<Done> processEvent(EventEnvelope eventEnvelope) {
         if (eventEnvelope.event() instanceof ShowEvent showEvent) {
             return switch (showEvent) {
-                case ShowEvent.ShowCreated showCreated -> showViewRepository.save(showCreated.showId(), showCreated.initialShow().seats().size());
+                case ShowEvent.ShowCreated showCreated -> showViewRepository.save(showCreated.showId(), showCreated.initialShow().layout().seatCount());
                 case ShowEvent.SeatReserved seatReserved -> showViewRepository.decrementAvailability(seatReserved.showId());
                 case ShowEvent.SeatReservationCancelled seatReservationCancelled -> showViewRepository.incrementAvailability(seatReservationCancelled.showId());
+                case ShowEvent.SeatsReserved seatsReserved -> showViewRepository.decrementAvailability(seatsReserved.showId(), seatsReserved.seatNumbers().size());
+                case ShowEvent.SeatsReservationCancelled seatsReservationCancelled -> showViewRepository.incrementAvailability(seatsReservationCancelled.showId(), seatsReservationCancelled.seatNumbers().size());
+                case ShowEvent.SeatsHeld seatsHeld -> showViewRepository.decrementAvailability(seatsHeld.showId(), seatsHeld.seatNumbers().size());
+                case ShowEvent.SeatHoldsConfirmed ignored -> CompletableFuture.completedFuture(Done.done());
+                case ShowEvent.SeatHoldsExpired seatHoldsExpired -> showViewRepository.incrementAvailability(seatHoldsExpired.showId(), seatHoldsExpired.seatNumbers().size());
+                case ShowEvent.PriceTierChanged ignored -> CompletableFuture.completedFuture(Done.done());
             };
         } else {
             throw new IllegalStateException("Unrecognized event type");
@@ -7,6 +7,7 @@ import akka.cluster.sharding.typed.javadsl.ClusterSharding;
 import akka.testkit.javadsl.TestKit;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.awaitility.Awaitility;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Test;
@@ -38,7 +39,8 @@ class ShowViewProjectionTest {
     private ReservationConfiguration reservationConfiguration = new ReservationConfiguration(system, sharding, clock);
     private ShowService showService = reservationConfiguration.showService();
     private ShowViewRepository showViewRepository = reservationConfiguration.showViewRepository();
-    private ProjectionLauncher projectionLauncher = reservationConfiguration.projectionLauncher(showViewRepository);
+    private ProjectionLauncher projectionLauncher = reservationConfiguration.projectionLauncher(showViewRepository,
+            new ProjectionMetrics(new SimpleMeterRegistry()), ShowViewListener.NONE);
 
     @AfterAll
     public static void cleanUp() {
@@ -62,7 +64,7 @@ class ShowViewProjectionTest {
         //then
         Awaitility.await().atMost(10, SECONDS).untilAsserted(() -> {
             List<ShowView> showViews = await(showViewRepository.findAvailable());
-            assertThat(showViews).contains(new ShowView(showId2.toString(), 19));
+            assertThat(showViews).contains(new ShowView(showId2, 19));
         });
         projectionLauncher.shutdownProjections();
     }
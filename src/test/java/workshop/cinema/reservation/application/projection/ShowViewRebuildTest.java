@@ -0,0 +1,100 @@
+package workshop.cinema.reservation.application.projection;
+
+import akka.actor.ActorSystem;
+import akka.actor.typed.javadsl.Adapter;
+import akka.cluster.sharding.typed.javadsl.ClusterSharding;
+import akka.persistence.query.EventEnvelope;
+import akka.persistence.query.Offset;
+import akka.persistence.query.PersistenceQuery;
+import akka.persistence.query.javadsl.CurrentEventsByTagQuery;
+import akka.persistence.testkit.PersistenceTestKitPlugin;
+import akka.persistence.testkit.PersistenceTestKitSnapshotPlugin;
+import akka.persistence.testkit.query.javadsl.PersistenceTestKitReadJournal;
+import akka.stream.javadsl.Source;
+import akka.testkit.javadsl.TestKit;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import workshop.cinema.base.domain.Clock;
+import workshop.cinema.reservation.application.ShowEntity;
+import workshop.cinema.reservation.application.ShowEntitySettings;
+import workshop.cinema.reservation.application.ShowService;
+import workshop.cinema.reservation.domain.SeatNumber;
+import workshop.cinema.reservation.domain.ShowEvent;
+import workshop.cinema.reservation.domain.ShowId;
+import workshop.cinema.reservation.infrastructure.InMemoryShowViewRepository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static workshop.cinema.reservation.application.Blocking.await;
+
+class ShowViewRebuildTest {
+
+    private static Config config = PersistenceTestKitPlugin.config()
+            .withFallback(PersistenceTestKitSnapshotPlugin.config())
+            .withFallback(ConfigFactory.load());
+    private static ActorSystem system = ActorSystem.create("es-workshop", config);
+    private ClusterSharding sharding = ClusterSharding.get(Adapter.toTyped(system));
+    private Clock clock = new Clock.UtcClock();
+    private ShowService showService = new ShowService(sharding, clock);
+    private ShowViewRepository showViewRepository = new InMemoryShowViewRepository();
+    private PersistenceTestKitReadJournal readJournal = PersistenceQuery.get(system)
+            .getReadJournalFor(PersistenceTestKitReadJournal.class, PersistenceTestKitReadJournal.Identifier());
+    private ShowViewRebuild showViewRebuild = new ShowViewRebuild(Adapter.toTyped(system), readJournal, showViewRepository,
+            ShowEntity.showEventTags(ShowEntitySettings.defaults().tagSlices()));
+
+    @AfterAll
+    public static void cleanUp() {
+        TestKit.shutdownActorSystem(system);
+    }
+
+    @Test
+    public void shouldReplaceViewWithStateFoldedFromJournal() throws ExecutionException, InterruptedException {
+        //given
+        var showId1 = ShowId.of();
+        var showId2 = ShowId.of();
+        var staleShowId = ShowId.of();
+        await(showViewRepository.save(staleShowId, 5));
+
+        await(showService.createShow(showId1, "Matrix", 1));
+        await(showService.reserveSeat(showId1, SeatNumber.of(0))); //no more available seat
+        await(showService.createShow(showId2, "Snatch", 20));
+        await(showService.reserveSeat(showId2, SeatNumber.of(1)));
+        await(showService.reserveSeat(showId2, SeatNumber.of(2)));
+        await(showService.cancelReservation(showId2, SeatNumber.of(2)));
+
+        //when
+        ShowViewRebuildReport report = await(showViewRebuild.rebuildView());
+
+        //then
+        List<ShowView> showViews = await(showViewRepository.findAvailable());
+        assertThat(showViews).contains(new ShowView(showId2, 19));
+        assertThat(showViews).extracting(ShowView::showId).doesNotContain(showId1, staleShowId);
+        assertThat(report.events()).isGreaterThanOrEqualTo(6);
+        assertThat(report.shows()).isGreaterThanOrEqualTo(2);
+        assertThat(report.offsets()).isNotEmpty();
+    }
+
+    @Test
+    public void shouldReportShowsWithoutShowCreatedEvent() throws ExecutionException, InterruptedException {
+        //given
+        var showId = ShowId.of();
+        var seatReserved = new ShowEvent.SeatReserved(showId, Instant.now(), SeatNumber.of(1));
+        var envelope = new EventEnvelope(Offset.sequence(1), ShowEntity.persistenceId(showId).id(), 2, seatReserved, 0L);
+        CurrentEventsByTagQuery journalWithoutShowCreated = (tag, offset) -> Source.single(envelope);
+        var rebuild = new ShowViewRebuild(Adapter.toTyped(system), journalWithoutShowCreated, showViewRepository,
+                ShowEntity.showEventTags(1));
+
+        //when
+        ShowViewRebuildReport report = await(rebuild.rebuildView());
+
+        //then
+        assertThat(report.skippedShows()).isEqualTo(1);
+        assertThat(report.shows()).isZero();
+        assertThat(await(showViewRepository.findAvailable())).isEmpty();
+    }
+}
@@ -0,0 +1,170 @@
+package workshop.cinema.reservation.domain;
+
+import io.vavr.collection.List;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static workshop.cinema.reservation.domain.ShowCreator.INITIAL_PRICE;
+
+class SeatsTest {
+
+    @Test
+    public void shouldCreateAvailableSeats() {
+        //when
+        var seats = Seats.create(1000, INITIAL_PRICE);
+
+        //then
+        assertThat(seats).hasSize(1000);
+        assertThat(seats).allMatch(Seat::isAvailable);
+        assertThat(seats).allMatch(seat -> seat.price().equals(INITIAL_PRICE));
+    }
+
+    @Test
+    public void shouldChangeStatusWithoutModifyingOriginal() {
+        //given
+        var seats = Seats.create(1000, INITIAL_PRICE);
+        var lastSeatInChunk = SeatNumber.of(511);
+        var firstSeatInNextChunk = SeatNumber.of(512);
+
+        //when
+        var updated = seats.withStatus(lastSeatInChunk, SeatStatus.RESERVED);
+
+        //then
+        assertThat(updated.isReserved(lastSeatInChunk)).isTrue();
+        assertThat(updated.isAvailable(firstSeatInNextChunk)).isTrue();
+        assertThat(seats.isAvailable(lastSeatInChunk)).isTrue();
+        assertThat(updated).isNotEqualTo(seats);
+        assertThat(updated.withStatus(lastSeatInChunk, SeatStatus.AVAILABLE)).isEqualTo(seats);
+    }
+
+    @Test
+    public void shouldKeepSeatPrice() {
+        //given
+        var seats = Seats.create(10, INITIAL_PRICE);
+        var seat = new Seat(SeatNumber.of(3), SeatStatus.RESERVED, new BigDecimal("123"));
+
+        //when
+        var updated = seats.with(seat);
+
+        //then
+        assertThat(updated.get(seat.number()).get()).isEqualTo(seat);
+        assertThat(updated.price(4)).isEqualTo(INITIAL_PRICE);
+    }
+
+    @Test
+    public void shouldNotChangeNotExistingSeat() {
+        //given
+        var seats = Seats.create(10, INITIAL_PRICE);
+
+        //when //then
+        assertThat(seats.get(SeatNumber.of(10)).isEmpty()).isTrue();
+        assertThatThrownBy(() -> seats.withStatus(SeatNumber.of(10), SeatStatus.RESERVED))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void shouldFindBestAvailableSeatsInPreferredSection() {
+        //given
+        var seats = Seats.create(new SeatingLayout(List.of(new BigDecimal("150"), new BigDecimal("80")), List.of(
+                new SeatingLayout.Section("Front", 2, 6, 0),
+                new SeatingLayout.Section("Back", 40, 6, 1))));
+        var reserved = seats.withStatus(SeatNumbers.range(12, 12 + 6 * 35), SeatStatus.RESERVED)
+                .withStatus(SeatNumber.of(12 + 6 * 35 + 2), SeatStatus.RESERVED);
+
+        //when
+        var front = reserved.bestAvailable(2, SeatPreferences.none());
+        var back = reserved.bestAvailable(4, SeatPreferences.sections("Back"));
+        var tooMany = reserved.bestAvailable(7, SeatPreferences.none());
+
+        //then
+        assertThat(front).isEqualTo(SeatNumbers.of(2, 3));
+        assertThat(back).isEqualTo(SeatNumbers.range(12 + 6 * 36 + 1, 12 + 6 * 36 + 5));
+        assertThat(tooMany.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void shouldPassPackedStatusWordsInSeatOrder() {
+        //given
+        var seats = Seats.create(1000, INITIAL_PRICE)
+                .withStatus(SeatNumber.of(1), SeatStatus.RESERVED)
+                .withStatus(SeatNumber.of(512), SeatStatus.HELD);
+        var words = new ArrayList<Long>();
+
+        //when
+        seats.forEachStatusWord(words::add);
+
+        //then
+        assertThat(words).hasSize(32);
+        assertThat(words.get(0)).isEqualTo((long) SeatStatus.RESERVED.ordinal() << 2);
+        assertThat(words.get(16)).isEqualTo((long) SeatStatus.HELD.ordinal());
+        assertThat(words.stream().filter(word -> word != 0)).hasSize(2);
+    }
+
+    @Test
+    public void shouldPassChangedStatusesInSeatOrder() {
+        //given
+        var seats = Seats.create(2000, INITIAL_PRICE).withStatus(SeatNumber.of(7), SeatStatus.RESERVED);
+        var changed = seats.withStatus(SeatNumber.of(1500), SeatStatus.HELD)
+                .withStatus(SeatNumbers.of(31, 32), SeatStatus.RESERVED)
+                .withStatus(SeatNumber.of(7), SeatStatus.AVAILABLE)
+                .withStatus(SeatNumber.of(600), SeatStatus.RESERVED)
+                .withStatus(SeatNumber.of(600), SeatStatus.AVAILABLE);
+        var seatNumbers = new ArrayList<Integer>();
+
+        //when
+        changed.forEachChangedStatus(seats, seatNumbers::add);
+
+        //then
+        assertThat(seatNumbers).containsExactly(7, 31, 32, 1500);
+    }
+
+    @Test
+    public void shouldComparePricesByTier() {
+        //given
+        var seats = Seats.create(100, INITIAL_PRICE);
+
+        //when //then
+        assertThat(seats.withStatus(SeatNumber.of(1), SeatStatus.RESERVED).samePrices(seats)).isTrue();
+        assertThat(seats.withTierPrice(0, INITIAL_PRICE).samePrices(seats)).isTrue();
+        assertThat(seats.withTierPrice(0, INITIAL_PRICE.setScale(4)).samePrices(seats)).isFalse();
+        assertThat(seats.with(new Seat(SeatNumber.of(3), SeatStatus.AVAILABLE, new BigDecimal("7"))).samePrices(seats)).isFalse();
+    }
+
+    @Test
+    public void shouldKeepLongestRunOfLargeSingleRow() {
+        //given
+        var random = new Random(42);
+        var seats = Seats.create(60000, INITIAL_PRICE);
+        var statuses = SeatStatus.values();
+
+        for (int i = 0; i < 300; i++) {
+            //when
+            int from = random.nextInt(seats.size());
+            int to = Math.min(seats.size(), from + 1 + random.nextInt(i % 2 == 0 ? 8 : 4000));
+            var status = statuses[random.nextInt(statuses.length)];
+            seats = to - from == 1
+                    ? seats.withStatus(SeatNumber.of(from), status)
+                    : seats.withStatus(SeatNumbers.range(from, to), status);
+
+            //then
+            int longest = longestRun(seats);
+            assertThat(seats.bestAvailable(longest, SeatPreferences.none()).size()).isEqualTo(longest);
+            assertThat(seats.bestAvailable(longest + 1, SeatPreferences.none()).isEmpty()).isTrue();
+        }
+    }
+
+    private static int longestRun(Seats seats) {
+        int longest = 0;
+        int current = 0;
+        for (int seat = 0; seat < seats.size(); seat++) {
+            current = seats.isAvailable(SeatNumber.of(seat)) ? current + 1 : 0;
+            longest = Math.max(longest, current);
+        }
+        return longest;
+    }
+}
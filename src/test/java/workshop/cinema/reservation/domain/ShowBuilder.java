@@ -1,8 +1,5 @@
 package workshop.cinema.reservation.domain;
 
-import io.vavr.collection.HashMap;
-import io.vavr.collection.Map;
-
 import static workshop.cinema.reservation.domain.DomainGenerators.randomPrice;
 import static workshop.cinema.reservation.domain.DomainGenerators.randomShowId;
 
@@ -11,7 +8,7 @@ public class ShowBuilder {
     final static int MAX_SEATS = 100;
     private ShowId id = randomShowId();
     private String title = "Random title";
-    private Map<SeatNumber, Seat> seats = HashMap.empty();
+    private Seats seats = Seats.empty();
 
     public static ShowBuilder showBuilder() {
         return new ShowBuilder();
@@ -23,7 +20,7 @@ public class ShowBuilder {
     }
 
     public ShowBuilder withSeat(Seat seat) {
-        seats = seats.put(seat.number(), seat);
+        seats = seats.with(seat);
         return this;
     }
 
@@ -4,20 +4,32 @@ package workshop.cinema.reservation.domain;
 import io.vavr.collection.List;
 import org.junit.jupiter.api.Test;
 import workshop.cinema.base.domain.Clock;
+import workshop.cinema.reservation.domain.ShowEvent.PriceTierChanged;
+import workshop.cinema.reservation.domain.ShowEvent.SeatHoldsConfirmed;
+import workshop.cinema.reservation.domain.ShowEvent.SeatHoldsExpired;
 import workshop.cinema.reservation.domain.ShowEvent.SeatReservationCancelled;
 import workshop.cinema.reservation.domain.ShowEvent.SeatReserved;
+import workshop.cinema.reservation.domain.ShowEvent.SeatsHeld;
+import workshop.cinema.reservation.domain.ShowEvent.SeatsReservationCancelled;
+import workshop.cinema.reservation.domain.ShowEvent.SeatsReserved;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static workshop.cinema.reservation.domain.DomainGenerators.randomShow;
 import static workshop.cinema.reservation.domain.DomainGenerators.randomShowId;
+import static workshop.cinema.reservation.domain.DomainGenerators.randomTitle;
 import static workshop.cinema.reservation.domain.ShowBuilder.showBuilder;
+import static workshop.cinema.reservation.domain.ShowCommandError.PRICE_TIER_NOT_EXISTS;
+import static workshop.cinema.reservation.domain.ShowCommandError.SEATS_TOGETHER_NOT_AVAILABLE;
 import static workshop.cinema.reservation.domain.ShowCommandError.SEAT_NOT_AVAILABLE;
 import static workshop.cinema.reservation.domain.ShowCommandError.SEAT_NOT_EXISTS;
+import static workshop.cinema.reservation.domain.ShowCommandError.SEAT_NOT_HELD;
 import static workshop.cinema.reservation.domain.ShowCommandError.SEAT_NOT_RESERVED;
 import static workshop.cinema.reservation.domain.ShowCommandError.SHOW_ALREADY_EXISTS;
+import static workshop.cinema.reservation.domain.ShowCommandError.TOO_MANY_SEATS;
 import static workshop.cinema.reservation.domain.ShowCommandGenerators.randomCreateShow;
 import static workshop.cinema.reservation.domain.ShowCommandGenerators.randomReserveSeat;
 
@@ -41,6 +53,73 @@ class ShowTest {
         assertThat(show.seats()).hasSize(createShow.maxSeats());
     }
 
+    @Test
+    public void shouldCreateTheShowFromLayout() {
+        //given
+        var layout = new SeatingLayout(List.of(new BigDecimal("150"), new BigDecimal("80")), List.of(
+                new SeatingLayout.Section("Front", 10, 30, 0),
+                new SeatingLayout.Section("Back", 20, 40, 1)));
+        var createShow = new ShowCommand.CreateShow(randomShowId(), randomTitle(), layout);
+
+        //when
+        var showCreated = ShowCreator.create(createShow, clock).get();
+        var show = Show.create(showCreated);
+
+        //then
+        assertThat(show.seats().size()).isEqualTo(1100);
+        assertThat(show.seats().price(299)).isEqualTo(new BigDecimal("150"));
+        assertThat(show.seats().price(300)).isEqualTo(new BigDecimal("80"));
+    }
+
+    @Test
+    public void shouldRepriceWholeTier() {
+        //given
+        var layout = new SeatingLayout(List.of(new BigDecimal("150"), new BigDecimal("80")), List.of(
+                new SeatingLayout.Section("Front", 1, 10, 0),
+                new SeatingLayout.Section("Back", 2, 10, 1)));
+        var show = Show.create(ShowCreator.create(new ShowCommand.CreateShow(randomShowId(), randomTitle(), layout), clock).get());
+        var repriceTier = new ShowCommand.RepriceTier(show.id(), 1, new BigDecimal("95"));
+
+        //when
+        var events = show.process(repriceTier, clock).get();
+        var repricedShow = apply(show, events);
+
+        //then
+        assertThat(events).containsOnly(new PriceTierChanged(show.id(), clock.now(), 1, new BigDecimal("95")));
+        assertThat(repricedShow.seats().price(9)).isEqualTo(new BigDecimal("150"));
+        assertThat(repricedShow.seats().price(10)).isEqualTo(new BigDecimal("95"));
+        assertThat(repricedShow.seats().price(29)).isEqualTo(new BigDecimal("95"));
+        assertThat(show.process(new ShowCommand.RepriceTier(show.id(), 2, BigDecimal.ONE), clock).getLeft()).isEqualTo(PRICE_TIER_NOT_EXISTS);
+    }
+
+    @Test
+    public void shouldDecideWithEventOrSharedRejection() {
+        //given
+        var show = randomShow();
+        var reserveSeat = new ShowCommand.ReserveSeat(show.id(), SeatNumber.of(1));
+        var reservedShow = show.apply(new SeatReserved(show.id(), clock.now(), SeatNumber.of(1)));
+
+        //when
+        var accepted = show.decide(reserveSeat, clock);
+        var rejected = reservedShow.decide(reserveSeat, clock);
+
+        //then
+        assertThat(accepted).isEqualTo(new SeatReserved(show.id(), clock.now(), SeatNumber.of(1)));
+        assertThat(rejected).isSameAs(ShowDecision.Rejected.of(SEAT_NOT_AVAILABLE));
+    }
+
+    @Test
+    public void shouldNotCreateTheShowWithTooManySeats() {
+        //given
+        var createShow = new ShowCommand.CreateShow(randomShowId(), randomTitle(), 101);
+
+        //when
+        var error = ShowCreator.create(createShow, 100, clock).getLeft();
+
+        //then
+        assertThat(error).isEqualTo(TOO_MANY_SEATS);
+    }
+
     @Test
     public void shouldNotProcessCreateShowCommandForExistingShow() {
         //given
@@ -144,6 +223,146 @@ class ShowTest {
         assertThat(result).isEqualTo(SEAT_NOT_RESERVED);
     }
 
+    @Test
+    public void shouldReserveAllSeatsWithSingleEvent() {
+        //given
+        var show = randomShow();
+        var seatNumbers = SeatNumbers.of(1, 2, 3, 4, 5, 6);
+        var reserveSeats = new ShowCommand.ReserveSeats(show.id(), seatNumbers);
+
+        //when
+        var events = show.process(reserveSeats, clock).get();
+        var updatedShow = apply(show, events);
+
+        //then
+        assertThat(events).containsOnly(new SeatsReserved(show.id(), clock.now(), seatNumbers));
+        assertThat(seatNumbers).allMatch(seatNumber -> updatedShow.seats().isReserved(seatNumber));
+    }
+
+    @Test
+    public void shouldNotReserveAnySeatIfOneIsNotAvailable() {
+        //given
+        var reservedSeat = new Seat(new SeatNumber(4), SeatStatus.RESERVED, new BigDecimal("123"));
+        var show = showBuilder().withRandomSeats().withSeat(reservedSeat).build();
+        var reserveSeats = new ShowCommand.ReserveSeats(show.id(), SeatNumbers.of(3, 4, 5));
+
+        //when
+        var result = show.process(reserveSeats, clock).getLeft();
+
+        //then
+        assertThat(result).isEqualTo(SEAT_NOT_AVAILABLE);
+    }
+
+    @Test
+    public void shouldCancelAllSeatReservations() {
+        //given
+        var show = randomShow();
+        var seatNumbers = SeatNumbers.of(7, 8);
+        var reservedShow = apply(show, show.process(new ShowCommand.ReserveSeats(show.id(), seatNumbers), clock).get());
+        var cancelSeatReservations = new ShowCommand.CancelSeatReservations(show.id(), seatNumbers);
+
+        //when
+        var events = reservedShow.process(cancelSeatReservations, clock).get();
+
+        //then
+        assertThat(events).containsOnly(new SeatsReservationCancelled(show.id(), clock.now(), seatNumbers));
+        assertThat(apply(reservedShow, events)).isEqualTo(show);
+    }
+
+    @Test
+    public void shouldReserveBestAvailableSeatsTogether() {
+        //given
+        var layout = new SeatingLayout(List.of(new BigDecimal("150")), List.of(new SeatingLayout.Section("Front", 2, 10, 0)));
+        var show = Show.create(ShowCreator.create(new ShowCommand.CreateShow(randomShowId(), randomTitle(), layout), clock).get());
+        var fragmentedShow = apply(show, List.of(new SeatsReserved(show.id(), clock.now(), SeatNumbers.of(2, 5, 8))));
+        var reserveBestAvailable = new ShowCommand.ReserveBestAvailable(show.id(), 3, SeatPreferences.none());
+
+        //when
+        var events = fragmentedShow.process(reserveBestAvailable, clock).get();
+
+        //then
+        assertThat(events).containsOnly(new SeatsReserved(show.id(), clock.now(), SeatNumbers.of(13, 14, 15)));
+    }
+
+    @Test
+    public void shouldNotReserveBestAvailableSeatsIfNoRowHasEnoughSeatsTogether() {
+        //given
+        var layout = new SeatingLayout(List.of(new BigDecimal("150")), List.of(new SeatingLayout.Section("Front", 1, 10, 0)));
+        var show = Show.create(ShowCreator.create(new ShowCommand.CreateShow(randomShowId(), randomTitle(), layout), clock).get());
+        var fragmentedShow = apply(show, List.of(new SeatsReserved(show.id(), clock.now(), SeatNumbers.of(3, 7))));
+        var reserveBestAvailable = new ShowCommand.ReserveBestAvailable(show.id(), 4, SeatPreferences.none());
+
+        //when
+        var result = fragmentedShow.process(reserveBestAvailable, clock).getLeft();
+
+        //then
+        assertThat(result).isEqualTo(SEATS_TOGETHER_NOT_AVAILABLE);
+    }
+
+    @Test
+    public void shouldReleaseHeldSeatsAfterDeadline() {
+        //given
+        var show = randomShow();
+        var seatNumbers = SeatNumbers.of(1, 2);
+        var holdClock = new FixedClock(Instant.parse("2021-10-01T10:00:00.250Z"));
+        var holdSeats = new ShowCommand.HoldSeats(show.id(), seatNumbers, Duration.ofMinutes(5));
+
+        //when
+        var events = show.process(holdSeats, holdClock).get();
+        var heldShow = apply(show, events);
+
+        //then
+        var deadline = Instant.parse("2021-10-01T10:05:01Z");
+        assertThat(events).containsOnly(new SeatsHeld(show.id(), holdClock.now(), seatNumbers, deadline));
+        assertThat(seatNumbers).allMatch(seatNumber -> heldShow.seats().isHeld(seatNumber));
+        assertThat(heldShow.holds().nextDeadline().get()).isEqualTo(deadline);
+        assertThat(heldShow.process(new ShowCommand.ReserveSeats(show.id(), seatNumbers), holdClock).getLeft()).isEqualTo(SEAT_NOT_AVAILABLE);
+        assertThat(heldShow.expireHolds(new FixedClock(deadline.minusMillis(1)))).isEmpty();
+
+        //when
+        var expired = heldShow.expireHolds(new FixedClock(deadline));
+
+        //then
+        assertThat(expired).containsOnly(new SeatHoldsExpired(show.id(), deadline, seatNumbers));
+        assertThat(apply(heldShow, expired)).isEqualTo(show);
+    }
+
+    @Test
+    public void shouldConfirmHeldSeats() {
+        //given
+        var show = randomShow();
+        var seatNumbers = SeatNumbers.of(3, 4);
+        var heldShow = apply(show, show.process(new ShowCommand.HoldSeats(show.id(), seatNumbers, Duration.ofMinutes(5)), clock).get());
+
+        //when
+        var events = heldShow.process(new ShowCommand.ConfirmSeatHolds(show.id(), seatNumbers), clock).get();
+        var confirmedShow = apply(heldShow, events);
+
+        //then
+        assertThat(events).containsOnly(new SeatHoldsConfirmed(show.id(), clock.now(), seatNumbers));
+        assertThat(seatNumbers).allMatch(seatNumber -> confirmedShow.seats().isReserved(seatNumber));
+        assertThat(confirmedShow.holds().isEmpty()).isTrue();
+        assertThat(confirmedShow.process(new ShowCommand.ConfirmSeatHolds(show.id(), seatNumbers), clock).getLeft()).isEqualTo(SEAT_NOT_HELD);
+    }
+
+    @Test
+    public void shouldRestoreShowFromSnapshot() {
+        //given
+        var show = showBuilder().withRandomSeats().withSeat(new Seat(SeatNumber.of(0), SeatStatus.AVAILABLE, new BigDecimal("999"))).build();
+        var changedShow = apply(show, List.of(
+                new SeatsReserved(show.id(), clock.now(), SeatNumbers.of(1, 2, 50)),
+                new SeatsHeld(show.id(), clock.now(), SeatNumbers.of(70, 99), clock.now().plusSeconds(60))));
+
+        //when
+        var restoredShow = Show.fromSnapshot(changedShow.toSnapshot());
+
+        //then
+        assertThat(restoredShow).isEqualTo(changedShow);
+        assertThat(restoredShow.seats().price(0)).isEqualTo(new BigDecimal("999"));
+        assertThat(restoredShow.seats().bestAvailable(40, SeatPreferences.none()))
+                .isEqualTo(changedShow.seats().bestAvailable(40, SeatPreferences.none()));
+    }
+
     private Show apply(Show show, List<ShowEvent> events) {
         return events.foldLeft(show, Show::apply);
     }
@@ -0,0 +1,63 @@
+package workshop.cinema.reservation.infrastructure;
+
+import akka.persistence.query.Offset;
+import io.vavr.control.Option;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import workshop.cinema.reservation.application.projection.AvailabilityChange;
+import workshop.cinema.reservation.application.projection.ShowView;
+import workshop.cinema.reservation.domain.ShowId;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static workshop.cinema.reservation.application.Blocking.await;
+
+class CheckpointedShowViewRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void shouldRestoreViewWithOffsetsFromCheckpoint() throws IOException, ExecutionException, InterruptedException {
+        //given
+        var file = directory.resolve("show-view.checkpoint");
+        var showId1 = ShowId.of();
+        var showId2 = ShowId.of();
+        var showViewRepository = CheckpointedShowViewRepository.load(file);
+        await(showViewRepository.applyAvailabilityChanges("ShowEvent-0", Offset.sequence(10),
+                List.of(AvailabilityChange.created(showId1, 10), AvailabilityChange.created(showId2, 1))));
+        await(showViewRepository.applyAvailabilityChanges("ShowEvent-1", Offset.sequence(12),
+                List.of(AvailabilityChange.delta(showId1, -3), AvailabilityChange.delta(showId2, -1))));
+
+        //when
+        showViewRepository.checkpoint();
+        var restored = CheckpointedShowViewRepository.load(file);
+
+        //then
+        assertThat(await(restored.findAvailable())).containsExactly(new ShowView(showId1, 7));
+        assertThat(restored.offset("ShowEvent-0")).isEqualTo(Option.of(Offset.sequence(10)));
+        assertThat(restored.offset("ShowEvent-1")).isEqualTo(Option.of(Offset.sequence(12)));
+        assertThat(restored.offset("ShowEvent-2")).isEqualTo(Option.none());
+
+        //when
+        await(restored.applyAvailabilityChanges("ShowEvent-0", Offset.sequence(13), List.of(AvailabilityChange.delta(showId2, 2))));
+
+        //then
+        assertThat(await(restored.findAvailable())).contains(new ShowView(showId2, 2));
+        assertThat(restored.offset("ShowEvent-0")).isEqualTo(Option.of(Offset.sequence(13)));
+    }
+
+    @Test
+    public void shouldStartEmptyWithoutCheckpoint() throws IOException, ExecutionException, InterruptedException {
+        //when
+        var showViewRepository = CheckpointedShowViewRepository.load(directory.resolve("missing.checkpoint"));
+
+        //then
+        assertThat(await(showViewRepository.findAvailable())).isEmpty();
+        assertThat(showViewRepository.offset("ShowEvent-0")).isEqualTo(Option.none());
+    }
+}
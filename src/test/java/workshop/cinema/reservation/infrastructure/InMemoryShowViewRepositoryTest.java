@@ -0,0 +1,77 @@
+package workshop.cinema.reservation.infrastructure;
+
+import io.vavr.control.Option;
+import org.junit.jupiter.api.Test;
+import workshop.cinema.reservation.application.projection.AvailabilityChange;
+import workshop.cinema.reservation.application.projection.ShowView;
+import workshop.cinema.reservation.domain.ShowId;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static workshop.cinema.reservation.application.Blocking.await;
+
+class InMemoryShowViewRepositoryTest {
+
+    private final InMemoryShowViewRepository showViewRepository = new InMemoryShowViewRepository();
+
+    @Test
+    public void shouldPageThroughAvailableShowsOrderedById() throws ExecutionException, InterruptedException {
+        //given
+        List<ShowId> showIds = IntStream.range(0, 5).mapToObj(i -> ShowId.of()).toList();
+        for (ShowId showId : showIds) {
+            await(showViewRepository.save(showId, 10));
+        }
+        List<ShowId> sorted = showIds.stream().sorted(Comparator.comparing(showId -> showId.id().toString())).toList();
+
+        //when
+        List<ShowView> firstPage = await(showViewRepository.findAvailable(2));
+        List<ShowView> secondPage = await(showViewRepository.findAvailable(2, Option.of(sorted.get(1))));
+        List<ShowView> lastPage = await(showViewRepository.findAvailable(2, Option.of(sorted.get(3))));
+
+        //then
+        assertThat(firstPage).extracting(ShowView::showId).containsExactly(sorted.get(0), sorted.get(1));
+        assertThat(secondPage).extracting(ShowView::showId).containsExactly(sorted.get(2), sorted.get(3));
+        assertThat(lastPage).extracting(ShowView::showId).containsExactly(sorted.get(4));
+    }
+
+    @Test
+    public void shouldRemoveShowFromIndexWhenSoldOut() throws ExecutionException, InterruptedException {
+        //given
+        var showId = ShowId.of(UUID.fromString("00000000-0000-0000-0000-000000000001"));
+        await(showViewRepository.save(showId, 1));
+
+        //when
+        await(showViewRepository.decrementAvailability(showId));
+
+        //then
+        assertThat(await(showViewRepository.findAvailable(10))).isEmpty();
+        assertThat(await(showViewRepository.findAvailable())).isEmpty();
+
+        //when
+        await(showViewRepository.incrementAvailability(showId));
+
+        //then
+        assertThat(await(showViewRepository.findAvailable(10))).containsExactly(new ShowView(showId, 1));
+    }
+
+    @Test
+    public void shouldReplaceAllShows() throws ExecutionException, InterruptedException {
+        //given
+        var staleShowId = ShowId.of();
+        var showId = ShowId.of();
+        await(showViewRepository.save(staleShowId, 10));
+
+        //when
+        await(showViewRepository.replaceAll(List.of(new AvailabilityChange(showId, true, 7)), Map.of()));
+
+        //then
+        assertThat(await(showViewRepository.findAvailable())).containsExactly(new ShowView(showId, 7));
+        assertThat(await(showViewRepository.findAvailable(10))).containsExactly(new ShowView(showId, 7));
+    }
+}
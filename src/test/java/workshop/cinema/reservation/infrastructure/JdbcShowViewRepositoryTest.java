@@ -0,0 +1,193 @@
+package workshop.cinema.reservation.infrastructure;
+
+import akka.persistence.query.Sequence;
+import akka.projection.eventsourced.EventEnvelope;
+import io.vavr.control.Option;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import workshop.cinema.reservation.application.projection.AvailabilityChange;
+import workshop.cinema.reservation.application.projection.DataSourceJdbcSession;
+import workshop.cinema.reservation.application.projection.ShowView;
+import workshop.cinema.reservation.application.projection.ShowViewJdbcEventHandler;
+import workshop.cinema.reservation.application.projection.ShowViewProjection;
+import workshop.cinema.reservation.domain.SeatNumber;
+import workshop.cinema.reservation.domain.ShowEvent;
+import workshop.cinema.reservation.domain.ShowEvent.SeatReserved;
+import workshop.cinema.reservation.domain.ShowId;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static workshop.cinema.reservation.application.Blocking.await;
+
+class JdbcShowViewRepositoryTest {
+
+    private static EmbeddedPostgres postgres;
+    private static DataSource dataSource;
+
+    private final JdbcShowViewRepository showViewRepository = new JdbcShowViewRepository(dataSource, Executors.newSingleThreadExecutor());
+
+    @BeforeAll
+    public static void setUp() throws IOException, SQLException {
+        postgres = EmbeddedPostgres.start();
+        dataSource = postgres.getPostgresDatabase();
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(Files.readString(Path.of("development/create_show_view_table.sql")));
+            statement.execute(Files.readString(Path.of("development/create_journal_and_snapshot_tables.sql")));
+        }
+    }
+
+    @AfterAll
+    public static void cleanUp() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    public void shouldUpsertCreatedShowsAndDeltas() throws ExecutionException, InterruptedException {
+        //given
+        var showId1 = ShowId.of();
+        var showId2 = ShowId.of();
+        await(showViewRepository.applyAvailabilityChanges(List.of(AvailabilityChange.created(showId1, 10), AvailabilityChange.created(showId2, 1))));
+
+        //when
+        await(showViewRepository.applyAvailabilityChanges(List.of(AvailabilityChange.delta(showId1, -3), AvailabilityChange.delta(showId2, -1))));
+
+        //then
+        List<ShowView> showViews = await(showViewRepository.findAvailable());
+        assertThat(showViews).contains(new ShowView(showId1, 7));
+        assertThat(showViews).extracting(ShowView::showId).doesNotContain(showId2);
+        assertThat(await(showViewRepository.findBy(showId2)).get()).isEqualTo(new ShowView(showId2, 0));
+        assertThat(await(showViewRepository.findBy(ShowId.of())).isEmpty()).isTrue();
+    }
+
+    @Test
+    public void shouldOverwriteAvailabilityWhenCreatedShowIsReplayed() throws ExecutionException, InterruptedException {
+        //given
+        var showId = ShowId.of();
+        await(showViewRepository.save(showId, 10));
+        await(showViewRepository.decrementAvailability(showId, 2));
+
+        //when
+        await(showViewRepository.save(showId, 10));
+
+        //then
+        assertThat(await(showViewRepository.findAvailable())).contains(new ShowView(showId, 10));
+    }
+
+    @Test
+    public void shouldPageThroughAvailableShowsOrderedById() throws ExecutionException, InterruptedException {
+        //given
+        var showId1 = ShowId.of(UUID.fromString("ffffffff-0000-0000-0000-000000000001"));
+        var showId2 = ShowId.of(UUID.fromString("ffffffff-0000-0000-0000-000000000002"));
+        var showId3 = ShowId.of(UUID.fromString("ffffffff-0000-0000-0000-000000000003"));
+        await(showViewRepository.applyAvailabilityChanges(List.of(AvailabilityChange.created(showId3, 3),
+                AvailabilityChange.created(showId1, 1), AvailabilityChange.created(showId2, 2))));
+
+        //when
+        List<ShowView> page = await(showViewRepository.findAvailable(2, Option.of(showId1)));
+
+        //then
+        assertThat(page).containsExactly(new ShowView(showId2, 2), new ShowView(showId3, 3));
+    }
+
+    @Test
+    public void shouldWriteWithinProjectionTransaction() throws Exception {
+        //given
+        var showId = ShowId.of();
+        await(showViewRepository.save(showId, 10));
+        var handler = new ShowViewJdbcEventHandler(showViewRepository);
+        var reserved = envelope(new SeatReserved(showId, Instant.now(), SeatNumber.of(1)), 1);
+
+        //when
+        var rolledBack = new DataSourceJdbcSession(dataSource);
+        handler.process(rolledBack, List.of(reserved));
+        rolledBack.rollback();
+        rolledBack.close();
+        var committed = new DataSourceJdbcSession(dataSource);
+        handler.process(committed, List.of(reserved, reserved));
+        committed.commit();
+        committed.close();
+
+        //then
+        assertThat(await(showViewRepository.findAvailable())).contains(new ShowView(showId, 8));
+    }
+
+    @Test
+    public void shouldReplaceShowsAndStoreOffsetsTogether() throws Exception {
+        //given
+        var kept = ShowId.of();
+        var dropped = ShowId.of();
+        await(showViewRepository.applyAvailabilityChanges(List.of(AvailabilityChange.created(kept, 10),
+                AvailabilityChange.created(dropped, 5))));
+
+        //when
+        await(showViewRepository.replaceAll(List.of(AvailabilityChange.created(kept, 7)),
+                Map.of("ShowEvent-0", Sequence.apply(42), "ShowEvent-1", Sequence.apply(7))));
+
+        //then
+        assertThat(await(showViewRepository.findBy(kept)).get()).isEqualTo(new ShowView(kept, 7));
+        assertThat(await(showViewRepository.findBy(dropped)).isEmpty()).isTrue();
+        assertThat(storedOffset("ShowEvent-0")).isEqualTo("42");
+        assertThat(storedOffset("ShowEvent-1")).isEqualTo("7");
+        assertThat(showViewIndexes()).containsExactlyInAnyOrder("show_view_pkey", "show_view_available_idx");
+    }
+
+    @Test
+    public void shouldKeepSchemaScriptIdempotentAfterReplace() throws Exception {
+        //given
+        await(showViewRepository.replaceAll(List.of(AvailabilityChange.created(ShowId.of(), 7)), Map.of()));
+
+        //when
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(Files.readString(Path.of("development/create_show_view_table.sql")));
+        }
+
+        //then
+        assertThat(showViewIndexes()).containsExactlyInAnyOrder("show_view_pkey", "show_view_available_idx");
+    }
+
+    private static String storedOffset(String projectionKey) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT current_offset FROM akka_projection_offset_store WHERE projection_name = ? AND projection_key = ?")) {
+            statement.setString(1, ShowViewProjection.PROJECTION_NAME);
+            statement.setString(2, projectionKey);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getString(1) : null;
+            }
+        }
+    }
+
+    private static List<String> showViewIndexes() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT indexname FROM pg_indexes WHERE tablename = 'show_view'")) {
+            var indexes = new ArrayList<String>();
+            while (resultSet.next()) {
+                indexes.add(resultSet.getString(1));
+            }
+            return indexes;
+        }
+    }
+
+    private static EventEnvelope<ShowEvent> envelope(ShowEvent event, long offset) {
+        return EventEnvelope.create(Sequence.apply(offset), "Show|" + event.showId().id(), offset, event, 0L);
+    }
+}
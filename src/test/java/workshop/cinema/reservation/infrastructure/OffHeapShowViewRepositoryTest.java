@@ -0,0 +1,74 @@
+package workshop.cinema.reservation.infrastructure;
+
+import io.vavr.control.Option;
+import org.junit.jupiter.api.Test;
+import workshop.cinema.reservation.application.projection.AvailabilityChange;
+import workshop.cinema.reservation.application.projection.ShowView;
+import workshop.cinema.reservation.domain.ShowId;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static workshop.cinema.reservation.application.Blocking.await;
+import static workshop.cinema.reservation.infrastructure.OffHeapShowViewRepository.UNKNOWN_SHOW;
+
+class OffHeapShowViewRepositoryTest {
+
+    private final OffHeapShowViewRepository showViewRepository = new OffHeapShowViewRepository(16);
+
+    @Test
+    public void shouldUpdateAvailabilityInPlace() throws ExecutionException, InterruptedException {
+        //given
+        var showId = ShowId.of();
+        await(showViewRepository.save(showId, 10));
+
+        //when
+        await(showViewRepository.decrementAvailability(showId, 3));
+        await(showViewRepository.applyAvailabilityChanges(List.of(AvailabilityChange.delta(showId, 1))));
+
+        //then
+        assertThat(showViewRepository.availableSeats(showId)).isEqualTo(8);
+        assertThat(showViewRepository.availableSeats(ShowId.of())).isEqualTo(UNKNOWN_SHOW);
+        assertThat(await(showViewRepository.findAvailable())).containsExactly(new ShowView(showId, 8));
+    }
+
+    @Test
+    public void shouldKeepShowsWhenTableGrows() throws ExecutionException, InterruptedException {
+        //given
+        List<ShowId> showIds = IntStream.range(0, 1000).mapToObj(i -> ShowId.of()).toList();
+
+        //when
+        for (int i = 0; i < showIds.size(); i++) {
+            await(showViewRepository.save(showIds.get(i), i % 10));
+        }
+
+        //then
+        for (int i = 0; i < showIds.size(); i++) {
+            assertThat(showViewRepository.availableSeats(showIds.get(i))).isEqualTo(i % 10);
+        }
+        assertThat(await(showViewRepository.findAvailable())).hasSize(900);
+    }
+
+    @Test
+    public void shouldPageThroughAvailableShowsOrderedById() throws ExecutionException, InterruptedException {
+        //given
+        List<ShowId> showIds = IntStream.range(0, 5).mapToObj(i -> ShowId.of()).toList();
+        for (ShowId showId : showIds) {
+            await(showViewRepository.save(showId, 10));
+        }
+        await(showViewRepository.save(ShowId.of(), 0));
+        List<ShowId> sorted = showIds.stream().sorted(Comparator.comparing(showId -> showId.id().toString())).toList();
+
+        //when
+        List<ShowView> firstPage = await(showViewRepository.findAvailable(3));
+        List<ShowView> lastPage = await(showViewRepository.findAvailable(3, Option.of(sorted.get(2))));
+
+        //then
+        assertThat(firstPage).extracting(ShowView::showId)
+                .containsExactly(sorted.get(0), sorted.get(1), sorted.get(2));
+        assertThat(lastPage).extracting(ShowView::showId).containsExactly(sorted.get(3), sorted.get(4));
+    }
+}
@@ -0,0 +1,249 @@
+package workshop.cinema.reservation.infrastructure;
+
+import akka.actor.testkit.typed.javadsl.ActorTestKit;
+import akka.actor.testkit.typed.javadsl.SerializationTestKit;
+import akka.actor.typed.ActorRef;
+import akka.actor.typed.javadsl.Adapter;
+import akka.serialization.SerializationExtension;
+import com.typesafe.config.ConfigFactory;
+import io.vavr.collection.List;
+import io.vavr.control.Option;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import workshop.cinema.reservation.application.GetShowResponse;
+import workshop.cinema.reservation.application.ShowEntityCommand.ExpireSeatHolds;
+import workshop.cinema.reservation.application.ShowEntityCommand.GetShow;
+import workshop.cinema.reservation.application.ShowEntityCommand.ShowCommandEnvelope;
+import workshop.cinema.reservation.application.ShowEntityResponse;
+import workshop.cinema.reservation.application.ShowEntityResponse.CommandProcessed;
+import workshop.cinema.reservation.application.ShowEntityResponse.CommandRejected;
+import workshop.cinema.reservation.application.ShowEntityResponse.SeatsAllocated;
+import workshop.cinema.reservation.application.projection.ShowView;
+import workshop.cinema.reservation.application.projection.ShowViewsChanged;
+import workshop.cinema.reservation.domain.FixedClock;
+import workshop.cinema.reservation.domain.InitialShow;
+import workshop.cinema.reservation.domain.SeatNumber;
+import workshop.cinema.reservation.domain.SeatNumbers;
+import workshop.cinema.reservation.domain.SeatPreferences;
+import workshop.cinema.reservation.domain.SeatingLayout;
+import workshop.cinema.reservation.domain.Show;
+import workshop.cinema.reservation.domain.ShowCommand;
+import workshop.cinema.reservation.domain.ShowCommand.CancelSeatReservations;
+import workshop.cinema.reservation.domain.ShowCommand.ConfirmSeatHolds;
+import workshop.cinema.reservation.domain.ShowCommand.CreateShow;
+import workshop.cinema.reservation.domain.ShowCommand.HoldSeats;
+import workshop.cinema.reservation.domain.ShowCommand.RepriceTier;
+import workshop.cinema.reservation.domain.ShowCommand.ReserveBestAvailable;
+import workshop.cinema.reservation.domain.ShowCommand.ReserveSeats;
+import workshop.cinema.reservation.domain.ShowCommandError;
+import workshop.cinema.reservation.domain.ShowEvent.PriceTierChanged;
+import workshop.cinema.reservation.domain.ShowEvent.SeatHoldsConfirmed;
+import workshop.cinema.reservation.domain.ShowEvent.SeatHoldsExpired;
+import workshop.cinema.reservation.domain.ShowEvent.SeatReservationCancelled;
+import workshop.cinema.reservation.domain.ShowEvent.SeatReserved;
+import workshop.cinema.reservation.domain.ShowEvent.SeatsHeld;
+import workshop.cinema.reservation.domain.ShowEvent.SeatsReservationCancelled;
+import workshop.cinema.reservation.domain.ShowEvent.SeatsReserved;
+import workshop.cinema.reservation.domain.ShowEvent.ShowCreated;
+import workshop.cinema.reservation.domain.ShowId;
+import workshop.cinema.reservation.domain.ShowSnapshot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static workshop.cinema.reservation.domain.ShowCommandGenerators.randomCreateShow;
+
+class ShowSerializerTest {
+
+    private static final ActorTestKit testKit = ActorTestKit.create(ConfigFactory.parseString("""
+                akka.actor.provider = local
+                akka.loglevel = INFO
+            """).withFallback(ConfigFactory.load()));
+
+    private static final SerializationTestKit serializationTestKit = new SerializationTestKit(testKit.system());
+
+    @AfterAll
+    public static void cleanUp() {
+        testKit.shutdownTestKit();
+    }
+
+    private final ShowId showId = ShowId.of();
+    private final Instant now = new FixedClock().now();
+    private final SeatNumbers seatNumbers = SeatNumbers.of(3, 4, 5, 120);
+
+    @Test
+    public void shouldSerializeEvents() {
+        //given
+        CreateShow createShow = randomCreateShow(showId);
+        var events = java.util.List.of(
+                new ShowCreated(showId, now, new InitialShow(showId, createShow.title(), createShow.layout())),
+                new SeatReserved(showId, now, SeatNumber.of(7)),
+                new SeatReservationCancelled(showId, now, SeatNumber.of(7)),
+                new SeatsReserved(showId, now, seatNumbers),
+                new SeatsReservationCancelled(showId, now, seatNumbers),
+                new SeatsHeld(showId, now, seatNumbers, now.plusSeconds(600)),
+                new SeatHoldsConfirmed(showId, now, seatNumbers),
+                new SeatHoldsExpired(showId, now, seatNumbers),
+                new PriceTierChanged(showId, now, 0, new BigDecimal("99.50")));
+
+        //when //then
+        events.forEach(event -> serializationTestKit.verifySerialization(event, true));
+    }
+
+    @Test
+    public void shouldReadShowCreatedWithSectionPrices() throws NotSerializableException {
+        //given
+        BinaryWriter v1 = new BinaryWriter(64);
+        v1.writeByte(1);
+        v1.writeUuid(showId.id());
+        v1.writeInstant(now);
+        v1.writeUuid(showId.id());
+        v1.writeString("title");
+        v1.writeSignedVarInt(3);
+        for (String price : new String[]{"150", "80", "150.00"}) {
+            v1.writeString("section-" + price);
+            v1.writeSignedVarInt(2);
+            v1.writeSignedVarInt(10);
+            v1.writeBigDecimal(new BigDecimal(price));
+        }
+
+        //when
+        var showCreated = (ShowCreated) serializer().fromBinary(v1.toByteArray(), ShowSerializer.SHOW_CREATED);
+
+        //then
+        var layout = showCreated.initialShow().layout();
+        assertThat(layout.priceTiers()).containsExactly(new BigDecimal("150"), new BigDecimal("80"));
+        assertThat(layout.sections().map(SeatingLayout.Section::tier)).containsExactly(0, 1, 0);
+    }
+
+    @Test
+    public void shouldKeepVersionOfUnchangedPayloads() throws NotSerializableException {
+        //given
+        Show show = showWithHeldSeats();
+        var serializer = serializer();
+
+        //when
+        byte[] event = serializer.toBinary(new SeatReserved(showId, now, SeatNumber.of(7)));
+        byte[] snapshot = serializer.toBinary(show.toSnapshot());
+        byte[] response = serializer.toBinary(new GetShowResponse(Option.of(show), 42));
+
+        //then
+        assertThat(event[0]).isEqualTo((byte) 2);
+        assertThat(snapshot[0]).isEqualTo((byte) 2);
+        assertThat(response[0]).isEqualTo((byte) 3);
+    }
+
+    @Test
+    public void shouldReadShowResponseWithoutSequenceNumber() throws NotSerializableException {
+        //given
+        Show show = showWithHeldSeats();
+        var serializer = serializer();
+        byte[] snapshot = serializer.toBinary(show.toSnapshot());
+        BinaryWriter v2 = new BinaryWriter(64);
+        v2.writeByte(2);
+        v2.writeBoolean(true);
+        for (int i = 1; i < snapshot.length; i++) {
+            v2.writeByte(snapshot[i]);
+        }
+
+        //when
+        var response = (GetShowResponse) serializer.fromBinary(v2.toByteArray(), ShowSerializer.GET_SHOW_RESPONSE);
+
+        //then
+        assertThat(response.show().get()).isEqualTo(show);
+        assertThat(response.sequenceNr()).isZero();
+    }
+
+    @Test
+    public void shouldSerializeEntityCommands() {
+        //given
+        ActorRef<ShowEntityResponse> replyTo = testKit.<ShowEntityResponse>createTestProbe().ref();
+        var commands = java.util.List.<ShowCommand>of(
+                randomCreateShow(showId),
+                new ReserveSeats(showId, seatNumbers),
+                new CancelSeatReservations(showId, seatNumbers),
+                new HoldSeats(showId, seatNumbers, Duration.ofMinutes(5)),
+                new ConfirmSeatHolds(showId, seatNumbers),
+                new ReserveBestAvailable(showId, 4, SeatPreferences.sections("BALCONY", "MAIN")),
+                new RepriceTier(showId, 1, new BigDecimal("120")));
+
+        //when //then
+        commands.forEach(command -> serializationTestKit.verifySerialization(new ShowCommandEnvelope(command, replyTo), true));
+        serializationTestKit.verifySerialization(new GetShow(testKit.<GetShowResponse>createTestProbe().ref()), true);
+        serializationTestKit.verifySerialization(new ExpireSeatHolds(), true);
+    }
+
+    @Test
+    public void shouldSerializeResponses() {
+        //when //then
+        assertThat(serializationTestKit.verifySerialization(new CommandProcessed(), false)).isInstanceOf(CommandProcessed.class);
+        serializationTestKit.verifySerialization(new CommandRejected(ShowCommandError.SEAT_NOT_AVAILABLE), true);
+        serializationTestKit.verifySerialization(new SeatsAllocated(seatNumbers), true);
+        serializationTestKit.verifySerialization(new GetShowResponse(Option.none(), 0), true);
+    }
+
+    @Test
+    public void shouldSerializeShowSnapshot() {
+        //given
+        Show show = showWithHeldSeats();
+
+        //when
+        ShowSnapshot snapshot = serializationTestKit.verifySerialization(show.toSnapshot(), true);
+
+        //then
+        assertThat(Show.fromSnapshot(snapshot)).isEqualTo(show);
+        serializationTestKit.verifySerialization(new GetShowResponse(Option.of(show), 42), true);
+    }
+
+    @Test
+    public void shouldSerializeShowViewChanges() {
+        //given
+        var showViewsChanged = new ShowViewsChanged(List.of(new ShowView(showId, 7), new ShowView(ShowId.of(), 0)));
+
+        //when //then
+        serializationTestKit.verifySerialization(showViewsChanged, true);
+    }
+
+    @Test
+    public void shouldBeSmallerThanJavaSerialization() throws IOException {
+        //given
+        Show show = showWithHeldSeats();
+        var serialization = SerializationExtension.get(Adapter.toClassic(testKit.system()));
+
+        //when
+        byte[] binary = serialization.serialize(show.toSnapshot()).get();
+
+        //then
+        assertThat(serialization.findSerializerFor(show.toSnapshot())).isInstanceOf(ShowSerializer.class);
+        assertThat(binary.length).isLessThan(javaSerialized(show.toSnapshot()).length);
+    }
+
+    private ShowSerializer serializer() {
+        try {
+            return (ShowSerializer) SerializationExtension.get(Adapter.toClassic(testKit.system())).serializerFor(ShowCreated.class);
+        } catch (NotSerializableException e) {
+            throw new IllegalStateException("No serializer for show events", e);
+        }
+    }
+
+    private Show showWithHeldSeats() {
+        CreateShow createShow = randomCreateShow(showId);
+        Show show = Show.create(new ShowCreated(showId, now, new InitialShow(showId, createShow.title(), createShow.layout())));
+        return show.apply(new SeatsReserved(showId, now, SeatNumbers.of(1, 2)))
+                .apply(new SeatsHeld(showId, now, SeatNumbers.of(10, 11), now.plusSeconds(600)));
+    }
+
+    private byte[] javaSerialized(Object object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+}